@@ -0,0 +1,60 @@
+package com.hybridframework.benchmarks;
+
+import com.hybridframework.crypto.services.Argon2BlockArena;
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.crypto.utils.KeyDerivationFunction;
+import org.bouncycastle.crypto.CryptoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Argon2 derivations with and without {@link Argon2BlockArena}, with the framework default settings. Run it
+ * with the GC profiler {@link BenchmarkRunner} attaches by default and compare {@code gc.alloc.rate.norm}
+ * and {@code gc.count} between the two {@code arenaEnabled} values. Each value runs in its own fork, so
+ * switching the arena never affects another measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class Argon2ArenaBenchmark {
+
+    @Param({"true", "false"})
+    public boolean arenaEnabled;
+
+    private SecretKey secretKey;
+    private byte[] plainText;
+
+    @Setup
+    public void setUp() {
+        if (arenaEnabled) {
+            Argon2BlockArena.enable();
+        } else {
+            Argon2BlockArena.disable();
+        }
+        secretKey = SecureKeyGenerator.generateSecretKey();
+        plainText = "benchmark-value".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] derive() throws CryptoException {
+        // Every encryption draws a fresh salt, so each one runs a full derivation
+        return CryptoService.encrypt(secretKey, plainText, KeyDerivationFunction.ARGON2ID);
+    }
+}
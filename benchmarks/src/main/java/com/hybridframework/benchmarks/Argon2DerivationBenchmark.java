@@ -0,0 +1,81 @@
+package com.hybridframework.benchmarks;
+
+import com.hybridframework.crypto.services.Argon2Settings;
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import org.bouncycastle.crypto.CryptoException;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Argon2id key derivation across parameter sets, comparing {@link CryptoService}, which derives keys with its
+ * lane-parallel generator, against BouncyCastle's single-threaded generator. The framework side goes through
+ * the public Argon2 encrypt overload; every call draws a fresh salt, so each one runs a full derivation and
+ * the AES-GCM step over the short value is negligible next to it. The BouncyCastle side derives from the same
+ * password the framework uses, the Base64 form of the key. The settings are
+ * {@code iterations:memoryKB:parallelism}: the calibration floor, the framework default and a hardened set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class Argon2DerivationBenchmark {
+
+    private static final int KEY_LENGTH = 32;
+
+    @Param({"2:19456:1", "3:65536:4", "4:131072:4"})
+    public String settings;
+
+    private Argon2Settings argon2Settings;
+    private SecretKey secretKey;
+    private byte[] password;
+    private byte[] salt;
+    private byte[] plainText;
+
+    @Setup
+    public void setUp() {
+        argon2Settings = Argon2Settings.parse(settings);
+        secretKey = SecureKeyGenerator.generateSecretKey();
+        password = Base64.getEncoder().encode(secretKey.getEncoded());
+        salt = SecureKeyGenerator.generateSalt();
+        plainText = "benchmark-value".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] parallelGenerator() throws CryptoException {
+        return CryptoService.encrypt(secretKey, plainText, argon2Settings);
+    }
+
+    @Benchmark
+    public byte[] bouncyCastleGenerator() {
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                .withVersion(Argon2Parameters.ARGON2_VERSION_13)
+                .withIterations(argon2Settings.iterations())
+                .withMemoryAsKB(argon2Settings.memoryKB())
+                .withParallelism(argon2Settings.parallelism())
+                .withSalt(salt)
+                .build());
+        byte[] output = new byte[KEY_LENGTH];
+        generator.generateBytes(password, output);
+        return output;
+    }
+}
@@ -0,0 +1,66 @@
+package com.hybridframework.benchmarks;
+
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.utils.Base64Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Base64Utils} conversions, which wrap every ciphertext and secret key read from an environment file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Base64Benchmark {
+
+    @Param({"32", "1024", "65536"})
+    public int length;
+
+    private byte[] data;
+    private String encoded;
+    private SecretKey secretKey;
+    private String encodedSecretKey;
+
+    @Setup
+    public void setUp() {
+        data = SecureKeyGenerator.generateSalt(length);
+        encoded = Base64Utils.encodeArray(data);
+        secretKey = SecureKeyGenerator.generateSecretKey();
+        encodedSecretKey = Base64Utils.encodeSecretKey(secretKey);
+    }
+
+    @Benchmark
+    public String encodeArray() {
+        return Base64Utils.encodeArray(data);
+    }
+
+    @Benchmark
+    public byte[] decodeToArray() {
+        return Base64Utils.decodeToArray(encoded);
+    }
+
+    @Benchmark
+    public String encodeSecretKey() {
+        return Base64Utils.encodeSecretKey(secretKey);
+    }
+
+    @Benchmark
+    public SecretKey decodeSecretKey() {
+        return Base64Utils.decodeSecretKey(encodedSecretKey);
+    }
+}
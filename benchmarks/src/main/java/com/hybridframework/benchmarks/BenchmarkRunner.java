@@ -0,0 +1,48 @@
+package com.hybridframework.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the usual JMH command line, and unless told otherwise
+ * attaches the GC profiler, for allocation rate per operation, and writes JSON results to
+ * {@code target/jmh-result.json} so runs can be compared for regressions.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar                  # everything
+ * java -jar benchmarks/target/benchmarks.jar CryptoService    # one class, by regex
+ * java -jar benchmarks/target/benchmarks.jar -p settings=2:19456:1
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        if (commandLine.shouldList()) {
+            new Runner(commandLine).list();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(RESULT_FILE).resultFormat(ResultFormatType.JSON);
+        }
+        new Runner(options.build()).run();
+    }
+}
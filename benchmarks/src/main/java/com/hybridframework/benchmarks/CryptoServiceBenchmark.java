@@ -0,0 +1,62 @@
+package com.hybridframework.benchmarks;
+
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.crypto.utils.KeyDerivationFunction;
+import org.bouncycastle.crypto.CryptoException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link CryptoService#encrypt} and {@link CryptoService#decrypt}, the path every test
+ * that reads a credential goes through. HKDF measures the envelope and AES-GCM overhead; Argon2id adds the
+ * key derivation with the framework default settings. The derived key cache is off by default, so every
+ * Argon2 decryption pays the full derivation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoServiceBenchmark {
+
+    @Param({"HKDF_SHA256", "ARGON2ID"})
+    public KeyDerivationFunction keyDerivation;
+
+    @Param({"16", "1024"})
+    public int payloadLength;
+
+    private SecretKey secretKey;
+    private String plainText;
+    private String encrypted;
+
+    @Setup
+    public void setUp() throws CryptoException {
+        secretKey = SecureKeyGenerator.generateSecretKey();
+        plainText = "x".repeat(payloadLength);
+        encrypted = CryptoService.encrypt(secretKey, plainText, keyDerivation);
+    }
+
+    @Benchmark
+    public String encrypt() throws CryptoException {
+        return CryptoService.encrypt(secretKey, plainText, keyDerivation);
+    }
+
+    @Benchmark
+    public String decrypt() throws CryptoException {
+        return CryptoService.decrypt(secretKey, encrypted);
+    }
+}
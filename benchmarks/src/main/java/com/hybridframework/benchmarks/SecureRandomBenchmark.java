@@ -0,0 +1,47 @@
+package com.hybridframework.benchmarks;
+
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SecureKeyGenerator} random generation, called for every salt and IV of every encryption.
+ * Runs on four threads as well, since the generator keeps one {@code SecureRandom} per thread.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecureRandomBenchmark {
+
+    @Benchmark
+    public byte[] generateSalt() {
+        return SecureKeyGenerator.generateSalt();
+    }
+
+    @Benchmark
+    public byte[] generateIv() {
+        return SecureKeyGenerator.generateIv();
+    }
+
+    @Benchmark
+    public SecretKey generateSecretKey() {
+        return SecureKeyGenerator.generateSecretKey();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] generateSaltContended() {
+        return SecureKeyGenerator.generateSalt();
+    }
+}
@@ -0,0 +1,234 @@
+package com.hybridframework.config;
+
+import com.hybridframework.config.properties.PropertiesFileAlias;
+import com.hybridframework.config.properties.PropertiesFilePath;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary copy of the parsed configuration files, so forked test JVMs can skip parsing them.
+ * <p>
+ * With {@code -DconfigSnapshotCache=true} the first JVM to load an environment writes its parsed properties
+ * files to {@code <configSnapshotDir>/<ENVIRONMENT>.bin} ({@code target/config-snapshot} by default).
+ * Later JVMs memory-map that file and use its values as long as every source file still has the size and
+ * modification time recorded in it; any difference, a missing or added file, a checksum mismatch or a
+ * different format version makes them parse the files and write a fresh snapshot.
+ * <p>
+ * .env files are never stored: the base file holds the secret keys in plain Base64 and environment files may
+ * hold credentials that are not encrypted yet, so they are always parsed live and never copied into build
+ * output. System properties and OS environment variables are not stored either, since they can differ between
+ * JVMs and may hold secrets. The file is written owner-readable only where the file system supports it.
+ * <p>
+ * Layout, big-endian: magic, format version, environment, source count, then per source its alias, path,
+ * size, modification time in nanoseconds and entries; strings are a length followed by UTF-8 bytes.
+ * A CRC32C of everything before it ends the file.
+ */
+public final class BinaryConfigSnapshot {
+
+    private static final Logger logger = LoggerUtils.getLogger(BinaryConfigSnapshot.class);
+
+    private static final int MAGIC = 0x48464353; // "HFCS"
+    // 2: .env files are no longer stored, so snapshots written with them are replaced
+    private static final int FORMAT_VERSION = 2;
+    private static final String DEFAULT_DIRECTORY = "target/config-snapshot";
+    private static final String FILE_EXTENSION = ".bin";
+
+    /**
+     * A properties file, with the size and modification time it had when it was read.
+     *
+     * @param alias        the configuration alias it is loaded under
+     * @param path         the path it is loaded from
+     * @param size         size in bytes
+     * @param lastModified modification time in nanoseconds since the epoch
+     */
+    public record Source(String alias, String path, long size, long lastModified) {
+
+        /**
+         * Records the current size and modification time of a file.
+         */
+        public static Source of(String alias, String path) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(Paths.get(path), BasicFileAttributes.class);
+            return new Source(alias, path, attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private BinaryConfigSnapshot() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("configSnapshotCache");
+    }
+
+    /**
+     * @return the snapshot file for an environment
+     */
+    public static Path getSnapshotPath(String environment) {
+        return Paths.get(System.getProperty("configSnapshotDir", DEFAULT_DIRECTORY),
+                environment.toUpperCase(Locale.ROOT) + FILE_EXTENSION);
+    }
+
+    /**
+     * The files a snapshot of an environment is built from: the global and environment properties files, in
+     * load order. .env files are deliberately not among them.
+     */
+    public static List<Source> sources(String environment) throws IOException {
+        String name = environment.toUpperCase(Locale.ROOT);
+        return List.of(
+                Source.of(PropertiesFileAlias.GLOBAL.getConfigurationAlias(), PropertiesFilePath.GLOBAL.getPropertiesFilePath()),
+                Source.of(PropertiesFileAlias.valueOf(name).getConfigurationAlias(), PropertiesFilePath.valueOf(name).getPropertiesFilePath()));
+    }
+
+    /**
+     * Reads the snapshot if it was built from exactly these sources, unchanged.
+     *
+     * @param environment the environment being loaded
+     * @param sources     the properties files as they are now, in load order
+     * @return alias to values, or empty if there is no usable snapshot
+     */
+    public static Optional<Map<String, Map<String, String>>> read(String environment, List<Source> sources) {
+        Path snapshotPath = getSnapshotPath(environment);
+        if (!Files.isRegularFile(snapshotPath)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 2 * Integer.BYTES || size > Integer.MAX_VALUE) {
+                return stale(snapshotPath, "unexpected size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int checksumOffset = (int) size - Integer.BYTES;
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(0, checksumOffset));
+            if ((int) crc.getValue() != buffer.getInt(checksumOffset)) {
+                return stale(snapshotPath, "checksum mismatch");
+            }
+            buffer.limit(checksumOffset);
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return stale(snapshotPath, "different format");
+            }
+            if (!readString(buffer).equals(environment)) {
+                return stale(snapshotPath, "different environment");
+            }
+            if (buffer.getInt() != sources.size()) {
+                return stale(snapshotPath, "different set of files");
+            }
+
+            Map<String, Map<String, String>> values = new HashMap<>();
+            for (Source expected : sources) {
+                Source recorded = new Source(readString(buffer), readString(buffer), buffer.getLong(), buffer.getLong());
+                if (!recorded.equals(expected)) {
+                    return stale(snapshotPath, "'" + expected.path() + "' changed");
+                }
+
+                int entryCount = buffer.getInt();
+                Map<String, String> entries = new LinkedHashMap<>();
+                for (int entry = 0; entry < entryCount; entry++) {
+                    entries.put(readString(buffer), readString(buffer));
+                }
+                values.put(recorded.alias(), entries);
+            }
+            logger.info("Configuration for '{}' loaded from snapshot '{}' without parsing", environment, snapshotPath);
+            return Optional.of(values);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException error) {
+            return stale(snapshotPath, "malformed");
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "read", "Failed to read configuration snapshot: " + snapshotPath);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the snapshot, replacing any previous one in a single move so concurrent readers see the old file
+     * or the new one. Failures are logged and ignored; the next run simply parses the files again.
+     *
+     * @param environment the environment that was loaded
+     * @param sources     the properties files as they were before they were parsed
+     * @param values      alias to the parsed values of each source
+     */
+    public static void write(String environment, List<Source> sources, Map<String, Map<String, String>> values) {
+        Path snapshotPath = getSnapshotPath(environment);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            writeString(output, environment);
+            output.writeInt(sources.size());
+            for (Source source : sources) {
+                writeString(output, source.alias());
+                writeString(output, source.path());
+                output.writeLong(source.size());
+                output.writeLong(source.lastModified());
+
+                Map<String, String> entries = values.get(source.alias());
+                output.writeInt(entries.size());
+                for (Map.Entry<String, String> entry : entries.entrySet()) {
+                    writeString(output, entry.getKey());
+                    writeString(output, entry.getValue());
+                }
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(bytes.toByteArray());
+            output.writeInt((int) crc.getValue());
+            output.flush();
+
+            Files.createDirectories(snapshotPath.toAbsolutePath().getParent());
+            // Temporary files are created owner-only on POSIX, and the move keeps that
+            Path temporary = Files.createTempFile(snapshotPath.toAbsolutePath().getParent(), snapshotPath.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, bytes.toByteArray());
+                Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            logger.info("Configuration snapshot for '{}' written to '{}' ({} bytes)", environment, snapshotPath, bytes.size());
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "write", "Failed to write configuration snapshot: " + snapshotPath);
+        }
+    }
+
+    private static Optional<Map<String, Map<String, String>>> stale(Path snapshotPath, String reason) {
+        logger.info("Configuration snapshot '{}' not used: {}", snapshotPath, reason);
+        return Optional.empty();
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(encoded.length);
+        output.write(encoded);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] encoded = new byte[buffer.getInt()];
+        buffer.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,215 @@
+package com.hybridframework.config;
+
+import com.hybridframework.config.environments.EnvironmentConfigManager;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key read counters for one configuration, and the end-of-suite report built from all of them.
+ * <p>
+ * Each key has a striped {@link LongAdder}, so threads reading the same key in a hot loop do not contend on
+ * one counter, plus the layer that served its first and last read. Recording a read is a map probe and an
+ * increment; nothing is logged per read. {@link #logReport()} lists the most read keys and, per configuration,
+ * the keys defined in its file that nothing read from it. Set {@code -DconfigAccessStats=false} to stop counting.
+ */
+public final class ConfigAccessStats {
+
+    private static final Logger logger = LoggerUtils.getLogger(ConfigAccessStats.class);
+
+    public static final String THREAD_OVERRIDE = "THREAD_OVERRIDE";
+    public static final String SYSTEM_PROPERTY = "SYSTEM_PROPERTY";
+    public static final String ENVIRONMENT_VARIABLE = "ENVIRONMENT_VARIABLE";
+    public static final String FILE = "FILE";
+    public static final String DEFAULT = "DEFAULT";
+    /**
+     * A typed read from a {@code ConfigSnapshot}, whose value was fixed from the file, a system property or the
+     * key's default when the snapshot was built.
+     */
+    public static final String SNAPSHOT = "SNAPSHOT";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("configAccessStats", "true"));
+    private static final int DEFAULT_TOP_KEYS = 20;
+
+    private static final List<ConfigAccessStats> registry = new CopyOnWriteArrayList<>();
+
+    private final String configAlias;
+    private final Map<String, KeyStats> keys = new ConcurrentHashMap<>();
+    /**
+     * Keys read here whose value another configuration's file supplied, by that configuration's alias.
+     */
+    private final Map<String, Set<String>> keysSuppliedBy = new ConcurrentHashMap<>();
+
+    /**
+     * Reads of a single key.
+     *
+     * @param configAlias the configuration the key was read from
+     * @param key         the key
+     * @param count       how many times it was read
+     * @param firstSource the layer that served the first read
+     * @param lastSource  the layer that served the most recent read
+     */
+    public record KeyAccess(String configAlias, String key, long count, String firstSource, String lastSource) {
+    }
+
+    private static final class KeyStats {
+        private final LongAdder count = new LongAdder();
+        private final String firstSource;
+        private volatile String lastSource;
+
+        private KeyStats(String firstSource) {
+            this.firstSource = firstSource;
+            this.lastSource = firstSource;
+        }
+    }
+
+    private ConfigAccessStats(String configAlias) {
+        this.configAlias = configAlias;
+    }
+
+    /**
+     * Creates the counters for a configuration and includes them in the report.
+     */
+    public static ConfigAccessStats register(String configAlias) {
+        ConfigAccessStats stats = new ConfigAccessStats(configAlias);
+        registry.add(stats);
+        return stats;
+    }
+
+    /**
+     * @param key    the key that was read
+     * @param source the layer that served it, one of the constants of this class or a
+     *               {@link LayeredConfigResolver.Source} name
+     */
+    public void record(String key, String source) {
+        if (!ENABLED) {
+            return;
+        }
+        KeyStats stats = keys.get(key);
+        if (stats == null) {
+            stats = keys.computeIfAbsent(key, ignored -> new KeyStats(source));
+        }
+        stats.count.increment();
+        // Skip the write when the source is unchanged, so readers of a hot key do not share a dirty cache line
+        if (stats.lastSource != source) {
+            stats.lastSource = source;
+        }
+    }
+
+    /**
+     * Records a read whose value came from another configuration's file, so the key counts as used there.
+     *
+     * @param key           the key that was read
+     * @param source        the layer that served it
+     * @param supplierAlias the configuration whose file supplied the value, or null if it came from no file
+     */
+    public void record(String key, String source, String supplierAlias) {
+        record(key, source);
+        if (!ENABLED || supplierAlias == null) {
+            return;
+        }
+        Set<String> suppliedKeys = keysSuppliedBy.computeIfAbsent(supplierAlias, ignored -> ConcurrentHashMap.newKeySet());
+        // Probe before adding, so repeated reads of a key only read the set
+        if (!suppliedKeys.contains(key)) {
+            suppliedKeys.add(key);
+        }
+    }
+
+    public long getCount(String key) {
+        KeyStats stats = keys.get(key);
+        return stats == null ? 0 : stats.count.sum();
+    }
+
+    public String getConfigAlias() {
+        return configAlias;
+    }
+
+    /**
+     * @return every key read so far in every configuration, most read first
+     */
+    public static List<KeyAccess> getAccesses() {
+        List<KeyAccess> accesses = new ArrayList<>();
+        for (ConfigAccessStats stats : registry) {
+            stats.keys.forEach((key, keyStats) -> accesses.add(new KeyAccess(
+                    stats.configAlias, key, keyStats.count.sum(), keyStats.firstSource, keyStats.lastSource)));
+        }
+        accesses.sort(Comparator.comparingLong(KeyAccess::count).reversed());
+        return accesses;
+    }
+
+    /**
+     * Lists, for each loaded properties or .env file, the keys it defines that were never read from it. A key
+     * counts as read from a file when its manager served it, or when {@link LayeredConfigResolver} served it
+     * from that file's layer; a read of the same key from another file or a higher layer does not count.
+     *
+     * @return configuration alias to its unread keys, both sorted
+     */
+    public static Map<String, Set<String>> getUnusedKeys() {
+        Map<String, Set<String>> unusedKeys = new TreeMap<>();
+        for (String alias : PropertiesConfigManager.getLoadedConfigurationAliases()) {
+            addUnused(unusedKeys, alias, PropertiesConfigManager.getConfiguration(alias).getSnapshot().getValues().keySet());
+        }
+        for (String alias : EnvironmentConfigManager.getLoadedConfigurationAliases()) {
+            addUnused(unusedKeys, alias, EnvironmentConfigManager.getConfiguration(alias).getValues().keySet());
+        }
+        return unusedKeys;
+    }
+
+    private static void addUnused(Map<String, Set<String>> unusedKeys, String alias, Set<String> definedKeys) {
+        Set<String> unused = new TreeSet<>(definedKeys);
+        for (ConfigAccessStats stats : registry) {
+            if (stats.configAlias.equals(alias)) {
+                unused.removeAll(stats.keys.keySet());
+            }
+            unused.removeAll(stats.keysSuppliedBy.getOrDefault(alias, Set.of()));
+        }
+        if (!unused.isEmpty()) {
+            unusedKeys.put(alias, unused);
+        }
+    }
+
+    /**
+     * Logs the most read keys and the unread ones. The number of keys listed is set with
+     * {@code -DconfigStatsTopKeys}, 20 by default.
+     */
+    public static void logReport() {
+        if (!ENABLED) {
+            return;
+        }
+        int topKeys = Integer.getInteger("configStatsTopKeys", DEFAULT_TOP_KEYS);
+        List<KeyAccess> accesses = getAccesses();
+
+        StringBuilder report = new StringBuilder("Configuration access report");
+        report.append(System.lineSeparator()).append("Most read keys:");
+        for (KeyAccess access : accesses.subList(0, Math.min(topKeys, accesses.size()))) {
+            report.append(System.lineSeparator())
+                    .append(String.format("  %12d  %s/%s (first from %s, last from %s)", access.count(),
+                            access.configAlias(), access.key(), access.firstSource(), access.lastSource()));
+        }
+        report.append(System.lineSeparator()).append("Keys never read:");
+        getUnusedKeys().forEach((alias, keys) ->
+                report.append(System.lineSeparator()).append("  ").append(alias).append(": ").append(keys));
+        logger.info(report.toString());
+    }
+
+    /**
+     * Drops every counter, keeping the registered configurations.
+     */
+    public static void reset() {
+        registry.forEach(stats -> {
+            stats.keys.clear();
+            stats.keysSuppliedBy.clear();
+        });
+    }
+}
@@ -0,0 +1,215 @@
+package com.hybridframework.config;
+
+import com.hybridframework.config.environments.EnvironmentConfigManager;
+import com.hybridframework.config.environments.EnvironmentFilePaths;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.config.properties.PropertiesFilePath;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reloads loaded properties and .env configurations when their files change on disk.
+ * <p>
+ * A single daemon thread watches the configuration directories. Changes to a file are debounced, so an editor
+ * that saves in several steps causes one reload, and the file is then parsed on the watcher thread. The
+ * managers swap in the new values in one step, so readers on test threads never wait and never see a
+ * half-applied file. Listeners are told about each reload that produced new values.
+ * <p>
+ * Enable it for a run with {@code -DconfigHotReload=true}, and tune the quiet period with
+ * {@code -DconfigReloadDebounceMillis} (default: 500).
+ */
+public class ConfigFileWatcher {
+
+    private static final Logger logger = LoggerUtils.getLogger(ConfigFileWatcher.class);
+    private static final long DEBOUNCE_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("configReloadDebounceMillis", 500));
+
+    private static final List<Consumer<ConfigChange>> listeners = new CopyOnWriteArrayList<>();
+    private static WatchService watchService;
+
+    /**
+     * A configuration that was reloaded with new values.
+     *
+     * @param configAlias the alias the configuration was loaded under
+     * @param file        the file that changed
+     * @param version     the version of the values now in use
+     */
+    public record ConfigChange(String configAlias, Path file, long version) {
+    }
+
+    private ConfigFileWatcher() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static boolean isHotReloadEnabled() {
+        return Boolean.getBoolean("configHotReload");
+    }
+
+    /**
+     * Watches the properties and .env directories. Does nothing if the watcher is already running.
+     */
+    public static void start() {
+        start(Path.of(PropertiesFilePath.getDirectoryPath()), Path.of(EnvironmentFilePaths.getDirectoryPath()));
+    }
+
+    public static synchronized void start(Path... directories) {
+        if (watchService != null) {
+            return;
+        }
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            for (Path directory : directories) {
+                if (Files.isDirectory(directory)) {
+                    directory.toAbsolutePath().normalize().register(service,
+                            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                    logger.info("Watching '{}' for configuration changes", directory);
+                }
+            }
+
+            Thread watcher = new Thread(() -> watch(service), "config-file-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+            watchService = service;
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "start", "Failed to start configuration file watcher");
+            throw new IllegalStateException("Failed to start configuration file watcher", error);
+        }
+    }
+
+    public static synchronized void stop() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+            logger.info("Stopped watching configuration files");
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "stop", "Failed to close configuration file watcher");
+        } finally {
+            watchService = null;
+        }
+    }
+
+    public static synchronized boolean isRunning() {
+        return watchService != null;
+    }
+
+    public static void addListener(Consumer<ConfigChange> listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Consumer<ConfigChange> listener) {
+        listeners.remove(listener);
+    }
+
+    private static void watch(WatchService service) {
+        // File -> time at which it has been quiet long enough to reload
+        Map<Path, Long> pendingReloads = new HashMap<>();
+        try {
+            while (true) {
+                long timeout = pendingReloads.values().stream()
+                        .mapToLong(deadline -> deadline - System.nanoTime())
+                        .min()
+                        .orElse(Long.MAX_VALUE);
+
+                WatchKey key = timeout == Long.MAX_VALUE
+                        ? service.take()
+                        : service.poll(Math.max(0, timeout), TimeUnit.NANOSECONDS);
+                if (key != null) {
+                    Path directory = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path fileName) {
+                            pendingReloads.put(directory.resolve(fileName), System.nanoTime() + DEBOUNCE_NANOS);
+                        }
+                    }
+                    key.reset();
+                }
+
+                long now = System.nanoTime();
+                Iterator<Map.Entry<Path, Long>> pending = pendingReloads.entrySet().iterator();
+                while (pending.hasNext()) {
+                    Map.Entry<Path, Long> entry = pending.next();
+                    if (entry.getValue() - now <= 0) {
+                        pending.remove();
+                        reload(entry.getKey());
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException error) {
+            logger.info("Configuration file watcher exiting");
+        }
+    }
+
+    private static void reload(Path file) {
+        for (String configAlias : PropertiesConfigManager.getLoadedConfigurationAliases()) {
+            PropertiesConfigManager configuration = PropertiesConfigManager.getConfiguration(configAlias);
+            if (configuration.getPropertiesFilePath().equals(file)) {
+                try {
+                    PropertiesConfigManager.reloadConfiguration(configAlias);
+                    notifyListeners(new ConfigChange(configAlias, file, configuration.getSnapshot().getVersion()));
+                } catch (RuntimeException error) {
+                    logger.warn("Keeping previous values of '{}': {}", configAlias, error.getMessage());
+                }
+            }
+        }
+
+        // Aliases of the same .env file share one store, so compare versions across all of them
+        List<String> environmentAliases = new ArrayList<>();
+        long previousVersion = -1;
+        for (String configAlias : EnvironmentConfigManager.getLoadedConfigurationAliases()) {
+            EnvironmentConfigManager configuration = EnvironmentConfigManager.getConfiguration(configAlias);
+            if (configuration.getEnvironmentFilePath().equals(file)) {
+                environmentAliases.add(configAlias);
+                previousVersion = configuration.getVersion();
+            }
+        }
+        if (environmentAliases.isEmpty()) {
+            return;
+        }
+        try {
+            for (String configAlias : environmentAliases) {
+                EnvironmentConfigManager.reloadConfiguration(configAlias);
+            }
+        } catch (RuntimeException error) {
+            logger.warn("Keeping previous values of '{}': {}", file.getFileName(), error.getMessage());
+            return;
+        }
+        long version = EnvironmentConfigManager.getConfiguration(environmentAliases.getFirst()).getVersion();
+        if (version != previousVersion) {
+            for (String configAlias : environmentAliases) {
+                notifyListeners(new ConfigChange(configAlias, file, version));
+            }
+        }
+    }
+
+    private static void notifyListeners(ConfigChange change) {
+        logger.info("Configuration '{}' reloaded from '{}' (version {})",
+                change.configAlias(), change.file().getFileName(), change.version());
+        for (Consumer<ConfigChange> listener : listeners) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException error) {
+                ErrorHandler.logError(error, "notifyListeners", "Configuration change listener failed");
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.hybridframework.config;
+
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration values overridden for the current test thread only.
+ * <p>
+ * Overrides sit above every other layer, system properties included, but unlike {@link System#setProperty}
+ * they are invisible to other threads, so parallel tests can each run against their own browser, environment
+ * or timeouts. The {@code PropertiesConfigManager} getters and {@link LayeredConfigResolver} honour them; a
+ * raw {@code ConfigSnapshot} does not. Open a scope around the test and close it when the test ends:
+ * <pre>{@code
+ * try (ConfigOverrides.Scope ignored = ConfigOverrides.override("CHROME_BROWSER", "firefox")) {
+ *     ...
+ * }
+ * }</pre>
+ * Scopes nest: closing one restores the overrides that were in place when it was opened.
+ */
+public class ConfigOverrides {
+
+    private static final Logger logger = LoggerUtils.getLogger(ConfigOverrides.class);
+
+    /**
+     * Override key selecting the environment {@link LayeredConfigResolver#getInstance()} resolves for this thread.
+     */
+    public static final String ENVIRONMENT = "ENVIRONMENT";
+
+    private static final ThreadLocal<Map<String, String>> overrides = new ThreadLocal<>();
+
+    private ConfigOverrides() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Restores the overrides that were active when it was opened.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Map<String, String> previous;
+
+        private Scope(Map<String, String> previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                overrides.remove();
+            } else {
+                overrides.set(previous);
+            }
+        }
+    }
+
+    public static Scope override(String key, String value) {
+        return override(Map.of(key, value));
+    }
+
+    /**
+     * Overrides values for the current thread until the returned scope is closed.
+     *
+     * @param values the keys and values to override; they are added to any overrides already active
+     * @return the scope to close when the test ends
+     */
+    public static Scope override(Map<String, String> values) {
+        Map<String, String> previous = overrides.get();
+        Map<String, String> merged = previous == null ? new HashMap<>() : new HashMap<>(previous);
+        merged.putAll(values);
+        overrides.set(Map.copyOf(merged));
+        logger.info("Overriding {} for thread '{}'", values.keySet(), Thread.currentThread().getName());
+        return new Scope(previous);
+    }
+
+    /**
+     * @param key the configuration key
+     * @return the override for the current thread, or null if there is none
+     */
+    public static String get(String key) {
+        Map<String, String> current = overrides.get();
+        return current == null ? null : current.get(key);
+    }
+
+    /**
+     * @return the overrides active on the current thread
+     */
+    public static Map<String, String> current() {
+        Map<String, String> current = overrides.get();
+        return current == null ? Map.of() : current;
+    }
+
+    /**
+     * Drops every override on the current thread, for pooled threads that may have missed a close.
+     */
+    public static void clear() {
+        overrides.remove();
+    }
+}
@@ -0,0 +1,201 @@
+package com.hybridframework.config;
+
+import com.hybridframework.config.environments.EnvironmentConfigManager;
+import com.hybridframework.config.environments.EnvironmentFileAlias;
+import com.hybridframework.config.environments.EnvironmentFilePaths;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.config.properties.PropertiesFileAlias;
+import com.hybridframework.config.properties.PropertiesFilePath;
+import com.hybridframework.utils.jacksonUtils.JsonConverter;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Loads every configuration a run needs exactly once per JVM.
+ * <p>
+ * The first call to {@link #initialize(String)} loads the global and environment properties files, the base and
+ * environment .env files, and the JSON mapper in parallel, then resolves the configuration layers and starts
+ * the file watcher if hot reload is enabled. Concurrent callers wait on a readiness latch; later callers
+ * return straight away. A failure is remembered and rethrown to every caller, so a broken configuration fails
+ * each test with the same cause instead of being retried per test.
+ * <p>
+ * With {@code -DconfigSnapshotCache=true} the parsed properties files are also written to a
+ * {@link BinaryConfigSnapshot}, and later JVMs, such as forked test runs, load them from it without parsing
+ * while the files are unchanged. The .env files hold secrets and are always parsed.
+ */
+public class ConfigurationBootstrap {
+
+    private static final Logger logger = LoggerUtils.getLogger(ConfigurationBootstrap.class);
+
+    private static final AtomicBoolean started = new AtomicBoolean();
+    private static final CountDownLatch ready = new CountDownLatch(1);
+    private static volatile Throwable failure;
+
+    private ConfigurationBootstrap() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Loads the configuration of an environment on the first call, and waits for it on every other.
+     *
+     * @param environment DEVELOPMENT, UAT or PRODUCTION
+     * @throws IllegalStateException if loading failed, now or on an earlier call
+     */
+    public static void initialize(String environment) {
+        if (ready.getCount() == 0) {
+            throwIfFailed();
+            return;
+        }
+        if (started.compareAndSet(false, true)) {
+            load(environment.toUpperCase(Locale.ROOT));
+        } else {
+            awaitReady();
+        }
+    }
+
+    public static boolean isReady() {
+        return ready.getCount() == 0 && failure == null;
+    }
+
+    /**
+     * Blocks until the configuration is loaded.
+     *
+     * @throws IllegalStateException if loading failed
+     */
+    public static void awaitReady() {
+        try {
+            ready.await();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for configuration", error);
+        }
+        throwIfFailed();
+    }
+
+    /**
+     * @return true if the configuration was loaded within the timeout
+     * @throws IllegalStateException if loading failed
+     */
+    public static boolean awaitReady(Duration timeout) {
+        try {
+            if (!ready.await(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for configuration", error);
+        }
+        throwIfFailed();
+        return true;
+    }
+
+    private static void load(String environment) {
+        long startTime = System.nanoTime();
+        try {
+            PropertiesFilePath propertiesFile = PropertiesFilePath.valueOf(environment);
+            PropertiesFileAlias propertiesAlias = PropertiesFileAlias.valueOf(environment);
+            EnvironmentFilePaths environmentFile = EnvironmentFilePaths.valueOf(environment);
+            EnvironmentFileAlias environmentAlias = EnvironmentFileAlias.valueOf(environment);
+
+            // Recorded before parsing, so a file edited meanwhile leaves the snapshot stale rather than wrong
+            List<BinaryConfigSnapshot.Source> sources = BinaryConfigSnapshot.isEnabled()
+                    ? BinaryConfigSnapshot.sources(environment)
+                    : List.of();
+            Optional<Map<String, Map<String, String>>> cachedValues = BinaryConfigSnapshot.isEnabled()
+                    ? BinaryConfigSnapshot.read(environment, sources)
+                    : Optional.empty();
+
+            if (cachedValues.isPresent()) {
+                loadFromSnapshot(sources, cachedValues.get());
+            }
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> tasks = new ArrayList<>();
+                if (cachedValues.isEmpty()) {
+                    tasks.add(executor.submit(() -> PropertiesConfigManager.loadConfiguration(
+                            PropertiesFileAlias.GLOBAL.getConfigurationAlias(), PropertiesFilePath.GLOBAL.getPropertiesFilePath())));
+                    tasks.add(executor.submit(() -> PropertiesConfigManager.loadConfiguration(
+                            propertiesAlias.getConfigurationAlias(), propertiesFile.getPropertiesFilePath())));
+                }
+                tasks.add(executor.submit(() -> loadEnvironmentFileIfExists(EnvironmentFilePaths.BASE, EnvironmentFileAlias.BASE)));
+                tasks.add(executor.submit(() -> loadEnvironmentFileIfExists(environmentFile, environmentAlias)));
+                tasks.add(executor.submit(JsonConverter::initJsonMapper));
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+            }
+            if (BinaryConfigSnapshot.isEnabled() && cachedValues.isEmpty()) {
+                BinaryConfigSnapshot.write(environment, sources, parsedValues(sources));
+            }
+
+            LayeredConfigResolver.initialize(environment);
+            if (ConfigFileWatcher.isHotReloadEnabled()) {
+                ConfigFileWatcher.start();
+            }
+            logger.info("Configuration for '{}' ready in {} ms", environment,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        } catch (ExecutionException error) {
+            fail(error.getCause());
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            fail(error);
+        } catch (Exception error) {
+            fail(error);
+        } finally {
+            ready.countDown();
+        }
+        throwIfFailed();
+    }
+
+    private static void loadEnvironmentFileIfExists(EnvironmentFilePaths filePath, EnvironmentFileAlias alias) {
+        if (Files.exists(Paths.get(filePath.getEnvironmentFileFullPath()))) {
+            EnvironmentConfigManager.loadConfiguration(alias.getEnvironmentAlias(), filePath.getEnvironmentFilename());
+        } else {
+            logger.info("Environment file '{}' not found, skipping alias '{}'",
+                    filePath.getEnvironmentFileFullPath(), alias.getEnvironmentAlias());
+        }
+    }
+
+    private static void loadFromSnapshot(List<BinaryConfigSnapshot.Source> sources, Map<String, Map<String, String>> values) {
+        for (BinaryConfigSnapshot.Source source : sources) {
+            PropertiesConfigManager.loadConfiguration(source.alias(), source.path(), values.get(source.alias()));
+        }
+    }
+
+    private static Map<String, Map<String, String>> parsedValues(List<BinaryConfigSnapshot.Source> sources) {
+        Map<String, Map<String, String>> values = new HashMap<>();
+        for (BinaryConfigSnapshot.Source source : sources) {
+            values.put(source.alias(), PropertiesConfigManager.getConfiguration(source.alias()).getSnapshot().getValues());
+        }
+        return values;
+    }
+
+    private static void fail(Throwable cause) {
+        ErrorHandler.logError(cause, "initialize", "Failed to load configuration");
+        failure = cause;
+    }
+
+    private static void throwIfFailed() {
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new IllegalStateException("Configuration failed to load", cause);
+        }
+    }
+}
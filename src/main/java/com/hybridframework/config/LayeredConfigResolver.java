@@ -0,0 +1,257 @@
+package com.hybridframework.config;
+
+import com.hybridframework.config.environments.EnvironmentConfigManager;
+import com.hybridframework.config.environments.EnvironmentFileAlias;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.config.properties.PropertiesFileAlias;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Single view of every configuration layer, flattened once into one map.
+ * <p>
+ * Layers are merged from lowest to highest precedence: the global properties file, the base .env file, the
+ * environment's properties file, the environment's .env file, OS environment variables and finally system
+ * properties. Each key therefore has exactly one value, and the resolver remembers which layer it came from.
+ * Keys and values are interned, so a lookup is a single hash probe. Layers whose alias has not been loaded
+ * are skipped. Values overridden with {@link ConfigOverrides} on the calling thread take precedence over all
+ * layers.
+ * <p>
+ * {@link #initialize(String)} publishes the shared instance and rebuilds it whenever
+ * {@link ConfigFileWatcher} reloads a file.
+ */
+public final class LayeredConfigResolver {
+
+    private static final Logger logger = LoggerUtils.getLogger(LayeredConfigResolver.class);
+
+    private static final AtomicReference<LayeredConfigResolver> current = new AtomicReference<>();
+    private static volatile boolean rebuildOnReload;
+
+    /**
+     * Resolvers for environments selected through thread overrides, built on first use.
+     */
+    private static final Map<String, LayeredConfigResolver> environmentResolvers = new ConcurrentHashMap<>();
+
+    /**
+     * Shared by every resolver, so counts survive rebuilds on reload.
+     */
+    private static final ConfigAccessStats accessStats = ConfigAccessStats.register("RESOLVED");
+
+    /**
+     * Configuration layers, from highest to lowest precedence.
+     */
+    public enum Source {
+        THREAD_OVERRIDE,
+        SYSTEM_PROPERTY,
+        ENVIRONMENT_VARIABLE,
+        ENVIRONMENT_FILE,
+        ENVIRONMENT_PROPERTIES,
+        BASE_ENVIRONMENT_FILE,
+        GLOBAL_PROPERTIES
+    }
+
+    /**
+     * A value together with the layer that supplied it.
+     */
+    public record ResolvedValue(String value, Source source) {
+    }
+
+    private final String environment;
+    private final Map<String, ResolvedValue> values;
+    private final Set<String> fileKeys;
+    /**
+     * Configuration alias behind each file layer that was merged, so reads count as used in that file.
+     */
+    private final Map<Source, String> layerAliases;
+
+    private LayeredConfigResolver(String environment, Map<String, ResolvedValue> values, Set<String> fileKeys,
+                                  Map<Source, String> layerAliases) {
+        this.environment = environment;
+        this.values = values;
+        this.fileKeys = fileKeys;
+        this.layerAliases = layerAliases;
+    }
+
+    /**
+     * Builds the resolver for an environment and publishes it as the shared instance.
+     *
+     * @param environment DEVELOPMENT, UAT or PRODUCTION
+     * @return the published resolver
+     */
+    public static LayeredConfigResolver initialize(String environment) {
+        try {
+            LayeredConfigResolver resolver = build(environment);
+            current.set(resolver);
+            if (!rebuildOnReload) {
+                rebuildOnReload = true;
+                ConfigFileWatcher.addListener(change -> rebuild());
+            }
+            logger.info("Resolved {} configuration values for environment '{}'", resolver.values.size(), resolver.environment);
+            logger.debug("Configuration sources: {}", resolver.describeSources());
+            return resolver;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "initialize", "Failed to resolve configuration layers");
+            throw error;
+        }
+    }
+
+    public static boolean isInitialized() {
+        return current.get() != null;
+    }
+
+    /**
+     * Returns the shared resolver, or when the current thread overrides {@link ConfigOverrides#ENVIRONMENT},
+     * the resolver for that environment.
+     */
+    public static LayeredConfigResolver getInstance() {
+        LayeredConfigResolver resolver = current.get();
+        if (resolver == null) {
+            throw new IllegalStateException("Configuration layers not resolved. Call initialize() first.");
+        }
+        String environment = ConfigOverrides.get(ConfigOverrides.ENVIRONMENT);
+        if (environment == null || environment.equalsIgnoreCase(resolver.environment)) {
+            return resolver;
+        }
+        return environmentResolvers.computeIfAbsent(environment.toUpperCase(Locale.ROOT), LayeredConfigResolver::build);
+    }
+
+    /**
+     * Merges the loaded layers of an environment without publishing the result.
+     *
+     * @param environment DEVELOPMENT, UAT or PRODUCTION
+     * @return the flattened resolver
+     */
+    public static LayeredConfigResolver build(String environment) {
+        String environmentName = environment.toUpperCase(Locale.ROOT);
+        PropertiesFileAlias propertiesAlias = PropertiesFileAlias.valueOf(environmentName);
+        EnvironmentFileAlias environmentFileAlias = EnvironmentFileAlias.valueOf(environmentName);
+
+        Map<String, ResolvedValue> values = new HashMap<>();
+        Map<Source, String> layerAliases = new EnumMap<>(Source.class);
+        if (PropertiesConfigManager.isConfigurationLoaded(PropertiesFileAlias.GLOBAL.getConfigurationAlias())) {
+            merge(values, PropertiesConfigManager.getConfiguration(PropertiesFileAlias.GLOBAL.getConfigurationAlias())
+                    .getSnapshot().getValues(), Source.GLOBAL_PROPERTIES);
+            layerAliases.put(Source.GLOBAL_PROPERTIES, PropertiesFileAlias.GLOBAL.getConfigurationAlias());
+        }
+        if (EnvironmentConfigManager.isConfigurationLoaded(EnvironmentFileAlias.BASE.getEnvironmentAlias())) {
+            merge(values, EnvironmentConfigManager.getConfiguration(EnvironmentFileAlias.BASE.getEnvironmentAlias())
+                    .getValues(), Source.BASE_ENVIRONMENT_FILE);
+            layerAliases.put(Source.BASE_ENVIRONMENT_FILE, EnvironmentFileAlias.BASE.getEnvironmentAlias());
+        }
+        if (PropertiesConfigManager.isConfigurationLoaded(propertiesAlias.getConfigurationAlias())) {
+            merge(values, PropertiesConfigManager.getConfiguration(propertiesAlias.getConfigurationAlias())
+                    .getSnapshot().getValues(), Source.ENVIRONMENT_PROPERTIES);
+            layerAliases.put(Source.ENVIRONMENT_PROPERTIES, propertiesAlias.getConfigurationAlias());
+        }
+        if (EnvironmentConfigManager.isConfigurationLoaded(environmentFileAlias.getEnvironmentAlias())) {
+            merge(values, EnvironmentConfigManager.getConfiguration(environmentFileAlias.getEnvironmentAlias())
+                    .getValues(), Source.ENVIRONMENT_FILE);
+            layerAliases.put(Source.ENVIRONMENT_FILE, environmentFileAlias.getEnvironmentAlias());
+        }
+        Set<String> fileKeys = Set.copyOf(values.keySet());
+        merge(values, System.getenv(), Source.ENVIRONMENT_VARIABLE);
+        for (String propertyName : System.getProperties().stringPropertyNames()) {
+            put(values, propertyName, System.getProperty(propertyName), Source.SYSTEM_PROPERTY);
+        }
+
+        return new LayeredConfigResolver(environmentName, Collections.unmodifiableMap(values), fileKeys, layerAliases);
+    }
+
+    private static void rebuild() {
+        LayeredConfigResolver resolver = current.get();
+        if (resolver != null) {
+            current.set(build(resolver.environment));
+        }
+        environmentResolvers.clear();
+    }
+
+    private static void merge(Map<String, ResolvedValue> values, Map<String, String> layer, Source source) {
+        layer.forEach((key, value) -> put(values, key, value, source));
+    }
+
+    private static void put(Map<String, ResolvedValue> values, String key, String value, Source source) {
+        // Empty values do not hide a lower layer, matching how the managers treat them as missing
+        if (value != null && !value.isEmpty()) {
+            values.put(key.intern(), new ResolvedValue(value.intern(), source));
+        }
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * @param key the property or variable name
+     * @return the value from the highest layer defining it
+     * @throws IllegalArgumentException if no layer defines the key
+     */
+    public String get(String key) {
+        String overriddenValue = ConfigOverrides.get(key);
+        if (overriddenValue != null) {
+            accessStats.record(key, ConfigAccessStats.THREAD_OVERRIDE);
+            return overriddenValue;
+        }
+        ResolvedValue resolved = values.get(key);
+        if (resolved == null) {
+            String message = String.format("Configuration key '%s' not found in any layer for environment '%s'", key, environment);
+            logger.warn(message);
+            throw new IllegalArgumentException(message);
+        }
+        accessStats.record(key, resolved.source().name(), layerAliases.get(resolved.source()));
+        return resolved.value();
+    }
+
+    public String get(String key, String defaultValue) {
+        String overriddenValue = ConfigOverrides.get(key);
+        if (overriddenValue != null) {
+            accessStats.record(key, ConfigAccessStats.THREAD_OVERRIDE);
+            return overriddenValue;
+        }
+        ResolvedValue resolved = values.get(key);
+        if (resolved == null) {
+            accessStats.record(key, ConfigAccessStats.DEFAULT);
+            return defaultValue;
+        }
+        accessStats.record(key, resolved.source().name(), layerAliases.get(resolved.source()));
+        return resolved.value();
+    }
+
+    public Optional<ResolvedValue> resolve(String key) {
+        String overriddenValue = ConfigOverrides.get(key);
+        if (overriddenValue != null) {
+            accessStats.record(key, ConfigAccessStats.THREAD_OVERRIDE);
+            return Optional.of(new ResolvedValue(overriddenValue, Source.THREAD_OVERRIDE));
+        }
+        ResolvedValue resolved = values.get(key);
+        if (resolved != null) {
+            accessStats.record(key, resolved.source().name(), layerAliases.get(resolved.source()));
+        }
+        return Optional.ofNullable(resolved);
+    }
+
+    /**
+     * Lists where each value defined in a configuration file came from. OS environment variables and system
+     * properties are only listed when they override a file, so the report stays readable.
+     *
+     * @return key to source, sorted by key
+     */
+    public Map<String, Source> describeSources() {
+        Map<String, Source> sources = new TreeMap<>();
+        for (String key : fileKeys) {
+            sources.put(key, values.get(key).source());
+        }
+        return sources;
+    }
+}
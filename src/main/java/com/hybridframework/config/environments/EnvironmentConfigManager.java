@@ -1,12 +1,16 @@
 package com.hybridframework.config.environments;
 
+import com.hybridframework.config.ConfigAccessStats;
 import com.hybridframework.utils.Base64Utils;
 import com.hybridframework.utils.logging.ErrorHandler;
 import com.hybridframework.utils.logging.LoggerUtils;
-import io.github.cdimascio.dotenv.Dotenv;
 import org.apache.logging.log4j.Logger;
 
 import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
@@ -22,28 +26,52 @@ public class EnvironmentConfigManager {
      */
     private static final Map<String, EnvironmentConfigManager> environmentConfigurationCache = new ConcurrentHashMap<>();
 
-    private final Dotenv dotenv;
+    /**
+     * Parsed file shared with every other alias, and with {@code EnvironmentCryptoManager}, using the same file.
+     */
+    private final EnvironmentFileStore environmentFile;
     private final String configName;
+    private final String envFileName;
+    private final ConfigAccessStats accessStats;
+
+    /**
+     * Decoded secret keys, so repeated lookups do not Base64-decode and rebuild the key every time.
+     * Each entry remembers the store version it was decoded from and is decoded again once the version
+     * moves, which also covers in-process updates and other aliases writing the same file.
+     */
+    private final Map<String, CachedSecretKey> secretKeys = new ConcurrentHashMap<>();
+
+    private record CachedSecretKey(SecretKey secretKey, long version) {
+    }
 
     private EnvironmentConfigManager(String configName, String envName) {
         this.configName = configName;
+        this.envFileName = envName;
         try {
-            this.dotenv = Dotenv.configure()
-                    .directory(EnvironmentFilePaths.getDirectoryPath())
-                    .filename(envName)
-                    .load();
+            this.environmentFile = EnvironmentFileStore.forFile(EnvironmentFilePaths.getDirectoryPath() + "/" + envName);
+            // The store may have been opened earlier; pick up edits made since then
+            environmentFile.refresh();
+            this.accessStats = ConfigAccessStats.register(configName);
             logger.info("EnvironmentType '{}' was loaded successfully with alias '{}'", envName, configName);
-        } catch (Exception error) {
+        } catch (IOException error) {
             logger.error("Failed to load environment '{}' with alias '{}'", envName, configName);
-            ErrorHandler.logError(error, "EnvironmentConfig Constructor", "Failed to load dotenv variables");
-            throw error;
+            ErrorHandler.logError(error, "EnvironmentConfig Constructor", "Failed to load environment variables");
+            throw new UncheckedIOException(error);
         }
     }
 
+    /**
+     * Loads a configuration once per alias. An alias loaded from another directory, because
+     * {@code -DenvDirectory} changed since, is loaded again from the current one.
+     */
     public static void loadConfiguration(String configAlias, String envFileName) {
-        environmentConfigurationCache.computeIfAbsent(configAlias, key -> {
+        Path envFilePath = Paths.get(EnvironmentFilePaths.getDirectoryPath(), envFileName).toAbsolutePath().normalize();
+        environmentConfigurationCache.compute(configAlias, (key, existing) -> {
+            if (existing != null && existing.getEnvironmentFilePath().equals(envFilePath)) {
+                return existing;
+            }
             try {
-                logger.info("Loading environment configuration '{}' from '{}'", configAlias, envFileName);
+                logger.info("Loading environment configuration '{}' from '{}'", configAlias, envFilePath);
                 return new EnvironmentConfigManager(configAlias, envFileName);
             } catch (Exception error) {
                 ErrorHandler.logError(error, "loadConfiguration", "Failed to load environment configuration");
@@ -56,16 +84,18 @@ public class EnvironmentConfigManager {
         try {
             String systemValue = System.getenv(key);
             if (systemValue != null) {
-                logger.info("Using system environment variable for '{}': '{}'", key, systemValue);
+                accessStats.record(key, ConfigAccessStats.ENVIRONMENT_VARIABLE);
+                logger.debug("Using system environment variable for '{}'", key);
                 return systemValue;
             }
 
-            String value = dotenv.get(key);
+            String value = environmentFile.get(key);
             if (value == null || value.isEmpty()) {
                 String message = String.format("Environment variable '%s' not found or empty in configuration '%s'", key, configName);
                 logger.warn(message);
                 throw new IllegalArgumentException(message);
             }
+            accessStats.record(key, ConfigAccessStats.FILE);
             return value;
         } catch (Exception error) {
             ErrorHandler.logError(error, "getEnvironmentKey", "Failed to retrieve environment variable");
@@ -77,16 +107,18 @@ public class EnvironmentConfigManager {
         try {
             String systemValue = System.getenv(key);
             if (systemValue != null) {
-                logger.info("Using system environment variable for '{}': '{}'", key, systemValue);
+                accessStats.record(key, ConfigAccessStats.ENVIRONMENT_VARIABLE);
+                logger.debug("Using system environment variable for '{}'", key);
                 return systemValue;
             }
 
-            String value = dotenv.get(key, defaultValue);
-            if (value.equals(defaultValue)) {
+            String value = environmentFile.get(key);
+            if (value == null) {
+                accessStats.record(key, ConfigAccessStats.DEFAULT);
                 logger.warn("Environment variable '{}' not found, using default '{}' in configuration '{}'", key, defaultValue, configName);
-            } else {
-                logger.info("Retrieved environment variable '{}' from configuration '{}'", key, configName);
+                return defaultValue;
             }
+            accessStats.record(key, ConfigAccessStats.FILE);
             return value;
         } catch (Exception error) {
             ErrorHandler.logError(error, "getEnv", "Failed to retrieve environment variable with default");
@@ -113,9 +145,34 @@ public class EnvironmentConfigManager {
         }
     }
 
+    /**
+     * @return every variable in the file, in file order, without OS environment overrides
+     */
+    public Map<String, String> getValues() {
+        return environmentFile.getValues();
+    }
+
+    public Path getEnvironmentFilePath() {
+        return environmentFile.getPath();
+    }
+
+    /**
+     * @return the version of the underlying file store, which changes whenever the file is parsed again
+     */
+    public long getVersion() {
+        return environmentFile.getVersion();
+    }
+
     public static SecretKey getSecretKeyFromCache (String aliasName, String environmentSecretKey){
         try {
-            return Base64Utils.decodeSecretKey(getConfiguration(aliasName).getEnvironmentKey(environmentSecretKey));
+            EnvironmentConfigManager configuration = getConfiguration(aliasName);
+            // Read the version before the value, so a concurrent update can only make the entry look older
+            long version = configuration.getVersion();
+            return configuration.secretKeys.compute(environmentSecretKey, (key, cached) ->
+                    cached != null && cached.version() == version
+                            ? cached
+                            : new CachedSecretKey(Base64Utils.decodeSecretKey(configuration.getEnvironmentKey(key)), version))
+                    .secretKey();
 
         } catch (Exception error) {
             ErrorHandler.logError(error, "getSecretKeyFromCache", "Failed to retrieve cached secret key");
@@ -146,7 +203,8 @@ public class EnvironmentConfigManager {
     public <ConversionType> Optional<ConversionType> getEnvironmentKey(String key, Class<ConversionType> type) {
         try {
             String systemValue = System.getenv(key);
-            String value = systemValue != null ? systemValue : dotenv.get(key);
+            String value = systemValue != null ? systemValue : environmentFile.get(key);
+            accessStats.record(key, systemValue != null ? ConfigAccessStats.ENVIRONMENT_VARIABLE : ConfigAccessStats.FILE);
 
             if (value == null || value.isEmpty()) {
                 logger.warn("Environment variable '{}' not found in configuration '{}'", key, configName);
@@ -182,6 +240,12 @@ public class EnvironmentConfigManager {
         }
     }
 
+    /**
+     * Reload an existing configuration in place. The store swaps in the new parse in one step, so readers
+     * never find the alias missing; if the file cannot be read the old values stay.
+     * @param configAlias Configuration alias to reload
+     * @throws IllegalStateException if configuration not previously loaded
+     */
     public static synchronized void reloadConfiguration(String configAlias) {
         try {
             EnvironmentConfigManager existingConfig = environmentConfigurationCache.get(configAlias);
@@ -189,9 +253,12 @@ public class EnvironmentConfigManager {
                 throw new IllegalStateException("Configuration '" + configAlias + "' not found. Load it first.");
             }
 
-            // Remove and reload
-            environmentConfigurationCache.remove(configAlias);
-            loadConfiguration(configAlias, existingConfig.configName);
+            if (existingConfig.environmentFile.refresh()) {
+                logger.info("Environment configuration '{}' reloaded from '{}'", configAlias, existingConfig.envFileName);
+            }
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "reloadConfiguration", "Failed to reload configuration");
+            throw new UncheckedIOException(error);
         } catch (Exception error) {
             ErrorHandler.logError(error, "reloadConfiguration", "Failed to reload configuration");
             throw error;
@@ -7,7 +7,8 @@ public enum EnvironmentFilePaths {
     UAT(".env.uat"),
     PRODUCTION(".env.prod");
 
-    private static final String ENV_DIRECTORY = "envs";
+    private static final String ENV_DIRECTORY_PROPERTY = "envDirectory";
+    private static final String DEFAULT_ENV_DIRECTORY = "envs";
     private final String filename;
 
     EnvironmentFilePaths(String filename) {
@@ -19,10 +20,13 @@ public enum EnvironmentFilePaths {
     }
 
     public String getEnvironmentFileFullPath() {
-        return ENV_DIRECTORY + "/" + filename;
+        return getDirectoryPath() + "/" + filename;
     }
 
+    /**
+     * @return the directory holding the .env files, {@code envs} unless set with {@code -DenvDirectory}
+     */
     public static String getDirectoryPath() {
-        return ENV_DIRECTORY;
+        return System.getProperty(ENV_DIRECTORY_PROPERTY, DEFAULT_ENV_DIRECTORY);
     }
 }
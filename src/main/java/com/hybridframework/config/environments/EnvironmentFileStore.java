@@ -0,0 +1,356 @@
+package com.hybridframework.config.environments;
+
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed view of a single .env file that can also update it safely.
+ * <p>
+ * The file is parsed once when the store is opened, into its lines, an index from variable name to line
+ * number and the variable values. One store exists per file, so every alias pointing at the same file shares
+ * it. Updates are applied as a batch: under an in-process lock and an OS lock on a {@code <file>.lock}
+ * sibling, the file is re-read if another process changed it, the indexed lines are replaced (new variables
+ * are appended), and the result is written to a temporary file that is moved over the original. Concurrent
+ * writers, in this JVM or another, therefore never lose each other's updates, and readers never see a
+ * partially written file. Values that would not read back as written, such as ones containing {@code #} or
+ * with surrounding whitespace, are written in double quotes with {@code \} and {@code "} escaped.
+ */
+public class EnvironmentFileStore {
+
+    private static final Logger logger = LoggerUtils.getLogger(EnvironmentFileStore.class);
+
+    /**
+     * Single-line entry as dotenv-java reads it: an optional {@code export} prefix, optional quotes around the
+     * value and an optional trailing comment. Double-quoted values may contain escaped quotes.
+     */
+    private static final Pattern ENTRY_PATTERN =
+            Pattern.compile("^\\s*(export\\s+)?([\\w.\\-]+)\\s*=\\s*('[^']*'|\"(?:[^\"\\\\]|\\\\.)*\"|[^'\"#][^#]*)?\\s*(#.*)?$");
+    /**
+     * Unquoted value that reads back unchanged: no comment marker, no surrounding whitespace and no opening quote.
+     */
+    private static final Pattern PLAIN_VALUE_PATTERN = Pattern.compile("([^'\"#\\s][^#]*)?(?<!\\s)");
+    /**
+     * First line of a quoted value that continues on the following lines, up to the line with the closing quote.
+     */
+    private static final Pattern MULTILINE_START_PATTERN =
+            Pattern.compile("^\\s*(export\\s+)?([\\w.\\-]+)\\s*=\\s*([\"'])(.*)$");
+    private static final Pattern VARIABLE_NAME_PATTERN = Pattern.compile("[\\w.\\-]+");
+    private static final String LOCK_FILE_SUFFIX = ".lock";
+
+    private static final Map<Path, EnvironmentFileStore> stores = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    /**
+     * An immutable parse of the file together with the attributes it was read at.
+     */
+    private record Snapshot(List<String> lines, Map<String, Entry> lineIndex, Map<String, String> values,
+                            Object fileKey, FileTime lastModified, long size, long version) {
+    }
+
+    /**
+     * Lines a variable occupies, more than one for a multi-line quoted value, and whether it was exported.
+     */
+    private record Entry(int firstLine, int lastLine, boolean exported) {
+    }
+
+    private EnvironmentFileStore(Path path) throws IOException {
+        this.path = path;
+        this.snapshot = read(path, 1);
+    }
+
+    /**
+     * Returns the store for a file, opening and parsing it on first use.
+     *
+     * @param filePath the .env file
+     * @return the shared store for that file
+     * @throws IOException if the file cannot be read
+     */
+    public static EnvironmentFileStore forFile(String filePath) throws IOException {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        try {
+            return stores.computeIfAbsent(path, key -> {
+                try {
+                    logger.info("Opening environment file '{}'", filePath);
+                    return new EnvironmentFileStore(key);
+                } catch (IOException error) {
+                    throw new UncheckedIOException(error);
+                }
+            });
+        } catch (UncheckedIOException error) {
+            ErrorHandler.logError(error.getCause(), "forFile", "Failed to open environment file: " + filePath);
+            throw error.getCause();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @param key the variable name
+     * @return the value, or {@code null} if the file does not define it
+     */
+    public String get(String key) {
+        return snapshot.values().get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        return snapshot.values().getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * @return every variable in file order
+     */
+    public Map<String, String> getValues() {
+        return snapshot.values();
+    }
+
+    /**
+     * @return 1 when first parsed, incremented every time the file is parsed again
+     */
+    public long getVersion() {
+        return snapshot.version();
+    }
+
+    /**
+     * Re-reads the file if its size or modification time changed since it was last parsed.
+     *
+     * @return true if the file was parsed again
+     */
+    public boolean refresh() throws IOException {
+        try {
+            Snapshot current = snapshot;
+            if (!isStale(current)) {
+                return false;
+            }
+            snapshot = read(path, current.version() + 1);
+            logger.info("Environment file '{}' changed on disk and was reloaded", path.getFileName());
+            return true;
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "refresh", "Failed to refresh environment file: " + path);
+            throw error;
+        }
+    }
+
+    public void update(String key, String value) throws IOException {
+        update(Map.of(key, value));
+    }
+
+    /**
+     * Writes all values in one commit, replacing existing variables in place and appending new ones.
+     *
+     * @param values the variables to set
+     * @throws IOException if the file cannot be locked, read or written
+     */
+    public void update(Map<String, String> values) throws IOException {
+        if (values.isEmpty()) {
+            return;
+        }
+        values.forEach(EnvironmentFileStore::validateEntry);
+
+        writeLock.lock();
+        try (FileChannel lockChannel = FileChannel.open(lockPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockChannel.lock()) {
+
+            Snapshot current = isStale(snapshot) ? read(path, snapshot.version() + 1) : snapshot;
+            Map<Integer, String> replacements = new HashMap<>();
+            Map<Integer, Integer> replacedLastLines = new HashMap<>();
+            List<String> appended = new ArrayList<>();
+            for (Map.Entry<String, String> update : values.entrySet()) {
+                Entry entry = current.lineIndex().get(update.getKey());
+                if (entry != null) {
+                    replacements.put(entry.firstLine(), (entry.exported() ? "export " : "") + update.getKey() + "=" + quote(update.getValue()));
+                    replacedLastLines.put(entry.firstLine(), entry.lastLine());
+                } else {
+                    appended.add(update.getKey() + "=" + quote(update.getValue()));
+                }
+            }
+
+            List<String> lines = new ArrayList<>();
+            for (int lineNumber = 0; lineNumber < current.lines().size(); lineNumber++) {
+                String replacement = replacements.get(lineNumber);
+                if (replacement == null) {
+                    lines.add(current.lines().get(lineNumber));
+                } else {
+                    // A multi-line value is replaced as a whole by the single-line value
+                    lines.add(replacement);
+                    lineNumber = replacedLastLines.get(lineNumber);
+                }
+            }
+            lines.addAll(appended);
+
+            write(lines);
+            snapshot = read(path, current.version() + 1);
+            logger.info("Environment variables {} committed to '{}'", values.keySet(), path.getFileName());
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "update", "Failed to update environment variables: " + values.keySet());
+            throw error;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void write(List<String> lines) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (String line : lines) {
+            content.append(line).append(System.lineSeparator());
+        }
+
+        Path temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = StandardCharsets.UTF_8.encode(content.toString());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private boolean isStale(Snapshot current) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        // Every commit replaces the file, so a changed file key catches writes within the same timestamp tick
+        return attributes.size() != current.size()
+                || !attributes.lastModifiedTime().equals(current.lastModified())
+                || !Objects.equals(attributes.fileKey(), current.fileKey());
+    }
+
+    private Path lockPath() {
+        return path.resolveSibling(path.getFileName() + LOCK_FILE_SUFFIX);
+    }
+
+    private static Snapshot read(Path path, long version) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+
+        Map<String, Entry> lineIndex = new HashMap<>();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int lineNumber = 0; lineNumber < lines.size(); lineNumber++) {
+            String line = lines.get(lineNumber);
+            if (line.isBlank() || line.stripLeading().startsWith("#")) {
+                continue;
+            }
+            Matcher matcher = ENTRY_PATTERN.matcher(line);
+            if (matcher.matches()) {
+                lineIndex.put(matcher.group(2), new Entry(lineNumber, lineNumber, matcher.group(1) != null));
+                values.put(matcher.group(2), unquote(matcher.group(3)));
+                continue;
+            }
+
+            Matcher multiline = MULTILINE_START_PATTERN.matcher(line);
+            int lastLine = multiline.matches() ? findClosingQuote(lines, lineNumber, multiline.group(3)) : -1;
+            if (lastLine < 0) {
+                // Line numbers only: the line may hold a secret
+                logger.warn("Ignoring line {} of '{}': not a KEY=value entry", lineNumber + 1, path.getFileName());
+                continue;
+            }
+            String quote = multiline.group(3);
+            StringBuilder value = new StringBuilder(multiline.group(4));
+            for (int continuation = lineNumber + 1; continuation < lastLine; continuation++) {
+                value.append('\n').append(lines.get(continuation));
+            }
+            String closingLine = lines.get(lastLine);
+            value.append('\n').append(closingLine, 0, closingLine.indexOf(quote));
+            lineIndex.put(multiline.group(2), new Entry(lineNumber, lastLine, multiline.group(1) != null));
+            values.put(multiline.group(2), value.toString());
+            lineNumber = lastLine;
+        }
+
+        return new Snapshot(Collections.unmodifiableList(lines), Collections.unmodifiableMap(lineIndex),
+                Collections.unmodifiableMap(values), attributes.fileKey(), attributes.lastModifiedTime(), attributes.size(), version);
+    }
+
+    /**
+     * @return the line holding the quote that closes a value opened on {@code firstLine}, or -1 if it is never
+     * closed or the closing quote is followed by anything but a comment
+     */
+    private static int findClosingQuote(List<String> lines, int firstLine, String quote) {
+        Pattern closing = Pattern.compile("^[^" + quote + "]*" + quote + "\\s*(#.*)?$");
+        for (int lineNumber = firstLine + 1; lineNumber < lines.size(); lineNumber++) {
+            if (lines.get(lineNumber).contains(quote)) {
+                return closing.matcher(lines.get(lineNumber)).matches() ? lineNumber : -1;
+            }
+        }
+        return -1;
+    }
+
+    private static String unquote(String value) {
+        if (value == null) {
+            return "";
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return unescape(trimmed.substring(1, trimmed.length() - 1));
+        }
+        if (trimmed.length() >= 2 && trimmed.startsWith("'") && trimmed.endsWith("'")) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    private static String unescape(String quoted) {
+        StringBuilder value = new StringBuilder(quoted.length());
+        for (int index = 0; index < quoted.length(); index++) {
+            char character = quoted.charAt(index);
+            if (character == '\\' && index + 1 < quoted.length()
+                    && (quoted.charAt(index + 1) == '\\' || quoted.charAt(index + 1) == '"')) {
+                character = quoted.charAt(++index);
+            }
+            value.append(character);
+        }
+        return value.toString();
+    }
+
+    /**
+     * @return the value as written to the file, in double quotes unless it reads back unchanged without them
+     */
+    private static String quote(String value) {
+        if (PLAIN_VALUE_PATTERN.matcher(value).matches()) {
+            return value;
+        }
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static void validateEntry(String key, String value) {
+        if (key == null || !VARIABLE_NAME_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid environment variable name: " + key);
+        }
+        if (value == null || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Environment variable '" + key + "' must have a single-line value");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.hybridframework.config.properties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Typed property key whose value is parsed once, when a {@link ConfigSnapshot} is built.
+ * <p>
+ * Every key has a fixed index into the snapshot's value array, so reading it through
+ * {@link ConfigSnapshot#get(ConfigKey)} is an array load with no parsing, locking or allocation.
+ * Keys are declared here so the set is complete before the first snapshot is built.
+ *
+ * @param <T> the value type
+ */
+public final class ConfigKey<T> {
+
+    private static final List<ConfigKey<?>> keys = new ArrayList<>();
+
+    public static final ConfigKey<Integer> IMPLICIT_TIMEOUT = integerKey("IMPLICIT_TIMEOUT", 10);
+    public static final ConfigKey<Integer> DEFAULT_GLOBAL_TIMEOUT = integerKey("DEFAULT_GLOBAL_TIMEOUT", 60);
+    public static final ConfigKey<Integer> POLLING_TIMEOUT = integerKey("POLLING_TIMEOUT", 1000);
+    public static final ConfigKey<Integer> PAGE_LOAD_TIMEOUT = integerKey("PAGE_LOAD_TIMEOUT", 30);
+    public static final ConfigKey<Integer> SCRIPT_TIMEOUT = integerKey("SCRIPT_TIMEOUT", 30);
+    public static final ConfigKey<Integer> MAX_RETRY_COUNT = integerKey("MAX_RETRY_COUNT", 2);
+    public static final ConfigKey<Integer> THREAD_COUNT = integerKey("THREAD_COUNT", 4);
+    public static final ConfigKey<Integer> DATA_PROVIDER_THREAD_COUNT = integerKey("DATA_PROVIDER_THREAD_COUNT", 1);
+    public static final ConfigKey<Integer> MEMORY_PER_BROWSER_MB = integerKey("MEMORY_PER_BROWSER_MB", 1024);
+    public static final ConfigKey<Boolean> ENABLE_PARALLEL_EXECUTION =
+            new ConfigKey<>("ENABLE_PARALLEL_EXECUTION", Boolean.class, false, value -> Boolean.parseBoolean(value.trim()));
+    public static final ConfigKey<Boolean> ENABLE_DRIVER_POOL =
+            new ConfigKey<>("ENABLE_DRIVER_POOL", Boolean.class, false, value -> Boolean.parseBoolean(value.trim()));
+    public static final ConfigKey<Integer> DRIVER_POOL_SIZE = integerKey("DRIVER_POOL_SIZE", 4);
+    public static final ConfigKey<Integer> DRIVER_MAX_SESSION_USES = integerKey("DRIVER_MAX_SESSION_USES", 25);
+    public static final ConfigKey<String> SCREENSHOT_DIR = stringKey("SCREENSHOT_DIR", "screenshots");
+    public static final ConfigKey<String> REPORT_DIR = stringKey("REPORT_DIR", "reports");
+    public static final ConfigKey<String> TEST_DATA_PATH = stringKey("TEST_DATA_PATH", "src/test/resources/testData/");
+
+    private final String name;
+    private final Class<T> type;
+    private final T defaultValue;
+    private final Function<String, T> parser;
+    private final int index;
+
+    private ConfigKey(String name, Class<T> type, T defaultValue, Function<String, T> parser) {
+        this.name = name;
+        this.type = type;
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+        this.index = keys.size();
+        keys.add(this);
+    }
+
+    private static ConfigKey<Integer> integerKey(String name, int defaultValue) {
+        return new ConfigKey<>(name, Integer.class, defaultValue, value -> Integer.valueOf(value.trim()));
+    }
+
+    private static ConfigKey<String> stringKey(String name, String defaultValue) {
+        return new ConfigKey<>(name, String.class, defaultValue, Function.identity());
+    }
+
+    /**
+     * @return every declared key, in index order
+     */
+    public static List<ConfigKey<?>> values() {
+        return Collections.unmodifiableList(keys);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Parses a raw value the way snapshots do.
+     *
+     * @throws RuntimeException if the value is not valid for this key's type
+     */
+    public T parse(String value) {
+        return parser.apply(value);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
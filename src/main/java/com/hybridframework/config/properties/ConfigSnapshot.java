@@ -0,0 +1,96 @@
+package com.hybridframework.config.properties;
+
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable view of a properties file, with every {@link ConfigKey} parsed up front.
+ * <p>
+ * A system property with the same name overrides the file, as with {@link PropertiesConfigManager#getProperty},
+ * but it is read when the snapshot is built. A value that is missing or cannot be parsed resolves to the key's
+ * default. {@link PropertiesConfigManager#reloadConfiguration} publishes a new snapshot; readers holding the old
+ * one keep seeing consistent values.
+ */
+public final class ConfigSnapshot {
+
+    private static final Logger logger = LoggerUtils.getLogger(ConfigSnapshot.class);
+
+    private final Object[] values;
+    private final Map<String, String> rawValues;
+    private final long version;
+
+    private ConfigSnapshot(Object[] values, Map<String, String> rawValues, long version) {
+        this.values = values;
+        this.rawValues = rawValues;
+        this.version = version;
+    }
+
+    static ConfigSnapshot of(Properties properties, long version) {
+        Map<String, String> rawValues = new HashMap<>();
+        for (String propertyKey : properties.stringPropertyNames()) {
+            rawValues.put(propertyKey, properties.getProperty(propertyKey));
+        }
+
+        List<ConfigKey<?>> keys = ConfigKey.values();
+        Object[] values = new Object[keys.size()];
+        for (ConfigKey<?> key : keys) {
+            values[key.getIndex()] = parse(key, rawValues.get(key.getName()));
+        }
+        return new ConfigSnapshot(values, Map.copyOf(rawValues), version);
+    }
+
+    private static Object parse(ConfigKey<?> key, String fileValue) {
+        String systemValue = System.getProperty(key.getName());
+        String value = systemValue != null ? systemValue : fileValue;
+        if (value == null || value.isEmpty()) {
+            return key.getDefaultValue();
+        }
+
+        try {
+            return key.parse(value);
+        } catch (RuntimeException error) {
+            logger.warn("Property '{}' value '{}' is not a valid {}, using default: '{}'",
+                    key.getName(), value, key.getType().getSimpleName(), key.getDefaultValue());
+            return key.getDefaultValue();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(ConfigKey<T> key) {
+        return (T) values[key.getIndex()];
+    }
+
+    public int getInt(ConfigKey<Integer> key) {
+        return (Integer) values[key.getIndex()];
+    }
+
+    public boolean getBoolean(ConfigKey<Boolean> key) {
+        return (Boolean) values[key.getIndex()];
+    }
+
+    /**
+     * @return 1 for the first snapshot of a configuration, incremented by every reload
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return every property as written in the file, without system property overrides
+     */
+    public Map<String, String> getValues() {
+        return rawValues;
+    }
+
+    /**
+     * @return the value as written in the file, ignoring system properties, or null if absent
+     */
+    String getRawValue(String propertyKey) {
+        return rawValues.get(propertyKey);
+    }
+}
@@ -1,5 +1,7 @@
 package com.hybridframework.config.properties;
 
+import com.hybridframework.config.ConfigAccessStats;
+import com.hybridframework.config.ConfigOverrides;
 import com.hybridframework.utils.logging.ErrorHandler;
 import com.hybridframework.utils.logging.LoggerUtils;
 import org.apache.logging.log4j.Logger;
@@ -7,10 +9,12 @@ import org.apache.logging.log4j.Logger;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class PropertiesConfigManager {
 
@@ -21,18 +25,25 @@ public class PropertiesConfigManager {
      */
     private static final Map<String, PropertiesConfigManager> propertyConfigurationCache = new ConcurrentHashMap<>();
 
-    private final Properties properties;
+    private final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
     private final String propertiesFilePath;
+    private final ConfigAccessStats accessStats;
 
-    private PropertiesConfigManager(String propertiesFilePath) {
+    private PropertiesConfigManager(String configAlias, String propertiesFilePath, Map<String, String> preloadedValues) {
         try {
             validateFilePath(propertiesFilePath);
 
             // assign ...
-            this.properties = new Properties();
             this.propertiesFilePath = propertiesFilePath;
 
-            loadProperties();
+            if (preloadedValues == null) {
+                loadProperties();
+            } else {
+                Properties properties = new Properties();
+                properties.putAll(preloadedValues);
+                publish(properties);
+            }
+            this.accessStats = ConfigAccessStats.register(configAlias);
         } catch (Exception error) {
             ErrorHandler.logError(
                     error,
@@ -46,7 +57,28 @@ public class PropertiesConfigManager {
         propertyConfigurationCache.computeIfAbsent(configAlias, key -> {
             try {
                 logger.info("Property configuration with alias '{}' loaded successfully.", configAlias);
-                return new PropertiesConfigManager(propertiesFileName);
+                return new PropertiesConfigManager(configAlias, propertiesFileName, null);
+            } catch (Exception error) {
+                ErrorHandler.logError(error, "loadConfiguration",
+                        "Failed to load config file");
+                throw error;
+            }
+        });
+    }
+
+    /**
+     * Loads a configuration from values parsed earlier, such as a {@code BinaryConfigSnapshot}, without reading
+     * the file. The file is still read on reload.
+     *
+     * @param configAlias        Configuration alias
+     * @param propertiesFileName the file the values were parsed from
+     * @param values             the parsed properties
+     */
+    public static void loadConfiguration(String configAlias, String propertiesFileName, Map<String, String> values) {
+        propertyConfigurationCache.computeIfAbsent(configAlias, key -> {
+            try {
+                logger.info("Property configuration with alias '{}' loaded from preparsed values.", configAlias);
+                return new PropertiesConfigManager(configAlias, propertiesFileName, values);
             } catch (Exception error) {
                 ErrorHandler.logError(error, "loadConfiguration",
                         "Failed to load config file");
@@ -57,17 +89,25 @@ public class PropertiesConfigManager {
 
     public String getProperty(String propertyKey) {
         try {
+            String overriddenValue = ConfigOverrides.get(propertyKey);
+            if (overriddenValue != null) {
+                accessStats.record(propertyKey, ConfigAccessStats.THREAD_OVERRIDE);
+                return overriddenValue;
+            }
+
             String systemValue = System.getProperty(propertyKey);
             if (systemValue != null) {
-                logger.info("Using system property for '{}': '{}'", propertyKey, systemValue);
+                accessStats.record(propertyKey, ConfigAccessStats.SYSTEM_PROPERTY);
+                logger.debug("Using system property for '{}'", propertyKey);
                 return systemValue;
             }
 
-            String value = properties.getProperty(propertyKey);
+            String value = snapshot.get().getRawValue(propertyKey);
             if (value == null || value.isEmpty()) {
                 logger.warn("Property '{}' not found or empty in properties file", propertyKey);
                 throw new IllegalArgumentException("Property '" + propertyKey + "' not found or empty in properties file");
             }
+            accessStats.record(propertyKey, ConfigAccessStats.FILE);
             return value;
         } catch (Exception error) {
             ErrorHandler.logError(error, "getProperty",
@@ -78,18 +118,26 @@ public class PropertiesConfigManager {
 
     public String getProperty(String propertyKey, String defaultValue) {
         try {
+            String overriddenValue = ConfigOverrides.get(propertyKey);
+            if (overriddenValue != null) {
+                accessStats.record(propertyKey, ConfigAccessStats.THREAD_OVERRIDE);
+                return overriddenValue;
+            }
+
             String systemValue = System.getProperty(propertyKey);
             if (systemValue != null) {
-                logger.info("Retrieved system property for '{}': '{}'", propertyKey, systemValue);
+                accessStats.record(propertyKey, ConfigAccessStats.SYSTEM_PROPERTY);
+                logger.debug("Using system property for '{}'", propertyKey);
                 return systemValue;
             }
 
-            String value = properties.getProperty(propertyKey, defaultValue);
-            if (value.equals(defaultValue)) {
+            String value = snapshot.get().getRawValue(propertyKey);
+            if (value == null) {
+                accessStats.record(propertyKey, ConfigAccessStats.DEFAULT);
                 logger.warn("Property '{}' not found, using default: '{}'", propertyKey, defaultValue);
-            } else {
-                logger.info("Property retrieved successfully");
+                return defaultValue;
             }
+            accessStats.record(propertyKey, ConfigAccessStats.FILE);
             return value;
         } catch (Exception error) {
             ErrorHandler.logError(error, "getProperty",
@@ -139,6 +187,7 @@ public class PropertiesConfigManager {
             throw new FileNotFoundException("Properties file not found: " + propertiesFilePath);
         }
 
+        Properties properties = new Properties();
         try (FileInputStream inputStream = new FileInputStream(propertiesFilePath)) {
             properties.load(inputStream);
         } catch (IOException error) {
@@ -146,6 +195,47 @@ public class PropertiesConfigManager {
                     "Failed to load properties file");
             throw error;
         }
+        publish(properties);
+    }
+
+    private void publish(Properties properties) {
+        ConfigSnapshot current = snapshot.get();
+        snapshot.set(ConfigSnapshot.of(properties, current == null ? 1 : current.getVersion() + 1));
+    }
+
+    /**
+     * Returns the current typed view of this configuration. Read it again rather than keeping it to pick up
+     * reloads.
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    public Path getPropertiesFilePath() {
+        return Path.of(propertiesFilePath).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the typed value of a key, honouring {@link ConfigOverrides} on the current thread.
+     */
+    public <T> T get(ConfigKey<T> key) {
+        String overriddenValue = ConfigOverrides.get(key.getName());
+        if (overriddenValue != null) {
+            accessStats.record(key.getName(), ConfigAccessStats.THREAD_OVERRIDE);
+            return key.parse(overriddenValue);
+        }
+        accessStats.record(key.getName(), ConfigAccessStats.SNAPSHOT);
+        return snapshot.get().get(key);
+    }
+
+    public int getInt(ConfigKey<Integer> key) {
+        String overriddenValue = ConfigOverrides.get(key.getName());
+        if (overriddenValue != null) {
+            accessStats.record(key.getName(), ConfigAccessStats.THREAD_OVERRIDE);
+            return key.parse(overriddenValue);
+        }
+        accessStats.record(key.getName(), ConfigAccessStats.SNAPSHOT);
+        return snapshot.get().getInt(key);
     }
 
     /**
@@ -156,9 +246,15 @@ public class PropertiesConfigManager {
      */
     public <ConversionType> Optional<ConversionType> getProperty(String propertyKey, Class<ConversionType> type) {
         try {
-            // Check system properties first
-            String systemValue = System.getProperty(propertyKey);
-            String value = systemValue != null ? systemValue : properties.getProperty(propertyKey);
+            // Check thread overrides, then system properties
+            String value = ConfigOverrides.get(propertyKey);
+            String source = ConfigAccessStats.THREAD_OVERRIDE;
+            if (value == null) {
+                String systemValue = System.getProperty(propertyKey);
+                value = systemValue != null ? systemValue : snapshot.get().getRawValue(propertyKey);
+                source = systemValue != null ? ConfigAccessStats.SYSTEM_PROPERTY : ConfigAccessStats.FILE;
+            }
+            accessStats.record(propertyKey, source);
 
             if (value == null || value.isEmpty()) {
                 logger.warn("Property '{}' not found in properties file", propertyKey);
@@ -209,7 +305,8 @@ public class PropertiesConfigManager {
     }
 
     /**
-     * Reload an existing configuration
+     * Reload an existing configuration. The file is re-read and a new snapshot published in one step, so
+     * readers see either the old values or the new ones; if the file cannot be read the old values stay.
      * @param configAlias Configuration alias to reload
      * @throws IllegalStateException if configuration not previously loaded
      */
@@ -220,9 +317,11 @@ public class PropertiesConfigManager {
                 throw new IllegalStateException("Configuration '" + configAlias + "' not found. Load it first.");
             }
 
-            // Remove and reload
-            propertyConfigurationCache.remove(configAlias);
-            loadConfiguration(configAlias, existingConfig.propertiesFilePath);
+            existingConfig.loadProperties();
+            logger.info("Property configuration with alias '{}' reloaded successfully.", configAlias);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "reloadConfiguration", "Failed to reload configuration");
+            throw new UncheckedIOException(error);
         } catch (Exception error) {
             ErrorHandler.logError(error, "reloadConfiguration", "Failed to reload configuration");
             throw error;
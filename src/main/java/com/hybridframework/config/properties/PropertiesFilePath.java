@@ -17,4 +17,8 @@ public enum PropertiesFilePath {
     public String getPropertiesFilePath() {
         return PROPERTIES_ROOT_PATH + filename;
     }
+
+    public static String getDirectoryPath() {
+        return PROPERTIES_ROOT_PATH;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,359 @@
+package com.hybridframework.crypto.cli;
+
+import com.hybridframework.config.environments.EnvironmentConfigManager;
+import com.hybridframework.config.environments.EnvironmentFileAlias;
+import com.hybridframework.config.environments.EnvironmentFilePaths;
+import com.hybridframework.config.environments.EnvironmentFileStore;
+import com.hybridframework.config.environments.EnvironmentSecretKey;
+import com.hybridframework.crypto.services.Argon2Settings;
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.EncryptedValueResolver;
+import com.hybridframework.crypto.services.KeyRing;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.crypto.utils.EnvironmentCryptoManager;
+import com.hybridframework.utils.Base64Utils;
+import com.hybridframework.utils.FileUtils;
+import com.hybridframework.utils.logging.ErrorHandler;
+
+import javax.crypto.SecretKey;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Command line entry point for key management and credential encryption.
+ * <p>
+ * Does what the {@code encryption} and {@code rotation} TestNG suites do without starting Maven, TestNG or
+ * {@code TestBase}: only the environment files and the crypto services are loaded. Each command works on one
+ * environment and resolves its secret key once for all variables it touches. Build and run it with:
+ * <pre>
+ * mvn -Pcrypto-cli package -DskipTests
+ * java -jar target/crypto-cli.jar encrypt PORTAL_USERNAME PORTAL_PASSWORD
+ * </pre>
+ */
+public class CryptoCli {
+
+    private static final int EXIT_SUCCESS = 0;
+    private static final int EXIT_FAILURE = 1;
+    private static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = """
+            Usage: crypto-cli <command> [options] [VARIABLE...]
+
+            Commands:
+              keygen         Generate a secret key and save it in envs/.env
+              encrypt        Encrypt the named variables, or every plaintext variable with --all
+              decrypt-check  Check that the named variables, or every encrypted variable, decrypt
+              rotate         Replace the secret key and re-encrypt the named, or every affected, variable
+              encrypt-value  Print an ENC: test data value for each line read from standard input
+
+            Options:
+              --env <name>   DEVELOPMENT, UAT or PRODUCTION (default: UAT)
+              --all          encrypt: select every variable that is not encrypted yet
+              --calibrate    keygen: measure Argon2 on this machine and save the chosen settings
+              --force        keygen: replace an existing secret key
+              --help         Show this message
+            """;
+
+    private final InputStream in;
+    private final PrintStream out;
+    private final PrintStream err;
+
+    /**
+     * The files, alias and secret key variable of one environment.
+     */
+    private record Target(EnvironmentFilePaths environmentFile, EnvironmentFileAlias alias,
+                          EnvironmentSecretKey secretKey) {
+
+        static Target of(String name) {
+            try {
+                String environment = name.toUpperCase(Locale.ROOT);
+                return new Target(EnvironmentFilePaths.valueOf(environment), EnvironmentFileAlias.valueOf(environment),
+                        EnvironmentSecretKey.valueOf(environment));
+            } catch (IllegalArgumentException error) {
+                throw new IllegalArgumentException("Unknown environment: " + name, error);
+            }
+        }
+
+        String environmentFilePath() {
+            return environmentFile.getEnvironmentFileFullPath();
+        }
+    }
+
+    /**
+     * A parsed command line.
+     */
+    private record Arguments(String command, Target target, List<String> variables,
+                             boolean all, boolean calibrate, boolean force) {
+
+        static Arguments parse(String... args) {
+            String command = null;
+            String environment = EnvironmentSecretKey.UAT.name();
+            List<String> variables = new ArrayList<>();
+            boolean all = false;
+            boolean calibrate = false;
+            boolean force = false;
+
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--env" -> {
+                        if (++i == args.length) {
+                            throw new IllegalArgumentException("--env requires a value");
+                        }
+                        environment = args[i];
+                    }
+                    case "--all" -> all = true;
+                    case "--calibrate" -> calibrate = true;
+                    case "--force" -> force = true;
+                    default -> {
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + args[i]);
+                        }
+                        if (command == null) {
+                            command = args[i];
+                        } else {
+                            variables.add(args[i]);
+                        }
+                    }
+                }
+            }
+
+            if (command == null) {
+                throw new IllegalArgumentException("No command given");
+            }
+            return new Arguments(command, Target.of(environment), List.copyOf(variables), all, calibrate, force);
+        }
+    }
+
+    CryptoCli(InputStream in, PrintStream out, PrintStream err) {
+        this.in = in;
+        this.out = out;
+        this.err = err;
+    }
+
+    public static void main(String[] args) {
+        System.exit(new CryptoCli(System.in, System.out, System.err).run(args));
+    }
+
+    /**
+     * Runs one command.
+     *
+     * @param args the command, its options and variable names
+     * @return the process exit code: 0 on success, 1 on failure, 2 on a usage error
+     */
+    int run(String... args) {
+        if (args.length == 0 || List.of(args).contains("--help")) {
+            out.print(USAGE);
+            return args.length == 0 ? EXIT_USAGE : EXIT_SUCCESS;
+        }
+
+        Arguments arguments;
+        try {
+            arguments = Arguments.parse(args);
+        } catch (IllegalArgumentException error) {
+            err.println("error: " + error.getMessage());
+            err.print(USAGE);
+            return EXIT_USAGE;
+        }
+
+        try {
+            return switch (arguments.command()) {
+                case "keygen" -> generateKey(arguments);
+                case "encrypt" -> encrypt(arguments);
+                case "decrypt-check" -> checkDecryption(arguments);
+                case "rotate" -> rotate(arguments);
+                case "encrypt-value" -> encryptTestDataValues(arguments);
+                default -> {
+                    err.println("error: Unknown command: " + arguments.command());
+                    err.print(USAGE);
+                    yield EXIT_USAGE;
+                }
+            };
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "run", "Command '" + arguments.command() + "' failed");
+            err.println("error: " + error.getMessage());
+            return EXIT_FAILURE;
+        }
+    }
+
+    private int generateKey(Arguments arguments) throws IOException {
+        String keyName = arguments.target().secretKey().getKeyName();
+        String baseFilePath = EnvironmentFilePaths.BASE.getEnvironmentFileFullPath();
+
+        if (FileUtils.doesFileExist(baseFilePath)
+                && EnvironmentFileStore.forFile(baseFilePath).get(keyName) != null && !arguments.force()) {
+            err.println("error: " + keyName + " already exists in " + baseFilePath
+                    + "; use rotate to replace it, or --force to overwrite it");
+            return EXIT_FAILURE;
+        }
+
+        SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+        EnvironmentCryptoManager.saveSecretKeyInBaseEnvironment(baseFilePath, keyName, Base64Utils.encodeSecretKey(secretKey));
+        out.println("Saved " + keyName + " (key id " + KeyRing.keyIdAsHex(secretKey) + ") in " + baseFilePath);
+
+        if (arguments.calibrate()) {
+            Argon2Settings argon2Settings = SecureKeyGenerator.calibrateArgon2Settings();
+            EnvironmentCryptoManager.saveArgon2SettingsInBaseEnvironment(baseFilePath, keyName, argon2Settings);
+            out.println("Saved Argon2 settings " + argon2Settings.encode() + " for " + keyName);
+        }
+        return EXIT_SUCCESS;
+    }
+
+    /**
+     * A value only counts as encrypted when it decrypts with the environment's key; looking like ciphertext is
+     * not enough, since a long Base64 token looks the same. With {@code --all}, a value that looks encrypted
+     * but does not decrypt is reported and left alone, as it may be encrypted with another key; naming it
+     * encrypts it.
+     */
+    private int encrypt(Arguments arguments) throws Exception {
+        Target target = loadConfigurations(arguments.target());
+        Map<String, String> values = EnvironmentFileStore.forFile(target.environmentFilePath()).getValues();
+        SecretKey secretKey = EnvironmentCryptoManager.getSecretKey(
+                EnvironmentFileAlias.BASE.getEnvironmentAlias(), target.secretKey().getKeyName());
+        boolean named = !arguments.variables().isEmpty();
+
+        Map<String, CompletableFuture<String>> trialDecryptions = new LinkedHashMap<>();
+        for (String variable : selectVariables(arguments, values, false)) {
+            String value = values.get(variable);
+            trialDecryptions.put(variable, looksEncrypted(value)
+                    ? CryptoService.decryptAsync(secretKey, value)
+                    : CompletableFuture.failedFuture(new IllegalArgumentException("not encrypted")));
+        }
+
+        List<String> variables = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<String>> trialDecryption : trialDecryptions.entrySet()) {
+            String variable = trialDecryption.getKey();
+            if (decrypts(trialDecryption.getValue())) {
+                out.println("Skipping " + variable + ": already encrypted");
+            } else if (!named && looksEncrypted(values.get(variable))) {
+                out.println("Skipping " + variable + ": not decryptable with " + target.secretKey().getKeyName()
+                        + "; name it to encrypt it as plaintext");
+            } else {
+                variables.add(variable);
+            }
+        }
+        if (variables.isEmpty()) {
+            out.println("Nothing to encrypt in " + target.environmentFilePath());
+            return EXIT_SUCCESS;
+        }
+
+        EnvironmentCryptoManager.encryptEnvironmentVariables(target.environmentFilePath(),
+                target.alias().getEnvironmentAlias(), target.secretKey().getKeyName(), variables.toArray(String[]::new));
+        out.println("Encrypted " + variables.size() + " variable(s) in " + target.environmentFilePath() + ": " + variables);
+        return EXIT_SUCCESS;
+    }
+
+    /**
+     * Decrypts every selected value concurrently and reports each one, without printing any plaintext.
+     */
+    private int checkDecryption(Arguments arguments) throws Exception {
+        Target target = loadConfigurations(arguments.target());
+        Map<String, String> values = EnvironmentFileStore.forFile(target.environmentFilePath()).getValues();
+        SecretKey secretKey = EnvironmentCryptoManager.getSecretKey(
+                EnvironmentFileAlias.BASE.getEnvironmentAlias(), target.secretKey().getKeyName());
+
+        Map<String, CompletableFuture<String>> decryptions = new LinkedHashMap<>();
+        for (String variable : selectVariables(arguments, values, true)) {
+            String encryptedValue = values.get(variable);
+            decryptions.put(variable, encryptedValue == null
+                    ? CompletableFuture.failedFuture(new IllegalArgumentException("not found"))
+                    : CryptoService.decryptAsync(secretKey, encryptedValue));
+        }
+
+        int failures = 0;
+        for (Map.Entry<String, CompletableFuture<String>> decryption : decryptions.entrySet()) {
+            try {
+                decryption.getValue().join();
+                out.println("OK    " + decryption.getKey());
+            } catch (Exception error) {
+                failures++;
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                out.println("FAIL  " + decryption.getKey() + ": " + cause.getMessage());
+            }
+        }
+        out.println((decryptions.size() - failures) + " of " + decryptions.size() + " variable(s) decrypted");
+        return failures == 0 ? EXIT_SUCCESS : EXIT_FAILURE;
+    }
+
+    private int rotate(Arguments arguments) throws Exception {
+        Target target = loadConfigurations(arguments.target());
+        String newKeyId = EnvironmentCryptoManager.rotateSecretKey(
+                EnvironmentFilePaths.BASE.getEnvironmentFileFullPath(), target.environmentFilePath(),
+                target.secretKey().getKeyName(), arguments.variables().toArray(String[]::new));
+        out.println("Rotated " + target.secretKey().getKeyName() + " to key id " + newKeyId);
+        return EXIT_SUCCESS;
+    }
+
+    /**
+     * Reads plaintext from standard input rather than arguments, so values stay out of the shell history.
+     */
+    private int encryptTestDataValues(Arguments arguments) throws Exception {
+        Target target = loadConfigurations(arguments.target());
+        SecretKey secretKey = EnvironmentCryptoManager.getSecretKey(
+                EnvironmentFileAlias.BASE.getEnvironmentAlias(), target.secretKey().getKeyName());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isEmpty()) {
+                out.println(EncryptedValueResolver.encryptValue(secretKey, line));
+            }
+        }
+        return EXIT_SUCCESS;
+    }
+
+    /**
+     * Returns the named variables, or when none are named, every variable ({@code encrypt}) or every one that
+     * looks encrypted ({@code decrypt-check}). Without names, {@code encrypt} requires {@code --all} so a typo
+     * never encrypts a file.
+     */
+    private List<String> selectVariables(Arguments arguments, Map<String, String> values, boolean onlyEncrypted) {
+        if (!arguments.variables().isEmpty()) {
+            return arguments.variables();
+        }
+        if (!onlyEncrypted && !arguments.all()) {
+            throw new IllegalArgumentException("Name the variables to encrypt, or pass --all");
+        }
+        return values.entrySet().stream()
+                .filter(entry -> !onlyEncrypted || looksEncrypted(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Any ciphertext shape counts, including legacy ones without a key id. Only used to pick values worth
+     * decrypting; whether a value is encrypted is decided by decrypting it.
+     */
+    private static boolean looksEncrypted(String value) {
+        return CryptoService.isCiphertext(value);
+    }
+
+    private static boolean decrypts(CompletableFuture<String> decryption) {
+        try {
+            decryption.join();
+            return true;
+        } catch (Exception error) {
+            return false;
+        }
+    }
+
+    private static Target loadConfigurations(Target target) {
+        if (!FileUtils.doesFileExist(target.environmentFilePath())) {
+            throw new IllegalArgumentException("Environment file not found: " + target.environmentFilePath());
+        }
+        EnvironmentConfigManager.loadConfiguration(EnvironmentFileAlias.BASE.getEnvironmentAlias(),
+                EnvironmentFilePaths.BASE.getEnvironmentFilename());
+        EnvironmentConfigManager.loadConfiguration(target.alias().getEnvironmentAlias(),
+                target.environmentFile().getEnvironmentFilename());
+        return target;
+    }
+}
@@ -0,0 +1,77 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.utils.logging.ErrorHandler;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Per-thread AES/GCM {@link Cipher} reuse.
+ * <p>
+ * {@code Cipher.getInstance} performs a provider lookup on every call, so each thread keeps one cipher and
+ * re-initialises it with a fresh key and IV for every operation. GCM must never encrypt twice with the same
+ * key and IV; besides the provider's own check on a reused cipher, the IV of the last encryption on each
+ * thread is remembered and an identical IV is rejected before it can reach the cipher.
+ * <p>
+ * If an operation fails, call {@link #discard()} so the next operation starts from a new cipher.
+ */
+final class AesGcmCipherProvider {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private static final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(AesGcmCipherProvider::newCipher);
+    private static final ThreadLocal<byte[]> lastEncryptionIv = new ThreadLocal<>();
+
+    private AesGcmCipherProvider() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    static Cipher forEncryption(SecretKeySpec key, byte[] iv) throws GeneralSecurityException {
+        byte[] previousIv = lastEncryptionIv.get();
+        if (previousIv != null && Arrays.equals(previousIv, iv)) {
+            throw new IllegalStateException("GCM IV reuse detected; refusing to encrypt");
+        }
+
+        Cipher cipher = initialize(Cipher.ENCRYPT_MODE, key, iv);
+        lastEncryptionIv.set(iv.clone());
+        return cipher;
+    }
+
+    static Cipher forDecryption(SecretKeySpec key, byte[] iv) throws GeneralSecurityException {
+        return initialize(Cipher.DECRYPT_MODE, key, iv);
+    }
+
+    /**
+     * Drops the current thread's cipher, for use after a failed operation.
+     */
+    static void discard() {
+        ciphers.remove();
+    }
+
+    private static Cipher initialize(int mode, SecretKeySpec key, byte[] iv) throws GeneralSecurityException {
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(mode, key, new GCMParameterSpec(CryptoConstants.GCM_TAG_LENGTH.getIntValue(), iv));
+            return cipher;
+        } catch (GeneralSecurityException error) {
+            discard();
+            ErrorHandler.logError(error, "initializeCipher", "Failed to initialize cipher");
+            throw error;
+        }
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException error) {
+            ErrorHandler.logError(error, "newCipher", "Failed to create cipher");
+            throw new IllegalStateException("Failed to create " + TRANSFORMATION + " cipher", error);
+        }
+    }
+}
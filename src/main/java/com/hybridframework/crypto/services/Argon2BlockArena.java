@@ -0,0 +1,167 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of Argon2 block memory.
+ * <p>
+ * Every derivation needs its full memory cost as one block matrix (64 MB with the default settings), which
+ * would otherwise be allocated as a humongous object and become garbage as soon as the derivation ends.
+ * Released matrices are wiped and kept for the next derivation of the same size. The pool never retains
+ * more than {@link Argon2MemoryBudget#getTotalBudgetMB()}, since no more than that can be in use at once;
+ * the oldest idle matrices are dropped first when the bound would be exceeded.
+ * <p>
+ * The pool is enabled by default. Disable it with {@code -Dargon2ArenaEnabled=false} or by calling
+ * {@link #disable()}.
+ */
+public class Argon2BlockArena {
+
+    private static final Logger logger = LoggerUtils.getLogger(Argon2BlockArena.class);
+    private static final String ENABLE_PROPERTY = "argon2ArenaEnabled";
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    private static final LongAdder reuses = new LongAdder();
+    private static final LongAdder allocations = new LongAdder();
+    private static final LongAdder discards = new LongAdder();
+
+    /**
+     * Idle matrices, oldest first, guarded by its own monitor.
+     */
+    private static final ArrayDeque<long[]> idleBlocks = new ArrayDeque<>();
+    private static long idleBytes;
+
+    private static volatile boolean enabled = Boolean.parseBoolean(System.getProperty(ENABLE_PROPERTY, "true"));
+
+    private Argon2BlockArena() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Snapshot of the arena counters.
+     *
+     * @param reuses      number of derivations served with pooled memory
+     * @param allocations number of derivations that allocated new memory
+     * @param discards    number of released matrices dropped instead of pooled
+     * @param idleBytes   memory currently held by idle matrices
+     */
+    public record ArenaStatistics(long reuses, long allocations, long discards, long idleBytes) {
+        public double reuseRatio() {
+            long total = reuses + allocations;
+            return total == 0 ? 0.0 : (double) reuses / total;
+        }
+    }
+
+    public static void enable() {
+        enabled = true;
+        logger.info("Argon2 block arena enabled");
+    }
+
+    /**
+     * Disables pooling and drops every idle matrix.
+     */
+    public static void disable() {
+        enabled = false;
+        clear();
+        logger.info("Argon2 block arena disabled");
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Drops every idle matrix. Counters are left untouched.
+     */
+    public static void clear() {
+        synchronized (idleBlocks) {
+            idleBlocks.clear();
+            idleBytes = 0;
+        }
+    }
+
+    public static ArenaStatistics getStatistics() {
+        synchronized (idleBlocks) {
+            return new ArenaStatistics(reuses.sum(), allocations.sum(), discards.sum(), idleBytes);
+        }
+    }
+
+    public static void resetStatistics() {
+        reuses.reset();
+        allocations.reset();
+        discards.reset();
+    }
+
+    /**
+     * Returns a block matrix of exactly {@code words} longs. Pooled matrices are always wiped, so the
+     * contents are zero either way.
+     *
+     * @param words the number of 64-bit words needed
+     * @return a zeroed matrix
+     */
+    static long[] acquire(int words) {
+        if (enabled) {
+            synchronized (idleBlocks) {
+                Iterator<long[]> iterator = idleBlocks.descendingIterator();
+                while (iterator.hasNext()) {
+                    long[] blocks = iterator.next();
+                    if (blocks.length == words) {
+                        iterator.remove();
+                        idleBytes -= sizeInBytes(blocks);
+                        reuses.increment();
+                        return blocks;
+                    }
+                }
+            }
+        }
+
+        allocations.increment();
+        return new long[words];
+    }
+
+    /**
+     * Wipes a matrix and returns it to the pool when there is room for it.
+     *
+     * @param blocks the matrix obtained from {@link #acquire(int)}
+     */
+    static void release(long[] blocks) {
+        try {
+            Arrays.fill(blocks, 0L);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "release", "Failed to wipe Argon2 block memory");
+            throw error;
+        }
+
+        if (!enabled) {
+            discards.increment();
+            return;
+        }
+
+        long limit = Argon2MemoryBudget.getTotalBudgetMB() * BYTES_PER_MB;
+        long size = sizeInBytes(blocks);
+        if (size > limit) {
+            discards.increment();
+            return;
+        }
+
+        synchronized (idleBlocks) {
+            while (idleBytes + size > limit) {
+                long[] oldest = idleBlocks.pollFirst();
+                idleBytes -= sizeInBytes(oldest);
+                discards.increment();
+            }
+            idleBlocks.addLast(blocks);
+            idleBytes += size;
+        }
+    }
+
+    private static long sizeInBytes(long[] blocks) {
+        return (long) blocks.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,91 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Global memory budget for concurrent Argon2 derivations.
+ * <p>
+ * Each derivation allocates its full memory cost up front, so running many at once can exhaust the heap.
+ * The budget is a share of the maximum heap, expressed in megabyte permits; a derivation holds as many
+ * permits as it needs megabytes of block memory until it completes. A derivation larger than the whole
+ * budget is rejected rather than run: its cost comes from the ciphertext header, and one that cannot fit in
+ * the budget would risk exhausting the heap.
+ * <p>
+ * The share defaults to {@link CryptoConstants#ARGON2_MEMORY_BUDGET_PERCENT} and can be overridden with
+ * {@code -Dargon2MemoryBudgetPercent=<1-100>}.
+ */
+public class Argon2MemoryBudget {
+
+    private static final Logger logger = LoggerUtils.getLogger(Argon2MemoryBudget.class);
+    private static final String BUDGET_PERCENT_PROPERTY = "argon2MemoryBudgetPercent";
+    private static final int KB_PER_MB = 1024;
+
+    private static final int totalPermits = calculateTotalPermits();
+    private static final Semaphore permits = new Semaphore(totalPermits, true);
+
+    private Argon2MemoryBudget() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Runs a derivation once enough of the memory budget is free for it.
+     *
+     * @param memoryKB   memory cost of the derivation in kibibytes
+     * @param derivation the derivation to run
+     * @return the result of the derivation
+     * @throws IllegalArgumentException if the derivation needs more memory than the whole budget
+     */
+    static <T> T runWithinBudget(int memoryKB, Supplier<T> derivation) {
+        int required = Math.max(1, (int) (((long) memoryKB + KB_PER_MB - 1) / KB_PER_MB));
+        if (required > totalPermits) {
+            IllegalArgumentException error = new IllegalArgumentException("Argon2 derivation needs " + required
+                    + " MB, more than the whole memory budget of " + totalPermits + " MB; raise -D"
+                    + BUDGET_PERCENT_PROPERTY + " or the maximum heap");
+            ErrorHandler.logError(error, "runWithinBudget", "Argon2 derivation exceeds the memory budget");
+            throw error;
+        }
+        try {
+            permits.acquire(required);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            ErrorHandler.logError(error, "runWithinBudget", "Interrupted while waiting for Argon2 memory budget");
+            throw new IllegalStateException("Interrupted while waiting for Argon2 memory budget", error);
+        }
+
+        try {
+            return derivation.get();
+        } finally {
+            permits.release(required);
+        }
+    }
+
+    public static int getTotalBudgetMB() {
+        return totalPermits;
+    }
+
+    public static int getAvailableBudgetMB() {
+        return permits.availablePermits();
+    }
+
+    private static int calculateTotalPermits() {
+        int percent = Integer.getInteger(BUDGET_PERCENT_PROPERTY, CryptoConstants.ARGON2_MEMORY_BUDGET_PERCENT.getIntValue());
+        if (percent < 1 || percent > 100) {
+            logger.warn("Ignoring invalid {}={}, using default", BUDGET_PERCENT_PROPERTY, percent);
+            percent = CryptoConstants.ARGON2_MEMORY_BUDGET_PERCENT.getIntValue();
+        }
+
+        long budgetMB = Runtime.getRuntime().maxMemory() / (1024L * 1024L) * percent / 100;
+        int defaultDerivationMB = CryptoConstants.ARGON2_MEMORY.getIntValue() / KB_PER_MB;
+
+        // Always leave room for at least one default derivation
+        int total = (int) Math.min(Integer.MAX_VALUE, Math.max(budgetMB, defaultDerivationMB));
+        logger.info("Argon2 memory budget set to {} MB ({}% of max heap)", total, percent);
+        return total;
+    }
+}
@@ -0,0 +1,75 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.utils.logging.ErrorHandler;
+
+/**
+ * Argon2id cost parameters, as written into and read back from the ciphertext envelope header.
+ * The text form produced by {@link #encode()} is {@code iterations:memoryKB:parallelism}.
+ * <p>
+ * Each parameter is capped at the ceiling calibration works within ({@link CryptoConstants#ARGON2_MAX_ITERATIONS},
+ * {@link CryptoConstants#ARGON2_MAX_MEMORY}, {@link CryptoConstants#ARGON2_MAX_PARALLELISM}), so a header
+ * cannot make decryption derive at a cost no legitimate ciphertext was written with.
+ *
+ * @param iterations  number of passes over memory
+ * @param memoryKB    memory cost in kibibytes
+ * @param parallelism number of lanes
+ */
+public record Argon2Settings(int iterations, int memoryKB, int parallelism) {
+
+    private static final String SEPARATOR = ":";
+
+    public Argon2Settings {
+        if (iterations < 1 || iterations > CryptoConstants.ARGON2_MAX_ITERATIONS.getIntValue()) {
+            throw new IllegalArgumentException("Argon2 iterations must be between 1 and "
+                    + CryptoConstants.ARGON2_MAX_ITERATIONS.getIntValue());
+        }
+        if (parallelism < 1 || parallelism > CryptoConstants.ARGON2_MAX_PARALLELISM.getIntValue()) {
+            throw new IllegalArgumentException("Argon2 parallelism must be between 1 and "
+                    + CryptoConstants.ARGON2_MAX_PARALLELISM.getIntValue());
+        }
+        if (memoryKB < 8 * parallelism) {
+            throw new IllegalArgumentException("Argon2 memory must be at least 8 KB per lane");
+        }
+        if (memoryKB > CryptoConstants.ARGON2_MAX_MEMORY.getIntValue()) {
+            throw new IllegalArgumentException("Argon2 memory exceeds the allowed maximum");
+        }
+    }
+
+    /**
+     * Returns the framework defaults from {@link CryptoConstants}.
+     */
+    public static Argon2Settings defaults() {
+        return new Argon2Settings(
+                CryptoConstants.ARGON2_ITERATIONS.getIntValue(),
+                CryptoConstants.ARGON2_MEMORY.getIntValue(),
+                CryptoConstants.ARGON2_PARALLELISM.getIntValue()
+        );
+    }
+
+    /**
+     * Returns the settings as {@code iterations:memoryKB:parallelism}, for storing next to a secret key.
+     */
+    public String encode() {
+        return iterations + SEPARATOR + memoryKB + SEPARATOR + parallelism;
+    }
+
+    /**
+     * Parses settings written by {@link #encode()}.
+     *
+     * @param encoded the encoded settings
+     * @return the validated settings
+     */
+    public static Argon2Settings parse(String encoded) {
+        try {
+            String[] parts = encoded.trim().split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Argon2 settings must be in the form iterations:memoryKB:parallelism");
+            }
+            return new Argon2Settings(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "parse", "Failed to parse Argon2 settings: " + encoded);
+            throw error;
+        }
+    }
+}
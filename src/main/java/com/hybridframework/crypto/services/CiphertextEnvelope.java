@@ -0,0 +1,128 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.crypto.utils.KeyDerivationFunction;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Versioned ciphertext layout.
+ * <pre>
+ * magic (1) | version (1) | kdf id (1) | kdf parameters (0 or 6) | key id (8) | salt | iv | ciphertext + tag
+ * </pre>
+ * Argon2id parameters are stored as memory in KB (4 bytes), iterations (1 byte) and parallelism (1 byte).
+ * HKDF-SHA256 has no parameters. The key id identifies the secret key the ciphertext was written with (see
+ * {@link KeyRing}); version 1 envelopes have no key id and are still read. The header bytes are bound to
+ * the ciphertext as GCM additional authenticated data, so tampering with the stored parameters or key id
+ * fails decryption.
+ * <p>
+ * The ciphertext is not copied out of the source array; it is addressed by offset so decryption can read
+ * it in place. Ciphertexts produced before the envelope existed have no header and are handled by the
+ * legacy {@code salt | iv | ciphertext} layout in {@link CryptoService}.
+ */
+record CiphertextEnvelope(
+        KeyDerivationFunction keyDerivation,
+        Argon2Settings argon2Settings,
+        byte[] keyId,
+        byte[] header,
+        byte[] salt,
+        byte[] iv,
+        byte[] source,
+        int cipherTextOffset
+) {
+
+    private static final int PREFIX_SIZE = 3;
+    private static final int ARGON2_PARAMETERS_SIZE = Integer.BYTES + 2;
+
+    /**
+     * Builds the header for a new envelope.
+     *
+     * @param keyDerivation  the derivation function used for the data key
+     * @param argon2Settings the Argon2 parameters, required only for {@link KeyDerivationFunction#ARGON2ID}
+     * @param keyId          the id of the secret key, from {@link KeyRing#keyIdOf}
+     * @return the encoded header
+     */
+    static byte[] buildHeader(KeyDerivationFunction keyDerivation, Argon2Settings argon2Settings, byte[] keyId) {
+        boolean isArgon2 = keyDerivation == KeyDerivationFunction.ARGON2ID;
+        ByteBuffer buffer = ByteBuffer.allocate(PREFIX_SIZE + (isArgon2 ? ARGON2_PARAMETERS_SIZE : 0) + keyId.length)
+                .put((byte) CryptoConstants.ENVELOPE_MAGIC.getIntValue())
+                .put((byte) CryptoConstants.ENVELOPE_VERSION.getIntValue())
+                .put(keyDerivation.getHeaderId());
+
+        if (isArgon2) {
+            buffer.putInt(argon2Settings.memoryKB())
+                    .put((byte) argon2Settings.iterations())
+                    .put((byte) argon2Settings.parallelism());
+        }
+        return buffer.put(keyId).array();
+    }
+
+    /**
+     * Checks whether the bytes start with a recognised envelope header.
+     * Legacy ciphertexts start with a random salt, so a match is a strong but not absolute signal.
+     */
+    static boolean isVersioned(byte[] combined) {
+        return combined.length > PREFIX_SIZE
+                && combined[0] == (byte) CryptoConstants.ENVELOPE_MAGIC.getIntValue()
+                && isKnownVersion(combined[1])
+                && KeyDerivationFunction.isKnownHeaderId(combined[2]);
+    }
+
+    static CiphertextEnvelope extract(byte[] combined) {
+        if (!isVersioned(combined)) {
+            throw new IllegalArgumentException("Data does not start with a ciphertext envelope header.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(combined);
+        buffer.position(1);
+        boolean hasKeyId = buffer.get() == (byte) CryptoConstants.ENVELOPE_VERSION.getIntValue();
+        KeyDerivationFunction keyDerivation = KeyDerivationFunction.fromHeaderId(buffer.get());
+
+        Argon2Settings argon2Settings = null;
+        if (keyDerivation == KeyDerivationFunction.ARGON2ID) {
+            if (buffer.remaining() < ARGON2_PARAMETERS_SIZE) {
+                throw new IllegalArgumentException("Envelope header is truncated.");
+            }
+            int memoryKB = buffer.getInt();
+            int iterations = Byte.toUnsignedInt(buffer.get());
+            int parallelism = Byte.toUnsignedInt(buffer.get());
+            argon2Settings = new Argon2Settings(iterations, memoryKB, parallelism);
+        }
+
+        byte[] keyId = null;
+        if (hasKeyId) {
+            keyId = new byte[CryptoConstants.KEY_ID_SIZE.getIntValue()];
+            if (buffer.remaining() < keyId.length) {
+                throw new IllegalArgumentException("Envelope header is truncated.");
+            }
+            buffer.get(keyId);
+        }
+
+        int headerSize = buffer.position();
+        int saltSize = CryptoConstants.SALT_KEY_SIZE.getIntValue();
+        int ivSize = CryptoConstants.IV_KEY_SIZE.getIntValue();
+        if (buffer.remaining() < saltSize + ivSize) {
+            throw new IllegalArgumentException("Combined byte array is too short.");
+        }
+
+        byte[] header = new byte[headerSize];
+        byte[] salt = new byte[saltSize];
+        byte[] iv = new byte[ivSize];
+
+        buffer.rewind();
+        buffer.get(header);
+        buffer.get(salt);
+        buffer.get(iv);
+
+        return new CiphertextEnvelope(keyDerivation, argon2Settings, keyId, header, salt, iv, combined, buffer.position());
+    }
+
+    private static boolean isKnownVersion(byte version) {
+        return version == (byte) CryptoConstants.ENVELOPE_VERSION.getIntValue()
+                || version == (byte) CryptoConstants.ENVELOPE_VERSION_WITHOUT_KEY_ID.getIntValue();
+    }
+
+    int cipherTextLength() {
+        return source.length - cipherTextOffset;
+    }
+}
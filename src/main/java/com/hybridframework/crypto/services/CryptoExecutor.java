@@ -0,0 +1,105 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executor for asynchronous crypto work.
+ * <p>
+ * Tasks run on a fixed pool of {@code -DcryptoConcurrency=<n>} platform threads (default: the number of
+ * processors), and the rest queue. The work is CPU-bound, so more threads would not finish it sooner, and
+ * long-lived threads keep the per-thread {@code Cipher} and {@code SecureRandom} they have already built,
+ * which a thread per task would rebuild every time. Crypto work also stays off the common
+ * {@code ForkJoinPool} used by parallel streams. Tasks time out after {@code -DcryptoTimeoutSeconds=<n>}
+ * (default 60), including time spent queued, unless a timeout is given, and cancelling or timing out the
+ * returned future interrupts the task.
+ */
+public class CryptoExecutor {
+
+    private static final Logger logger = LoggerUtils.getLogger(CryptoExecutor.class);
+    private static final String CONCURRENCY_PROPERTY = "cryptoConcurrency";
+    private static final String TIMEOUT_PROPERTY = "cryptoTimeoutSeconds";
+    private static final long DEFAULT_TIMEOUT_SECONDS = 60;
+
+    private static final int concurrencyLimit = Math.max(1,
+            Integer.getInteger(CONCURRENCY_PROPERTY, Runtime.getRuntime().availableProcessors()));
+    private static final Duration defaultTimeout =
+            Duration.ofSeconds(Long.getLong(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT_SECONDS));
+    private static final ExecutorService executor = Executors.newFixedThreadPool(concurrencyLimit,
+            Thread.ofPlatform().name("crypto-", 0).daemon(true).factory());
+
+    private CryptoExecutor() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Runs a task with the default timeout.
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> task) {
+        return submit(task, defaultTimeout);
+    }
+
+    /**
+     * Runs a task on the crypto pool once a thread is free.
+     *
+     * @param task    the crypto work
+     * @param timeout how long the task may take, including the wait for a thread
+     * @return a future completed with the result; cancelling it interrupts the task
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> task, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running = executor.submit(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable error) {
+                result.completeExceptionally(error);
+            }
+        });
+
+        // Cancellation and timeout complete the future without stopping the task; interrupt it as well
+        result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, error) -> {
+                    if (error instanceof TimeoutException) {
+                        logger.warn("Crypto task timed out after {}", timeout);
+                    }
+                    if (error != null && !running.isDone()) {
+                        running.cancel(true);
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * Waits for a crypto future and rethrows its failure unwrapped, so callers see the original exception.
+     *
+     * @param future a future from {@link #submit}
+     * @return the result of the task
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException error) {
+            Throwable cause = error.getCause();
+            ErrorHandler.logError(cause, "join", "Crypto task failed");
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Crypto task failed", cause);
+        }
+    }
+
+    public static int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+}
@@ -1,31 +1,42 @@
 package com.hybridframework.crypto.services;
 
 import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.crypto.utils.KeyDerivationFunction;
 import com.hybridframework.utils.Base64Utils;
 import com.hybridframework.utils.logging.ErrorHandler;
 import org.bouncycastle.crypto.CryptoException;
-import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
-import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.generators.HKDFBytesGenerator;
+import org.bouncycastle.crypto.params.HKDFParameters;
 
 import javax.crypto.AEADBadTagException;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
+import java.security.InvalidKeyException;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.concurrent.CompletableFuture;
 
+import static com.hybridframework.crypto.services.SecureKeyGenerator.generateIv;
 import static com.hybridframework.crypto.services.SecureKeyGenerator.generateSalt;
 
 public class CryptoService {
 
+    private static final byte[] HKDF_INFO = CryptoConstants.HKDF_INFO.getStringValue().getBytes(StandardCharsets.UTF_8);
+
     private CryptoService() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
 
+    /**
+     * Legacy {@code salt | iv | ciphertext} layout, always derived with the default Argon2 settings.
+     * Only used to decrypt values written before {@link CiphertextEnvelope} was introduced.
+     */
     private record EncryptionComponents(byte[] salt, byte[] iv, byte[] cipherText) {
         public byte[] combine() {
             return ByteBuffer.allocate(salt.length + iv.length + cipherText.length)
@@ -57,106 +68,288 @@ public class CryptoService {
         }
     }
 
-    private static SecretKeySpec getDerivedSecretKey(String secret, byte[] salt) {
-        return deriveKey(secret, salt);
+    private static SecretKeySpec getDerivedSecretKey(SecretKey key, byte[] salt, Argon2Settings settings) {
+        return DerivedKeyCache.getOrDerive(key, salt, settings.toString(), () -> deriveKey(key, salt, settings));
     }
 
+    private static SecretKeySpec getDerivedSecretKey(SecretKey key, byte[] salt, KeyDerivationFunction keyDerivation,
+                                                     Argon2Settings settings) {
+        return switch (keyDerivation) {
+            case ARGON2ID -> getDerivedSecretKey(key, salt, settings);
+            case HKDF_SHA256 -> deriveKeyWithHkdf(key, salt, HKDF_INFO);
+        };
+    }
 
+    /**
+     * Encrypts data with a key derived through HKDF-SHA256, which is appropriate for full-entropy keys
+     * such as those produced by {@link SecureKeyGenerator#generateSecretKey()}.
+     */
     public static String encrypt(SecretKey key, String data) throws CryptoException {
+        return encrypt(key, data, KeyDerivationFunction.HKDF_SHA256);
+    }
+
+    /**
+     * Encrypts data into a versioned envelope using the given key derivation function.
+     * Argon2id uses the default {@link Argon2Settings}.
+     */
+    public static String encrypt(SecretKey key, String data, KeyDerivationFunction keyDerivation) throws CryptoException {
+        validateInput(data, "Data");
+        return Base64Utils.encodeArray(encrypt(key, data.getBytes(StandardCharsets.UTF_8), keyDerivation));
+    }
+
+    /**
+     * Encrypts raw bytes with a key derived through HKDF-SHA256 and returns the envelope bytes,
+     * skipping the String and Base64 conversions of the String overloads.
+     */
+    public static byte[] encrypt(SecretKey key, byte[] data) throws CryptoException {
+        return encrypt(key, data, KeyDerivationFunction.HKDF_SHA256);
+    }
+
+    /**
+     * Encrypts data with Argon2id using the given settings, typically from
+     * {@link SecureKeyGenerator#calibrateArgon2Settings()}. The settings are stored in the envelope header,
+     * so decryption needs no configuration.
+     */
+    public static String encrypt(SecretKey key, String data, Argon2Settings argon2Settings) throws CryptoException {
+        validateInput(data, "Data");
+        return Base64Utils.encodeArray(encrypt(key, data.getBytes(StandardCharsets.UTF_8), argon2Settings));
+    }
+
+    /**
+     * Encrypts raw bytes into a versioned envelope using the given key derivation function.
+     */
+    public static byte[] encrypt(SecretKey key, byte[] data, KeyDerivationFunction keyDerivation) throws CryptoException {
+        validateInput(keyDerivation, "Key Derivation Function");
+        return encrypt(key, data, keyDerivation,
+                keyDerivation == KeyDerivationFunction.ARGON2ID ? Argon2Settings.defaults() : null);
+    }
+
+    /**
+     * Encrypts raw bytes with Argon2id using the given settings.
+     */
+    public static byte[] encrypt(SecretKey key, byte[] data, Argon2Settings argon2Settings) throws CryptoException {
+        validateInput(argon2Settings, "Argon2 Settings");
+        return encrypt(key, data, KeyDerivationFunction.ARGON2ID, argon2Settings);
+    }
+
+    private static byte[] encrypt(SecretKey key, byte[] data, KeyDerivationFunction keyDerivation,
+                                  Argon2Settings settings) throws CryptoException {
         validateInput(key, "Secret Key");
         validateInput(data, "Data");
 
         try {
+            byte[] header = CiphertextEnvelope.buildHeader(keyDerivation, settings, KeyRing.keyIdOf(key));
             byte[] salt = generateSalt();
-            byte[] iv = new byte[CryptoConstants.IV_KEY_SIZE.getIntValue()];
-            new SecureRandom().nextBytes(iv);
+            byte[] iv = generateIv();
 
-            // Properly encode the key
-            String keyString = Base64Utils.encodeArray(key.getEncoded());
-            SecretKeySpec derivedKey = deriveKey(keyString, salt);
+            SecretKeySpec derivedKey = getDerivedSecretKey(key, salt, keyDerivation, settings);
 
-            Cipher cipher = initializeCipher(iv, derivedKey, Cipher.ENCRYPT_MODE);
-            byte[] cipherText = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+            Cipher cipher = AesGcmCipherProvider.forEncryption(derivedKey, iv);
+            cipher.updateAAD(header);
 
-            EncryptionComponents components = new EncryptionComponents(salt, iv, cipherText);
-            return Base64Utils.encodeArray(components.combine());
+            // Write header, salt, iv and ciphertext into a single array instead of combining afterwards
+            int prefixLength = header.length + salt.length + iv.length;
+            byte[] output = new byte[prefixLength + cipher.getOutputSize(data.length)];
+            ByteBuffer.wrap(output).put(header).put(salt).put(iv);
+            cipher.doFinal(data, 0, data.length, output, prefixLength);
+            return output;
         } catch (Exception error) {
+            AesGcmCipherProvider.discard();
             ErrorHandler.logError(error, "encrypt", "Failed to encrypt data");
             throw new CryptoException("Encryption failed", error);
         }
     }
 
-
-
+    /**
+     * Decrypts a versioned envelope, or a legacy Argon2 ciphertext without a header.
+     */
     public static String decrypt(SecretKey key, String encryptedData) throws CryptoException {
-        validateInput(key, "Secret Key");
         validateInput(encryptedData, "Encrypted Data");
 
+        byte[] combined;
+        try {
+            combined = Base64Utils.decodeToArray(encryptedData);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "decrypt", "Failed to decode encrypted data");
+            throw new CryptoException("Decryption failed", error);
+        }
+        byte[] decryptedBytes = decrypt(key, combined);
         try {
-            byte[] combined = Base64Utils.decodeToArray(encryptedData);
-            EncryptionComponents components = EncryptionComponents.extract(combined);
+            return new String(decryptedBytes, StandardCharsets.UTF_8);
+        } finally {
+            Arrays.fill(decryptedBytes, (byte) 0);
+        }
+    }
 
-            // Properly encode the key
-            String keyString = Base64Utils.encodeArray(key.getEncoded());
-            SecretKeySpec derivedKey = deriveKey(keyString, components.salt());
+    /**
+     * Checks whether a value has the shape of a ciphertext this service writes or still reads: Base64 that
+     * decodes to an envelope, or to at least a salt, an IV and a GCM tag for the legacy layout. Values that
+     * pass are not necessarily decryptable; plaintext rarely passes, since it would have to be Base64 of at
+     * least {@code 64} bytes.
+     *
+     * @param value a value from an environment file, possibly plaintext
+     * @return true if the value looks encrypted, whatever key or format version it was written with
+     */
+    public static boolean isCiphertext(String value) {
+        if (value == null || value.isBlank()) {
+            return false;
+        }
+        byte[] combined;
+        try {
+            combined = Base64.getDecoder().decode(value.trim());
+        } catch (IllegalArgumentException error) {
+            return false;
+        }
+        int legacyMinimum = CryptoConstants.SALT_KEY_SIZE.getIntValue() + CryptoConstants.IV_KEY_SIZE.getIntValue()
+                + CryptoConstants.GCM_TAG_LENGTH.getIntValue() / Byte.SIZE;
+        return CiphertextEnvelope.isVersioned(combined) || combined.length >= legacyMinimum;
+    }
 
-            Cipher cipher = initializeCipher(components.iv(), derivedKey, Cipher.DECRYPT_MODE);
-            byte[] decryptedBytes = cipher.doFinal(components.cipherText());
+    /**
+     * Decrypts envelope (or legacy) bytes as produced by {@link #encrypt(SecretKey, byte[])}.
+     */
+    public static byte[] decrypt(SecretKey key, byte[] encryptedData) throws CryptoException {
+        validateInput(key, "Secret Key");
+        validateInput(encryptedData, "Encrypted Data");
 
-            return new String(decryptedBytes, StandardCharsets.UTF_8);
+        try {
+            return CiphertextEnvelope.isVersioned(encryptedData)
+                    ? decryptVersionedOrLegacy(key, encryptedData)
+                    : decryptLegacy(key, encryptedData);
         } catch (AEADBadTagException error) {
+            AesGcmCipherProvider.discard();
             ErrorHandler.logError(error, "decrypt", "Tag mismatch: Incorrect key, IV, or ciphertext corruption.");
             throw new CryptoException("Decryption failed: Tag mismatch. Ensure correct key and IV are used.", error);
         } catch (Exception error) {
+            AesGcmCipherProvider.discard();
             ErrorHandler.logError(error, "decrypt", "Failed to decrypt data");
             throw new CryptoException("Decryption failed", error);
         }
     }
 
+    /**
+     * A legacy salt is random, so about one legacy value in four million starts with bytes that read as an
+     * envelope header. When the header does not parse, or the envelope it describes does not decrypt, the value is tried
+     * once as legacy before failing. That bounds the extra cost of a wrong key or a tampered envelope to one
+     * default-cost derivation, and the envelope's own error is the one reported.
+     */
+    private static byte[] decryptVersionedOrLegacy(SecretKey key, byte[] combined) throws Exception {
+        CiphertextEnvelope envelope;
+        try {
+            envelope = CiphertextEnvelope.extract(combined);
+        } catch (IllegalArgumentException error) {
+            return decryptLegacy(key, combined);
+        }
 
-    // Async decryption to avoid blocking Selenium
-    public static CompletableFuture<String> decryptAsync(SecretKey key, String encryptedData) {
-        return CompletableFuture.supplyAsync(() -> {
+        try {
+            SecretKey envelopeKey = resolveEnvelopeKey(key, envelope);
+            if (envelopeKey == null) {
+                throw new InvalidKeyException("Ciphertext was encrypted with key id "
+                        + HexFormat.of().formatHex(envelope.keyId()) + ", which is not in the key ring");
+            }
+            return decryptVersioned(envelopeKey, envelope);
+        } catch (Exception envelopeError) {
+            AesGcmCipherProvider.discard();
             try {
-                return decrypt(key, encryptedData);
-            } catch (CryptoException e) {
-                throw new RuntimeException(e);
+                return decryptLegacy(key, combined);
+            } catch (Exception legacyError) {
+                envelopeError.addSuppressed(legacyError);
+                throw envelopeError;
             }
-        });
+        }
     }
 
-    private static SecretKeySpec deriveKey(String secretKey, byte[] salt) {
-        try {
-            Argon2Parameters params = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
-                    .withSalt(salt)
-                    .withIterations(CryptoConstants.ARGON2_ITERATIONS.getIntValue())
-                    .withMemoryAsKB(CryptoConstants.ARGON2_MEMORY.getIntValue())
-                    .withParallelism(CryptoConstants.ARGON2_PARALLELISM.getIntValue())
-                    .build();
+    /**
+     * Returns the key named by the envelope: the given key when it matches (or the envelope has no key id),
+     * otherwise the key registered in the {@link KeyRing}, or {@code null} when there is none.
+     */
+    private static SecretKey resolveEnvelopeKey(SecretKey key, CiphertextEnvelope envelope) {
+        if (envelope.keyId() == null || Arrays.equals(envelope.keyId(), KeyRing.keyIdOf(key))) {
+            return key;
+        }
+        return KeyRing.find(envelope.keyId()).orElse(null);
+    }
+
+    private static byte[] decryptVersioned(SecretKey key, CiphertextEnvelope envelope) throws Exception {
+        SecretKeySpec derivedKey = getDerivedSecretKey(
+                key, envelope.salt(), envelope.keyDerivation(), envelope.argon2Settings());
+
+        Cipher cipher = AesGcmCipherProvider.forDecryption(derivedKey, envelope.iv());
+        cipher.updateAAD(envelope.header());
+        return cipher.doFinal(envelope.source(), envelope.cipherTextOffset(), envelope.cipherTextLength());
+    }
+
+    private static byte[] decryptLegacy(SecretKey key, byte[] combined) throws Exception {
+        EncryptionComponents components = EncryptionComponents.extract(combined);
 
-            Argon2BytesGenerator generator = new Argon2BytesGenerator();
-            generator.init(params);
+        SecretKeySpec derivedKey = getDerivedSecretKey(key, components.salt(), Argon2Settings.defaults());
 
+        Cipher cipher = AesGcmCipherProvider.forDecryption(derivedKey, components.iv());
+        return cipher.doFinal(components.cipherText());
+    }
+
+
+    /**
+     * Decrypts on the {@link CryptoExecutor}, so Argon2 work neither blocks Selenium nor competes with the
+     * common {@code ForkJoinPool}. The future fails with the original {@link CryptoException}.
+     */
+    public static CompletableFuture<String> decryptAsync(SecretKey key, String encryptedData) {
+        return CryptoExecutor.submit(() -> decrypt(key, encryptedData));
+    }
+
+    /**
+     * Same as {@link #decryptAsync(SecretKey, String)}, failing with a {@code TimeoutException} and
+     * interrupting the decryption if it takes longer than the timeout.
+     */
+    public static CompletableFuture<String> decryptAsync(SecretKey key, String encryptedData, Duration timeout) {
+        return CryptoExecutor.submit(() -> decrypt(key, encryptedData), timeout);
+    }
+
+    /**
+     * Runs Argon2id over the Base64 form of the key, which is what existing ciphertexts were derived from.
+     * The Base64 characters are produced straight into a byte array (ASCII, so identical to the UTF-8 bytes
+     * of the Base64 string) and both arrays are cleared afterwards. Lanes are filled concurrently by
+     * {@link ParallelArgon2Generator}, which produces the same bytes as BouncyCastle's generator.
+     */
+    private static SecretKeySpec deriveKey(SecretKey key, byte[] salt, Argon2Settings settings) {
+        byte[] keyMaterial = key.getEncoded();
+        byte[] password = Base64.getEncoder().encode(keyMaterial);
+        try {
             byte[] result = new byte[CryptoConstants.AES_SECRET_KEY_SIZE.getIntValue()];
-            generator.generateBytes(secretKey.getBytes(StandardCharsets.UTF_8), result);
+            Argon2MemoryBudget.runWithinBudget(settings.memoryKB(), () -> {
+                ParallelArgon2Generator.generateBytes(password, salt, settings, result);
+                return result;
+            });
 
             return new SecretKeySpec(result, CryptoConstants.AES_ALGORITHM.getStringValue());
         } catch (Exception error) {
             ErrorHandler.logError(error, "deriveKey", "Failed to derive key");
             throw new IllegalStateException("Failed to derive key", error);
         } finally {
-            Arrays.fill(secretKey.toCharArray(), '\0');
+            Arrays.fill(keyMaterial, (byte) 0);
+            Arrays.fill(password, (byte) 0);
         }
     }
 
-    private static Cipher initializeCipher(byte[] iv, SecretKeySpec key, int mode) throws Exception {
+    /**
+     * Derives an AES key from a full-entropy key with HKDF-SHA256. The info bytes separate the keys used by
+     * different formats derived from the same secret key and salt.
+     */
+    static SecretKeySpec deriveKeyWithHkdf(SecretKey key, byte[] salt, byte[] info) {
+        byte[] keyMaterial = key.getEncoded();
         try {
-            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
-            cipher.init(mode, key, new GCMParameterSpec(CryptoConstants.GCM_TAG_LENGTH.getIntValue(), iv));
-            return cipher;
+            HKDFBytesGenerator generator = new HKDFBytesGenerator(new SHA256Digest());
+            generator.init(new HKDFParameters(keyMaterial, salt, info));
+
+            byte[] result = new byte[CryptoConstants.AES_SECRET_KEY_SIZE.getIntValue()];
+            generator.generateBytes(result, 0, result.length);
+
+            return new SecretKeySpec(result, CryptoConstants.AES_ALGORITHM.getStringValue());
         } catch (Exception error) {
-            ErrorHandler.logError(error, "initializeCipher", "Failed to initialize cipher");
-            throw error;
+            ErrorHandler.logError(error, "deriveKeyWithHkdf", "Failed to derive key");
+            throw new IllegalStateException("Failed to derive key", error);
+        } finally {
+            Arrays.fill(keyMaterial, (byte) 0);
         }
     }
 
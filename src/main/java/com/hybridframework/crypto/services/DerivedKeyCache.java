@@ -0,0 +1,237 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in, bounded cache for Argon2 derived keys.
+ * <p>
+ * Entries are keyed on the SHA-256 fingerprint of the secret key together with the salt and the
+ * derivation parameters, so the raw secret key is never retained. The cache is bounded by entry count
+ * (least recently used entries are evicted first) and by time-to-live, and the key material of every
+ * evicted entry is zeroed.
+ * <p>
+ * The cache is disabled by default. Enable it with {@code -DenableDerivedKeyCache=true} or by calling
+ * {@link #enable()}.
+ */
+public class DerivedKeyCache {
+
+    private static final Logger logger = LoggerUtils.getLogger(DerivedKeyCache.class);
+    private static final String ENABLE_PROPERTY = "enableDerivedKeyCache";
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+
+    /**
+     * Access-ordered map, guarded by its own monitor, so iteration order is least recently used first.
+     */
+    private static final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLE_PROPERTY);
+    private static volatile int maxEntries = CryptoConstants.DERIVED_KEY_CACHE_MAX_ENTRIES.getIntValue();
+    private static volatile long timeToLiveNanos =
+            Duration.ofSeconds(CryptoConstants.DERIVED_KEY_CACHE_TTL_SECONDS.getIntValue()).toNanos();
+
+    private DerivedKeyCache() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    private record CacheKey(String fingerprint, String salt, String derivationParameters) {
+    }
+
+    private record CacheEntry(byte[] keyMaterial, String algorithm, long createdAtNanos) {
+        boolean isExpired(long now, long ttlNanos) {
+            return now - createdAtNanos > ttlNanos;
+        }
+
+        void zeroize() {
+            Arrays.fill(keyMaterial, (byte) 0);
+        }
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits      number of lookups served from the cache
+     * @param misses    number of lookups that required a fresh derivation
+     * @param evictions number of entries removed because of size, expiry or clearing
+     * @param size      current number of cached entries
+     */
+    public record CacheStatistics(long hits, long misses, long evictions, int size) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    /**
+     * Enables the cache using the default bounds from {@link CryptoConstants}.
+     */
+    public static void enable() {
+        enable(CryptoConstants.DERIVED_KEY_CACHE_MAX_ENTRIES.getIntValue(),
+                Duration.ofSeconds(CryptoConstants.DERIVED_KEY_CACHE_TTL_SECONDS.getIntValue()));
+    }
+
+    /**
+     * Enables the cache with the given bounds.
+     *
+     * @param maximumEntries maximum number of derived keys held at once
+     * @param timeToLive     maximum age of a cached derived key
+     */
+    public static void enable(int maximumEntries, Duration timeToLive) {
+        try {
+            if (maximumEntries <= 0) {
+                throw new IllegalArgumentException("Maximum entries must be positive");
+            }
+            if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+                throw new IllegalArgumentException("Time to live must be positive");
+            }
+
+            synchronized (entries) {
+                maxEntries = maximumEntries;
+                timeToLiveNanos = timeToLive.toNanos();
+                trimToSize();
+            }
+            enabled = true;
+            logger.info("Derived key cache enabled (max entries: {}, ttl: {})", maximumEntries, timeToLive);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "enable", "Failed to enable derived key cache");
+            throw error;
+        }
+    }
+
+    /**
+     * Disables the cache and zeroes every cached key.
+     */
+    public static void disable() {
+        enabled = false;
+        clear();
+        logger.info("Derived key cache disabled");
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Removes and zeroes every cached key. Counters are left untouched.
+     */
+    public static void clear() {
+        synchronized (entries) {
+            Iterator<CacheEntry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                evict(iterator.next());
+                iterator.remove();
+            }
+        }
+    }
+
+    public static CacheStatistics getStatistics() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    public static void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * Returns the derived key for the given secret key and salt, running the derivation only when the
+     * cache is disabled or does not hold a live entry.
+     *
+     * @param secretKey            the secret key the derivation is based on
+     * @param salt                 the salt used by the derivation
+     * @param derivationParameters identifies the cost parameters of the derivation
+     * @param derivation           the derivation to run on a cache miss
+     * @return the derived key
+     */
+    static SecretKeySpec getOrDerive(SecretKey secretKey, byte[] salt, String derivationParameters,
+                                     Supplier<SecretKeySpec> derivation) {
+        if (!enabled) {
+            return derivation.get();
+        }
+
+        CacheKey cacheKey = new CacheKey(fingerprint(secretKey), HexFormat.of().formatHex(salt), derivationParameters);
+        long now = System.nanoTime();
+
+        synchronized (entries) {
+            CacheEntry entry = entries.get(cacheKey);
+            if (entry != null) {
+                if (!entry.isExpired(now, timeToLiveNanos)) {
+                    hits.increment();
+                    return new SecretKeySpec(entry.keyMaterial(), entry.algorithm());
+                }
+                entries.remove(cacheKey);
+                evict(entry);
+            }
+        }
+
+        // Derive outside the lock so parallel threads are not serialised behind Argon2
+        misses.increment();
+        SecretKeySpec derivedKey = derivation.get();
+
+        synchronized (entries) {
+            CacheEntry previous = entries.put(cacheKey,
+                    new CacheEntry(derivedKey.getEncoded(), derivedKey.getAlgorithm(), System.nanoTime()));
+            if (previous != null) {
+                evict(previous);
+            }
+            trimToSize();
+        }
+        return derivedKey;
+    }
+
+    /**
+     * Drops expired entries, then least recently used entries until the size bound holds.
+     * Callers must hold the {@code entries} monitor.
+     */
+    private static void trimToSize() {
+        long now = System.nanoTime();
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CacheEntry entry = iterator.next();
+            if (entries.size() > maxEntries || entry.isExpired(now, timeToLiveNanos)) {
+                evict(entry);
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void evict(CacheEntry entry) {
+        entry.zeroize();
+        evictions.increment();
+    }
+
+    private static String fingerprint(SecretKey secretKey) {
+        byte[] encoded = secretKey.getEncoded();
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(FINGERPRINT_ALGORITHM).digest(encoded));
+        } catch (NoSuchAlgorithmException error) {
+            ErrorHandler.logError(error, "fingerprint", "Failed to fingerprint secret key");
+            throw new IllegalStateException("Failed to fingerprint secret key", error);
+        } finally {
+            Arrays.fill(encoded, (byte) 0);
+        }
+    }
+}
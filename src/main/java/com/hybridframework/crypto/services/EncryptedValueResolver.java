@@ -0,0 +1,234 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.config.environments.EnvironmentFileAlias;
+import com.hybridframework.crypto.utils.EnvironmentCryptoManager;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.crypto.CryptoException;
+
+import javax.crypto.SecretKey;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Decrypts test data values marked with the {@code ENC:} prefix, on demand.
+ * <p>
+ * A marked value is {@code ENC:} followed by the Base64 output of {@link CryptoService#encrypt(SecretKey, String)}.
+ * Readers hand their values to the resolver unchanged, and a value is only decrypted when a test reads it, so
+ * loading a large sheet costs no key derivations. Each ciphertext is decrypted at most once per resolver; the
+ * resolvers returned by {@link #forEnvironment} are shared, so their results are kept for the whole run. Values
+ * without the prefix are returned as they are.
+ * <p>
+ * Decrypted values are held as strings until {@link #clear()} is called. Use {@link SecretVault} instead for
+ * credentials that must not live on the heap.
+ */
+public class EncryptedValueResolver {
+
+    private static final Logger logger = LoggerUtils.getLogger(EncryptedValueResolver.class);
+    public static final String ENCRYPTED_PREFIX = "ENC:";
+
+    private static final Map<String, EncryptedValueResolver> environmentResolvers = new ConcurrentHashMap<>();
+
+    private final Supplier<SecretKey> secretKeySupplier;
+    private final Map<String, String> decryptedValues = new ConcurrentHashMap<>();
+    private volatile SecretKey secretKey;
+
+    private EncryptedValueResolver(Supplier<SecretKey> secretKeySupplier) {
+        this.secretKeySupplier = secretKeySupplier;
+    }
+
+    /**
+     * Returns a resolver that decrypts with the given key.
+     */
+    public static EncryptedValueResolver forSecretKey(SecretKey secretKey) {
+        return new EncryptedValueResolver(() -> secretKey);
+    }
+
+    /**
+     * Returns the shared resolver for a secret key variable in the base environment. The key is only looked
+     * up when the first marked value is read.
+     *
+     * @param environmentSecretKeyType the secret key variable, e.g. {@code UAT_SECRET_KEY}
+     */
+    public static EncryptedValueResolver forEnvironment(String environmentSecretKeyType) {
+        return environmentResolvers.computeIfAbsent(environmentSecretKeyType, keyType ->
+                new EncryptedValueResolver(() -> EnvironmentCryptoManager.getSecretKey(
+                        EnvironmentFileAlias.BASE.getEnvironmentAlias(), keyType)));
+    }
+
+    public static boolean isEncrypted(String value) {
+        return value != null && value.startsWith(ENCRYPTED_PREFIX);
+    }
+
+    /**
+     * Returns the value with its {@code ENC:} marker, for writing into a test data file.
+     *
+     * @param secretKey the key to encrypt with
+     * @param value     the plaintext
+     * @return {@code ENC:} followed by the ciphertext
+     */
+    public static String encryptValue(SecretKey secretKey, String value) throws CryptoException {
+        return ENCRYPTED_PREFIX + CryptoService.encrypt(secretKey, value);
+    }
+
+    /**
+     * Returns the plaintext of a marked value, decrypting it on first use, or the value itself when unmarked.
+     *
+     * @param value a value read from a test data file
+     * @return the plaintext
+     * @throws IllegalStateException if a marked value cannot be decrypted
+     */
+    public String resolve(String value) {
+        if (!isEncrypted(value)) {
+            return value;
+        }
+
+        String cipherText = value.substring(ENCRYPTED_PREFIX.length());
+        String decrypted = decryptedValues.get(cipherText);
+        if (decrypted != null) {
+            return decrypted;
+        }
+
+        // Decrypt outside the map so slow derivations for different values do not block each other
+        try {
+            decrypted = CryptoService.decrypt(getSecretKey(), cipherText);
+        } catch (CryptoException error) {
+            ErrorHandler.logError(error, "resolve", "Failed to decrypt test data value");
+            throw new IllegalStateException("Failed to decrypt test data value", error);
+        }
+        String existing = decryptedValues.putIfAbsent(cipherText, decrypted);
+        return existing != null ? existing : decrypted;
+    }
+
+    /**
+     * Returns a read-only view of a row or record whose values are resolved when they are read.
+     *
+     * @param values the values as loaded, possibly marked
+     * @return a view resolving each value on access
+     */
+    public Map<String, String> resolvingView(Map<String, String> values) {
+        return new ResolvingMap(values);
+    }
+
+    /**
+     * @return the number of distinct values decrypted so far
+     */
+    public int getDecryptedCount() {
+        return decryptedValues.size();
+    }
+
+    /**
+     * Forgets every decrypted value. Marked values are decrypted again on their next read.
+     */
+    public void clear() {
+        decryptedValues.clear();
+        logger.info("Cleared decrypted test data values");
+    }
+
+    private SecretKey getSecretKey() {
+        SecretKey current = secretKey;
+        if (current == null) {
+            current = secretKeySupplier.get();
+            secretKey = current;
+        }
+        return current;
+    }
+
+    private final class ResolvingMap extends AbstractMap<String, String> {
+
+        private final Map<String, String> values;
+
+        private ResolvingMap(Map<String, String> values) {
+            this.values = values;
+        }
+
+        @Override
+        public String get(Object key) {
+            return resolve(values.get(key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    Iterator<Entry<String, String>> entries = values.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            Entry<String, String> entry = entries.next();
+                            return new ResolvingEntry(entry.getKey(), entry.getValue());
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Map entry that decrypts its value only when {@link #getValue()} is called, so iterating keys stays free.
+     */
+    private final class ResolvingEntry implements Map.Entry<String, String> {
+
+        private final String key;
+        private final String value;
+
+        private ResolvingEntry(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String getValue() {
+            return resolve(value);
+        }
+
+        @Override
+        public String setValue(String value) {
+            throw new UnsupportedOperationException("Test data rows are read-only");
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Map.Entry<?, ?> entry
+                    && key.equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import javax.crypto.SecretKey;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide registry of secret keys by key id.
+ * <p>
+ * Every envelope written by {@link CryptoService} carries the id of the key it was encrypted with: the first
+ * {@link CryptoConstants#KEY_ID_SIZE} bytes of the SHA-256 of the key. When a ciphertext is decrypted with a
+ * different key, for example while a rotation is in progress, the key ring supplies the key the ciphertext
+ * actually names, provided it has been registered.
+ */
+public class KeyRing {
+
+    private static final Logger logger = LoggerUtils.getLogger(KeyRing.class);
+    private static final String KEY_ID_ALGORITHM = "SHA-256";
+
+    private static final Map<String, SecretKey> keys = new ConcurrentHashMap<>();
+
+    private KeyRing() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Registers a key so ciphertexts tagged with its id can be decrypted with it.
+     *
+     * @param secretKey the key to register
+     * @return the key id as hex
+     */
+    public static String register(SecretKey secretKey) {
+        try {
+            String keyId = HexFormat.of().formatHex(keyIdOf(secretKey));
+            if (keys.putIfAbsent(keyId, secretKey) == null) {
+                logger.info("Registered secret key '{}' in key ring", keyId);
+            }
+            return keyId;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "register", "Failed to register secret key");
+            throw error;
+        }
+    }
+
+    public static Optional<SecretKey> find(byte[] keyId) {
+        return Optional.ofNullable(keys.get(HexFormat.of().formatHex(keyId)));
+    }
+
+    public static boolean contains(String keyId) {
+        return keys.containsKey(keyId);
+    }
+
+    /**
+     * Removes a key, typically once every ciphertext written with it has been re-encrypted.
+     */
+    public static void remove(String keyId) {
+        keys.remove(keyId);
+    }
+
+    public static void clear() {
+        keys.clear();
+    }
+
+    /**
+     * Returns the id of a key as hex, for logging and for the key ring API.
+     */
+    public static String keyIdAsHex(SecretKey secretKey) {
+        return HexFormat.of().formatHex(keyIdOf(secretKey));
+    }
+
+    /**
+     * Returns the key id recorded in an encrypted value, if the value is an envelope that carries one.
+     * Legacy and version 1 ciphertexts have no key id.
+     *
+     * @param encryptedValue a Base64 value produced by {@link CryptoService#encrypt(SecretKey, String)}
+     * @return the key id as hex, or empty
+     */
+    public static Optional<String> keyIdOfCiphertext(String encryptedValue) {
+        try {
+            byte[] combined = Base64.getDecoder().decode(encryptedValue);
+            if (!CiphertextEnvelope.isVersioned(combined)) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(CiphertextEnvelope.extract(combined).keyId()).map(HexFormat.of()::formatHex);
+        } catch (IllegalArgumentException error) {
+            return Optional.empty();
+        }
+    }
+
+    static byte[] keyIdOf(SecretKey secretKey) {
+        byte[] encoded = secretKey.getEncoded();
+        try {
+            byte[] digest = MessageDigest.getInstance(KEY_ID_ALGORITHM).digest(encoded);
+            return Arrays.copyOf(digest, CryptoConstants.KEY_ID_SIZE.getIntValue());
+        } catch (NoSuchAlgorithmException error) {
+            ErrorHandler.logError(error, "keyIdOf", "Failed to compute key id");
+            throw new IllegalStateException("Failed to compute key id", error);
+        } finally {
+            Arrays.fill(encoded, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Argon2id (version 0x13, RFC 9106) that fills lanes concurrently.
+ * <p>
+ * BouncyCastle's {@code Argon2BytesGenerator} walks every lane on the calling thread, so the parallelism
+ * parameter only changes the output, not the wall time. Within one slice the lanes never reference each
+ * other's current segment, so each slice is filled with one task per lane and the slices are joined in
+ * order. The output is bit-identical to BouncyCastle for the same password, salt and settings; secret
+ * and associated data are not used by the framework and are always empty.
+ * <p>
+ * Block memory is a single {@code long[]} of 128 words per block, taken from {@link Argon2BlockArena} and
+ * wiped when it is handed back.
+ */
+final class ParallelArgon2Generator {
+
+    private static final int VERSION = 0x13;
+    private static final int TYPE_ID = 2;
+    private static final int SYNC_POINTS = 4;
+    private static final int BLOCK_WORDS = 128;
+    private static final int BLOCK_BYTES = BLOCK_WORDS * Long.BYTES;
+    private static final int PREHASH_DIGEST_LENGTH = 64;
+    private static final int PREHASH_SEED_LENGTH = PREHASH_DIGEST_LENGTH + 8;
+
+    private static final ForkJoinPool lanePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final Argon2Settings settings;
+    private final int lanes;
+    private final int segmentLength;
+    private final int laneLength;
+    private final long[] memory;
+
+    private ParallelArgon2Generator(Argon2Settings settings) {
+        this.settings = settings;
+        this.lanes = settings.parallelism();
+        int memoryBlocks = Math.max(settings.memoryKB(), 2 * SYNC_POINTS * lanes);
+        this.segmentLength = memoryBlocks / (lanes * SYNC_POINTS);
+        this.laneLength = segmentLength * SYNC_POINTS;
+        this.memory = Argon2BlockArena.acquire(laneLength * lanes * BLOCK_WORDS);
+    }
+
+    /**
+     * Derives {@code output.length} bytes from the password and salt.
+     *
+     * @param password the password bytes
+     * @param salt     the salt
+     * @param settings the Argon2id cost parameters
+     * @param output   the array receiving the derived bytes
+     */
+    static void generateBytes(byte[] password, byte[] salt, Argon2Settings settings, byte[] output) {
+        ParallelArgon2Generator generator = new ParallelArgon2Generator(settings);
+        try {
+            generator.initialize(password, salt, output.length);
+            generator.fillMemory();
+            generator.finish(output);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "generateBytes", "Failed to derive Argon2 bytes");
+            throw error;
+        } finally {
+            Argon2BlockArena.release(generator.memory);
+        }
+    }
+
+    private void initialize(byte[] password, byte[] salt, int outputLength) {
+        Blake2bDigest digest = new Blake2bDigest(PREHASH_DIGEST_LENGTH * 8);
+        int[] parameters = {lanes, outputLength, settings.memoryKB(), settings.iterations(), VERSION, TYPE_ID};
+        for (int parameter : parameters) {
+            updateLittleEndian(digest, parameter);
+        }
+        updateWithLength(digest, password);
+        updateWithLength(digest, salt);
+        updateWithLength(digest, new byte[0]);
+        updateWithLength(digest, new byte[0]);
+
+        byte[] seed = new byte[PREHASH_SEED_LENGTH];
+        digest.doFinal(seed, 0);
+
+        byte[] blockBytes = new byte[BLOCK_BYTES];
+        try {
+            for (int lane = 0; lane < lanes; lane++) {
+                for (int index = 0; index < 2; index++) {
+                    writeLittleEndian(seed, PREHASH_DIGEST_LENGTH, index);
+                    writeLittleEndian(seed, PREHASH_DIGEST_LENGTH + 4, lane);
+                    variableLengthHash(seed, blockBytes);
+                    loadBlock(blockBytes, blockOffset(lane, index));
+                }
+            }
+        } finally {
+            Arrays.fill(seed, (byte) 0);
+            Arrays.fill(blockBytes, (byte) 0);
+        }
+    }
+
+    private void fillMemory() {
+        for (int pass = 0; pass < settings.iterations(); pass++) {
+            for (int slice = 0; slice < SYNC_POINTS; slice++) {
+                fillSlice(pass, slice);
+            }
+        }
+    }
+
+    private void fillSlice(int pass, int slice) {
+        if (lanes == 1) {
+            fillSegment(pass, 0, slice);
+            return;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(lanes - 1);
+        for (int lane = 1; lane < lanes; lane++) {
+            int currentLane = lane;
+            tasks.add(lanePool.submit(() -> fillSegment(pass, currentLane, slice)));
+        }
+        fillSegment(pass, 0, slice);
+        tasks.forEach(ForkJoinTask::join);
+    }
+
+    private void fillSegment(int pass, int lane, int slice) {
+        boolean dataIndependent = pass == 0 && slice < SYNC_POINTS / 2;
+        long[][] scratch = {new long[BLOCK_WORDS], new long[BLOCK_WORDS]};
+        long[] zeroBlock = null;
+        long[] addressBlock = null;
+        long[] inputBlock = null;
+
+        int startingIndex = pass == 0 && slice == 0 ? 2 : 0;
+        if (dataIndependent) {
+            zeroBlock = new long[BLOCK_WORDS];
+            addressBlock = new long[BLOCK_WORDS];
+            inputBlock = new long[BLOCK_WORDS];
+            inputBlock[0] = pass;
+            inputBlock[1] = lane;
+            inputBlock[2] = slice;
+            inputBlock[3] = (long) laneLength * lanes;
+            inputBlock[4] = settings.iterations();
+            inputBlock[5] = TYPE_ID;
+            if (startingIndex == 2) {
+                nextAddresses(zeroBlock, inputBlock, addressBlock, scratch);
+            }
+        }
+
+        int currentOffset = lane * laneLength + slice * segmentLength + startingIndex;
+        int previousOffset = currentOffset % laneLength == 0 ? currentOffset + laneLength - 1 : currentOffset - 1;
+
+        for (int index = startingIndex; index < segmentLength; index++, currentOffset++, previousOffset++) {
+            if (currentOffset % laneLength == 1) {
+                previousOffset = currentOffset - 1;
+            }
+
+            long pseudoRandom;
+            if (dataIndependent) {
+                if (index % BLOCK_WORDS == 0) {
+                    nextAddresses(zeroBlock, inputBlock, addressBlock, scratch);
+                }
+                pseudoRandom = addressBlock[index % BLOCK_WORDS];
+            } else {
+                pseudoRandom = memory[previousOffset * BLOCK_WORDS];
+            }
+
+            int referenceLane = pass == 0 && slice == 0
+                    ? lane
+                    : (int) Long.remainderUnsigned(pseudoRandom >>> 32, lanes);
+            int referenceIndex = referenceIndex(pass, slice, index, pseudoRandom & 0xFFFFFFFFL, referenceLane == lane);
+            int referenceOffset = referenceLane * laneLength + referenceIndex;
+
+            compress(memory, previousOffset * BLOCK_WORDS, memory, referenceOffset * BLOCK_WORDS,
+                    currentOffset * BLOCK_WORDS, pass > 0, scratch);
+        }
+    }
+
+    private int referenceIndex(int pass, int slice, int index, long pseudoRandom, boolean sameLane) {
+        long referenceAreaSize;
+        if (pass == 0) {
+            if (slice == 0) {
+                referenceAreaSize = index - 1;
+            } else if (sameLane) {
+                referenceAreaSize = (long) slice * segmentLength + index - 1;
+            } else {
+                referenceAreaSize = (long) slice * segmentLength + (index == 0 ? -1 : 0);
+            }
+        } else if (sameLane) {
+            referenceAreaSize = laneLength - segmentLength + index - 1;
+        } else {
+            referenceAreaSize = laneLength - segmentLength + (index == 0 ? -1 : 0);
+        }
+
+        long relativePosition = (pseudoRandom * pseudoRandom) >>> 32;
+        relativePosition = referenceAreaSize - 1 - ((referenceAreaSize * relativePosition) >>> 32);
+
+        long startPosition = pass != 0 && slice != SYNC_POINTS - 1 ? (long) (slice + 1) * segmentLength : 0;
+        return (int) ((startPosition + relativePosition) % laneLength);
+    }
+
+    private static void nextAddresses(long[] zeroBlock, long[] inputBlock, long[] addressBlock, long[][] scratch) {
+        inputBlock[6]++;
+        compress(zeroBlock, 0, inputBlock, 0, addressBlock, 0, false, scratch);
+        compress(zeroBlock, 0, addressBlock, 0, addressBlock, 0, false, scratch);
+    }
+
+    private void compress(long[] previous, int previousOffset, long[] reference, int referenceOffset,
+                          int targetOffset, boolean withXor, long[][] scratch) {
+        compress(previous, previousOffset, reference, referenceOffset, memory, targetOffset, withXor, scratch);
+    }
+
+    /**
+     * Argon2 compression function G: {@code target = P(previous ^ reference) ^ previous ^ reference},
+     * additionally XORed with the old target block on passes after the first (version 0x13).
+     * The two scratch blocks are reused across calls so a segment allocates nothing per block.
+     */
+    private static void compress(long[] previous, int previousOffset, long[] reference, int referenceOffset,
+                                 long[] target, int targetOffset, boolean withXor, long[][] scratchBlocks) {
+        long[] r = scratchBlocks[0];
+        long[] scratch = scratchBlocks[1];
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+            r[i] = previous[previousOffset + i] ^ reference[referenceOffset + i];
+            scratch[i] = r[i];
+        }
+
+        for (int row = 0; row < 8; row++) {
+            int base = row * 16;
+            permute(scratch, base, base + 1, base + 2, base + 3, base + 4, base + 5, base + 6, base + 7,
+                    base + 8, base + 9, base + 10, base + 11, base + 12, base + 13, base + 14, base + 15);
+        }
+        for (int column = 0; column < 8; column++) {
+            int base = column * 2;
+            permute(scratch, base, base + 1, base + 16, base + 17, base + 32, base + 33, base + 48, base + 49,
+                    base + 64, base + 65, base + 80, base + 81, base + 96, base + 97, base + 112, base + 113);
+        }
+
+        if (withXor) {
+            for (int i = 0; i < BLOCK_WORDS; i++) {
+                target[targetOffset + i] ^= scratch[i] ^ r[i];
+            }
+        } else {
+            for (int i = 0; i < BLOCK_WORDS; i++) {
+                target[targetOffset + i] = scratch[i] ^ r[i];
+            }
+        }
+    }
+
+    /**
+     * The BLAKE2b round without message words, applied to 16 words of the block. The words are held in
+     * locals for the whole round, which lets the JIT keep them in registers.
+     */
+    private static void permute(long[] v, int i0, int i1, int i2, int i3, int i4, int i5, int i6, int i7,
+                                int i8, int i9, int i10, int i11, int i12, int i13, int i14, int i15) {
+        long v0 = v[i0], v1 = v[i1], v2 = v[i2], v3 = v[i3];
+        long v4 = v[i4], v5 = v[i5], v6 = v[i6], v7 = v[i7];
+        long v8 = v[i8], v9 = v[i9], v10 = v[i10], v11 = v[i11];
+        long v12 = v[i12], v13 = v[i13], v14 = v[i14], v15 = v[i15];
+
+        // Columns
+        v0 = multiplyAdd(v0, v4); v12 = Long.rotateRight(v12 ^ v0, 32);
+        v8 = multiplyAdd(v8, v12); v4 = Long.rotateRight(v4 ^ v8, 24);
+        v0 = multiplyAdd(v0, v4); v12 = Long.rotateRight(v12 ^ v0, 16);
+        v8 = multiplyAdd(v8, v12); v4 = Long.rotateRight(v4 ^ v8, 63);
+
+        v1 = multiplyAdd(v1, v5); v13 = Long.rotateRight(v13 ^ v1, 32);
+        v9 = multiplyAdd(v9, v13); v5 = Long.rotateRight(v5 ^ v9, 24);
+        v1 = multiplyAdd(v1, v5); v13 = Long.rotateRight(v13 ^ v1, 16);
+        v9 = multiplyAdd(v9, v13); v5 = Long.rotateRight(v5 ^ v9, 63);
+
+        v2 = multiplyAdd(v2, v6); v14 = Long.rotateRight(v14 ^ v2, 32);
+        v10 = multiplyAdd(v10, v14); v6 = Long.rotateRight(v6 ^ v10, 24);
+        v2 = multiplyAdd(v2, v6); v14 = Long.rotateRight(v14 ^ v2, 16);
+        v10 = multiplyAdd(v10, v14); v6 = Long.rotateRight(v6 ^ v10, 63);
+
+        v3 = multiplyAdd(v3, v7); v15 = Long.rotateRight(v15 ^ v3, 32);
+        v11 = multiplyAdd(v11, v15); v7 = Long.rotateRight(v7 ^ v11, 24);
+        v3 = multiplyAdd(v3, v7); v15 = Long.rotateRight(v15 ^ v3, 16);
+        v11 = multiplyAdd(v11, v15); v7 = Long.rotateRight(v7 ^ v11, 63);
+
+        // Diagonals
+        v0 = multiplyAdd(v0, v5); v15 = Long.rotateRight(v15 ^ v0, 32);
+        v10 = multiplyAdd(v10, v15); v5 = Long.rotateRight(v5 ^ v10, 24);
+        v0 = multiplyAdd(v0, v5); v15 = Long.rotateRight(v15 ^ v0, 16);
+        v10 = multiplyAdd(v10, v15); v5 = Long.rotateRight(v5 ^ v10, 63);
+
+        v1 = multiplyAdd(v1, v6); v12 = Long.rotateRight(v12 ^ v1, 32);
+        v11 = multiplyAdd(v11, v12); v6 = Long.rotateRight(v6 ^ v11, 24);
+        v1 = multiplyAdd(v1, v6); v12 = Long.rotateRight(v12 ^ v1, 16);
+        v11 = multiplyAdd(v11, v12); v6 = Long.rotateRight(v6 ^ v11, 63);
+
+        v2 = multiplyAdd(v2, v7); v13 = Long.rotateRight(v13 ^ v2, 32);
+        v8 = multiplyAdd(v8, v13); v7 = Long.rotateRight(v7 ^ v8, 24);
+        v2 = multiplyAdd(v2, v7); v13 = Long.rotateRight(v13 ^ v2, 16);
+        v8 = multiplyAdd(v8, v13); v7 = Long.rotateRight(v7 ^ v8, 63);
+
+        v3 = multiplyAdd(v3, v4); v14 = Long.rotateRight(v14 ^ v3, 32);
+        v9 = multiplyAdd(v9, v14); v4 = Long.rotateRight(v4 ^ v9, 24);
+        v3 = multiplyAdd(v3, v4); v14 = Long.rotateRight(v14 ^ v3, 16);
+        v9 = multiplyAdd(v9, v14); v4 = Long.rotateRight(v4 ^ v9, 63);
+
+        v[i0] = v0; v[i1] = v1; v[i2] = v2; v[i3] = v3;
+        v[i4] = v4; v[i5] = v5; v[i6] = v6; v[i7] = v7;
+        v[i8] = v8; v[i9] = v9; v[i10] = v10; v[i11] = v11;
+        v[i12] = v12; v[i13] = v13; v[i14] = v14; v[i15] = v15;
+    }
+
+    private static long multiplyAdd(long x, long y) {
+        return x + y + (((x & 0xFFFFFFFFL) * (y & 0xFFFFFFFFL)) << 1);
+    }
+
+    private void finish(byte[] output) {
+        long[] finalBlock = new long[BLOCK_WORDS];
+        byte[] finalBytes = new byte[BLOCK_BYTES];
+        try {
+            for (int lane = 0; lane < lanes; lane++) {
+                int lastBlock = blockOffset(lane, laneLength - 1);
+                for (int i = 0; i < BLOCK_WORDS; i++) {
+                    finalBlock[i] ^= memory[lastBlock + i];
+                }
+            }
+            for (int i = 0; i < BLOCK_WORDS; i++) {
+                writeLittleEndian(finalBytes, i * Long.BYTES, finalBlock[i]);
+            }
+            variableLengthHash(finalBytes, output);
+        } finally {
+            Arrays.fill(finalBlock, 0L);
+            Arrays.fill(finalBytes, (byte) 0);
+        }
+    }
+
+    /**
+     * Variable-length hash H' from RFC 9106, section 3.3.
+     */
+    private static void variableLengthHash(byte[] input, byte[] output) {
+        byte[] lengthPrefix = new byte[4];
+        writeLittleEndian(lengthPrefix, 0, output.length);
+
+        if (output.length <= PREHASH_DIGEST_LENGTH) {
+            Blake2bDigest digest = new Blake2bDigest(output.length * 8);
+            digest.update(lengthPrefix, 0, lengthPrefix.length);
+            digest.update(input, 0, input.length);
+            digest.doFinal(output, 0);
+            return;
+        }
+
+        int halfDigest = PREHASH_DIGEST_LENGTH / 2;
+        int rounds = (output.length + halfDigest - 1) / halfDigest - 2;
+        byte[] value = new byte[PREHASH_DIGEST_LENGTH];
+
+        Blake2bDigest digest = new Blake2bDigest(PREHASH_DIGEST_LENGTH * 8);
+        digest.update(lengthPrefix, 0, lengthPrefix.length);
+        digest.update(input, 0, input.length);
+        digest.doFinal(value, 0);
+        System.arraycopy(value, 0, output, 0, halfDigest);
+
+        int position = halfDigest;
+        for (int round = 1; round < rounds; round++, position += halfDigest) {
+            digest.update(value, 0, value.length);
+            digest.doFinal(value, 0);
+            System.arraycopy(value, 0, output, position, halfDigest);
+        }
+
+        int remaining = output.length - position;
+        Blake2bDigest lastDigest = new Blake2bDigest(remaining * 8);
+        lastDigest.update(value, 0, value.length);
+        lastDigest.doFinal(output, position);
+        Arrays.fill(value, (byte) 0);
+    }
+
+    private int blockOffset(int lane, int index) {
+        return (lane * laneLength + index) * BLOCK_WORDS;
+    }
+
+    private void loadBlock(byte[] bytes, int offset) {
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+            long word = 0;
+            for (int b = Long.BYTES - 1; b >= 0; b--) {
+                word = (word << 8) | (bytes[i * Long.BYTES + b] & 0xFFL);
+            }
+            memory[offset + i] = word;
+        }
+    }
+
+    private static void updateWithLength(Blake2bDigest digest, byte[] data) {
+        updateLittleEndian(digest, data.length);
+        digest.update(data, 0, data.length);
+    }
+
+    private static void updateLittleEndian(Blake2bDigest digest, int value) {
+        byte[] bytes = new byte[4];
+        writeLittleEndian(bytes, 0, value);
+        digest.update(bytes, 0, bytes.length);
+    }
+
+    private static void writeLittleEndian(byte[] target, int offset, int value) {
+        for (int i = 0; i < Integer.BYTES; i++) {
+            target[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private static void writeLittleEndian(byte[] target, int offset, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            target[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+}
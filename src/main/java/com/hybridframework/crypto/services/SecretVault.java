@@ -0,0 +1,230 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.crypto.utils.EnvironmentCryptoManager;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Suite-scoped store of decrypted secrets.
+ * <p>
+ * Each declared secret is decrypted once per JVM and copied into a direct (off-heap) {@link ByteBuffer}
+ * as UTF-16 characters, so page objects get O(1) lookups without repeating decryption on every test and
+ * without the plaintext living in long-lived heap objects. Secrets are served either as a read-only
+ * {@link CharSequence} view over the off-heap memory or as a {@code char[]} copy that the caller should
+ * clear after use. All buffers are zeroed on {@link #close()}, which also runs at JVM shutdown.
+ */
+public final class SecretVault implements AutoCloseable {
+
+    private static final Logger logger = LoggerUtils.getLogger(SecretVault.class);
+    private static final Object lock = new Object();
+    private static final AtomicBoolean shutdownHookRegistered = new AtomicBoolean();
+    private static volatile SecretVault instance;
+
+    private final String aliasName;
+    private final String environmentSecretKeyType;
+    private final Map<String, CharBuffer> secrets = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private SecretVault(String aliasName, String environmentSecretKeyType) {
+        this.aliasName = aliasName;
+        this.environmentSecretKeyType = environmentSecretKeyType;
+    }
+
+    /**
+     * Returns the JVM-wide vault, decrypting any of the given secrets it does not hold yet.
+     * Secrets already in the vault are never decrypted again.
+     *
+     * @param aliasName                the environment alias holding the encrypted values
+     * @param environmentSecretKeyType the secret key variable in the base environment
+     * @param secretNames              the secrets the caller needs
+     * @return the initialized vault
+     */
+    public static SecretVault initialize(String aliasName, String environmentSecretKeyType, String... secretNames) {
+        SecretVault current = instance;
+        if (current != null && current.holdsAll(aliasName, environmentSecretKeyType, secretNames)) {
+            return current;
+        }
+
+        synchronized (lock) {
+            if (instance == null || instance.closed) {
+                instance = new SecretVault(aliasName, environmentSecretKeyType);
+                registerShutdownHook();
+            } else if (!instance.aliasName.equals(aliasName)
+                    || !instance.environmentSecretKeyType.equals(environmentSecretKeyType)) {
+                throw new IllegalStateException("Secret vault is already bound to alias '" + instance.aliasName + "'");
+            }
+
+            instance.load(secretNames);
+            return instance;
+        }
+    }
+
+    /**
+     * Starts {@link #initialize} on the {@link CryptoExecutor} and returns at once, so decryption can overlap
+     * with slow startup work such as launching a browser. Join the future, ideally through
+     * {@link CryptoExecutor#join}, where the secrets are first needed.
+     *
+     * @param aliasName                the environment alias holding the encrypted values
+     * @param environmentSecretKeyType the secret key variable in the base environment
+     * @param secretNames              the secrets to decrypt
+     * @return a future completed with the initialized vault
+     */
+    public static CompletableFuture<SecretVault> prefetch(String aliasName, String environmentSecretKeyType,
+                                                          String... secretNames) {
+        SecretVault current = instance;
+        if (current != null && current.holdsAll(aliasName, environmentSecretKeyType, secretNames)) {
+            return CompletableFuture.completedFuture(current);
+        }
+        logger.info("Prefetching {} secret(s) for alias '{}'", secretNames.length, aliasName);
+        return CryptoExecutor.submit(() -> initialize(aliasName, environmentSecretKeyType, secretNames));
+    }
+
+    /**
+     * Returns the JVM-wide vault.
+     *
+     * @throws IllegalStateException if {@link #initialize} has not been called or the vault was closed
+     */
+    public static SecretVault getInstance() {
+        SecretVault current = instance;
+        if (current == null || current.closed) {
+            throw new IllegalStateException("Secret vault not initialized. Call initialize first.");
+        }
+        return current;
+    }
+
+    public static boolean isInitialized() {
+        SecretVault current = instance;
+        return current != null && !current.closed;
+    }
+
+    /**
+     * Returns a read-only view over the off-heap secret. Calling {@code toString()} on the view copies the
+     * secret onto the heap, so pass the view itself wherever a {@link CharSequence} is accepted.
+     *
+     * @param secretName the secret to look up
+     * @return a read-only character view of the secret
+     */
+    public CharSequence getSecret(String secretName) {
+        return lookup(secretName).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a heap copy of the secret. Callers should clear the array once it is no longer needed.
+     *
+     * @param secretName the secret to look up
+     * @return a new array holding the secret
+     */
+    public char[] getSecretChars(String secretName) {
+        CharBuffer view = lookup(secretName).duplicate();
+        char[] copy = new char[view.remaining()];
+        view.get(copy);
+        return copy;
+    }
+
+    public boolean containsSecret(String secretName) {
+        return !closed && secrets.containsKey(secretName);
+    }
+
+    public Set<String> getSecretNames() {
+        return Collections.unmodifiableSet(secrets.keySet());
+    }
+
+    /**
+     * Zeroes every secret buffer. Views handed out earlier will read as empty characters afterwards.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            secrets.values().forEach(SecretVault::zeroize);
+            secrets.clear();
+            logger.info("Secret vault closed and cleared");
+        }
+    }
+
+    /**
+     * Registers one hook for the JVM that closes whichever vault is current at shutdown, however many times
+     * the vault is recreated.
+     */
+    private static void registerShutdownHook() {
+        if (shutdownHookRegistered.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                SecretVault current = instance;
+                if (current != null) {
+                    current.close();
+                }
+            }, "secret-vault-shutdown"));
+        }
+    }
+
+    private boolean holdsAll(String alias, String secretKeyType, String... secretNames) {
+        if (closed || !aliasName.equals(alias) || !environmentSecretKeyType.equals(secretKeyType)) {
+            return false;
+        }
+        for (String secretName : secretNames) {
+            if (!secrets.containsKey(secretName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void load(String... secretNames) {
+        String[] missing = Arrays.stream(secretNames)
+                .filter(secretName -> !secrets.containsKey(secretName))
+                .distinct()
+                .toArray(String[]::new);
+        if (missing.length == 0) {
+            return;
+        }
+
+        try {
+            Map<String, String> decrypted = EnvironmentCryptoManager.decryptEnvironmentVariablesInParallel(
+                    aliasName, environmentSecretKeyType, missing);
+            decrypted.forEach((secretName, value) -> secrets.put(secretName, toOffHeap(value)));
+            logger.info("Secret vault loaded {} secret(s) for alias '{}'", missing.length, aliasName);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "load", "Failed to load secrets into vault");
+            throw error;
+        }
+    }
+
+    private CharBuffer lookup(String secretName) {
+        if (closed) {
+            throw new IllegalStateException("Secret vault has been closed");
+        }
+        CharBuffer secret = secrets.get(secretName);
+        if (secret == null) {
+            throw new IllegalArgumentException("Secret '" + secretName + "' is not held by the vault");
+        }
+        return secret;
+    }
+
+    private static CharBuffer toOffHeap(CharSequence value) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(value.length() * Character.BYTES);
+        CharBuffer chars = buffer.asCharBuffer();
+        chars.append(value);
+        chars.flip();
+        return chars;
+    }
+
+    private static void zeroize(CharBuffer secret) {
+        for (int i = 0; i < secret.capacity(); i++) {
+            secret.put(i, '\0');
+        }
+    }
+}
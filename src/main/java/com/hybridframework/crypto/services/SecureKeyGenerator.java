@@ -2,10 +2,14 @@ package com.hybridframework.crypto.services;
 
 import com.hybridframework.crypto.utils.CryptoConstants;
 import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
 
 import static com.hybridframework.crypto.utils.InputValidator.validateKeySize;
 import static com.hybridframework.crypto.utils.InputValidator.validateSize;
@@ -13,6 +17,7 @@ import static com.hybridframework.crypto.utils.InputValidator.validateSize;
 
 public class SecureKeyGenerator {
 
+    private static final Logger logger = LoggerUtils.getLogger(SecureKeyGenerator.class);
     private static final ThreadLocal<SecureRandom> SECURE_RANDOM = ThreadLocal.withInitial(SecureRandom::new);
     private static final String IV_PARAMETER = "IV";
     private static final String SALT_PARAMETER = "Salt";
@@ -97,6 +102,84 @@ public class SecureKeyGenerator {
         }
     }
 
+    /**
+     * Calibrates Argon2 settings against the default target latency
+     * ({@link CryptoConstants#ARGON2_CALIBRATION_TARGET_MILLIS}).
+     */
+    public static Argon2Settings calibrateArgon2Settings() {
+        return calibrateArgon2Settings(Duration.ofMillis(CryptoConstants.ARGON2_CALIBRATION_TARGET_MILLIS.getIntValue()));
+    }
+
+    /**
+     * Measures Argon2 derivations on this machine and picks settings whose derivation takes roughly the
+     * target latency. Memory is raised first, doubling while the measured time stays within the target and
+     * the Argon2 memory budget allows it, then the remaining time is spent on iterations. The result never
+     * drops below {@link CryptoConstants#ARGON2_MIN_MEMORY} and {@link CryptoConstants#ARGON2_MIN_ITERATIONS},
+     * even when the target is too low to reach with them.
+     * <p>
+     * The settings are written into each ciphertext header, so ciphertexts produced with different
+     * calibrations decrypt on any machine.
+     *
+     * @param targetLatency the intended duration of one derivation
+     * @return the calibrated settings
+     */
+    public static Argon2Settings calibrateArgon2Settings(Duration targetLatency) {
+        try {
+            if (targetLatency == null || targetLatency.isNegative() || targetLatency.isZero()) {
+                throw new IllegalArgumentException("Target latency must be positive");
+            }
+
+            long targetNanos = targetLatency.toNanos();
+            int parallelism = CryptoConstants.ARGON2_PARALLELISM.getIntValue();
+            int minIterations = CryptoConstants.ARGON2_MIN_ITERATIONS.getIntValue();
+            int memoryCeiling = (int) Math.min(CryptoConstants.ARGON2_MAX_MEMORY.getIntValue(),
+                    Argon2MemoryBudget.getTotalBudgetMB() * 1024L);
+
+            Argon2Settings settings = new Argon2Settings(minIterations,
+                    Math.max(CryptoConstants.ARGON2_MIN_MEMORY.getIntValue(), 8 * parallelism), parallelism);
+
+            // Warm up once so the first measurement is not dominated by JIT compilation
+            measureDerivation(settings);
+            long elapsedNanos = measureDerivation(settings);
+
+            while (settings.memoryKB() <= memoryCeiling / 2 && elapsedNanos * 2 <= targetNanos) {
+                settings = new Argon2Settings(settings.iterations(), settings.memoryKB() * 2, parallelism);
+                elapsedNanos = measureDerivation(settings);
+            }
+
+            long nanosPerIteration = Math.max(1, elapsedNanos / settings.iterations());
+            int iterations = (int) Math.max(minIterations, Math.min(
+                    CryptoConstants.ARGON2_MAX_ITERATIONS.getIntValue(), targetNanos / nanosPerIteration));
+            settings = new Argon2Settings(iterations, settings.memoryKB(), parallelism);
+
+            if (elapsedNanos > targetNanos) {
+                logger.warn("Argon2 security floors exceed the {} ms target on this machine", targetLatency.toMillis());
+            }
+            logger.info("Calibrated Argon2 settings {} for a {} ms target (about {} ms per derivation)",
+                    settings.encode(), targetLatency.toMillis(), nanosPerIteration * iterations / 1_000_000);
+            return settings;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "calibrateArgon2Settings", "Failed to calibrate Argon2 settings");
+            throw error;
+        }
+    }
+
+    private static long measureDerivation(Argon2Settings settings) {
+        byte[] password = generateRandomBytes(CryptoConstants.AES_SECRET_KEY_SIZE.getIntValue());
+        byte[] salt = generateSalt();
+        byte[] output = new byte[CryptoConstants.AES_SECRET_KEY_SIZE.getIntValue()];
+        try {
+            return Argon2MemoryBudget.runWithinBudget(settings.memoryKB(), () -> {
+                long start = System.nanoTime();
+                ParallelArgon2Generator.generateBytes(password, salt, settings, output);
+                return System.nanoTime() - start;
+            });
+        } finally {
+            Arrays.fill(password, (byte) 0);
+            Arrays.fill(output, (byte) 0);
+        }
+    }
+
     private static byte[] generateRandomBytes(int size) {
         try {
             if (size < 0) {
@@ -0,0 +1,407 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.crypto.CryptoException;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import static com.hybridframework.crypto.services.SecureKeyGenerator.generateSalt;
+
+/**
+ * Segmented, authenticated AES-GCM encryption for files, in constant memory.
+ * <pre>
+ * header:  magic (1) | version (1) | segment size (4) | salt (32) | nonce prefix (7)
+ * body:    segment 0 | segment 1 | ... | last segment      (each: ciphertext + 16 byte tag)
+ * </pre>
+ * The file key is derived from the secret key and the per-file salt with HKDF-SHA256. Each segment holds
+ * {@code segment size} bytes of plaintext except the last, which may be shorter or empty, and is encrypted
+ * with the nonce {@code nonce prefix | segment index (4) | last segment flag (1)}. The header is the
+ * additional authenticated data of every segment. Reordering, dropping or appending segments, or truncating
+ * the file at a segment boundary, therefore fails authentication.
+ * <p>
+ * Files are read and written through {@link FileChannel}s one segment at a time, so memory use does not
+ * depend on file size. {@link #openDecryptingStream(SecretKey, Path)} lets readers such as
+ * {@code ExcelConfigManager} and {@code JsonReader} consume an encrypted file without a plaintext copy on disk.
+ */
+public class StreamingFileCrypto {
+
+    private static final Logger logger = LoggerUtils.getLogger(StreamingFileCrypto.class);
+
+    private static final byte[] HKDF_STREAM_INFO =
+            CryptoConstants.HKDF_STREAM_INFO.getStringValue().getBytes(StandardCharsets.UTF_8);
+    private static final int TAG_SIZE = CryptoConstants.GCM_TAG_LENGTH.getIntValue() / 8;
+    private static final int NONCE_SIZE = 12;
+    private static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final long MAX_SEGMENTS = 1L << 32;
+
+    private StreamingFileCrypto() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    private record StreamHeader(int segmentSize, byte[] salt, byte[] noncePrefix, byte[] encoded) {
+
+        static int size() {
+            return 2 + Integer.BYTES + CryptoConstants.SALT_KEY_SIZE.getIntValue()
+                    + CryptoConstants.STREAM_NONCE_PREFIX_SIZE.getIntValue();
+        }
+
+        static StreamHeader create(int segmentSize) {
+            byte[] salt = generateSalt();
+            byte[] noncePrefix = SecureKeyGenerator.generateIv(CryptoConstants.STREAM_NONCE_PREFIX_SIZE.getIntValue());
+            byte[] encoded = ByteBuffer.allocate(size())
+                    .put((byte) CryptoConstants.STREAM_MAGIC.getIntValue())
+                    .put((byte) CryptoConstants.STREAM_VERSION.getIntValue())
+                    .putInt(segmentSize)
+                    .put(salt)
+                    .put(noncePrefix)
+                    .array();
+            return new StreamHeader(segmentSize, salt, noncePrefix, encoded);
+        }
+
+        static StreamHeader parse(byte[] encoded) {
+            ByteBuffer buffer = ByteBuffer.wrap(encoded);
+            if (buffer.get() != (byte) CryptoConstants.STREAM_MAGIC.getIntValue()
+                    || buffer.get() != (byte) CryptoConstants.STREAM_VERSION.getIntValue()) {
+                throw new IllegalArgumentException("File is not in the streaming encryption format");
+            }
+
+            int segmentSize = buffer.getInt();
+            validateSegmentSize(segmentSize);
+
+            byte[] salt = new byte[CryptoConstants.SALT_KEY_SIZE.getIntValue()];
+            byte[] noncePrefix = new byte[CryptoConstants.STREAM_NONCE_PREFIX_SIZE.getIntValue()];
+            buffer.get(salt);
+            buffer.get(noncePrefix);
+            return new StreamHeader(segmentSize, salt, noncePrefix, encoded);
+        }
+
+        byte[] nonce(long segmentIndex, boolean lastSegment) {
+            return ByteBuffer.allocate(NONCE_SIZE)
+                    .put(noncePrefix)
+                    .putInt((int) segmentIndex)
+                    .put((byte) (lastSegment ? 1 : 0))
+                    .array();
+        }
+    }
+
+    /**
+     * Encrypts a file with the default segment size ({@link CryptoConstants#STREAM_SEGMENT_SIZE}).
+     */
+    public static void encryptFile(SecretKey key, Path source, Path target) throws CryptoException {
+        encryptFile(key, source, target, CryptoConstants.STREAM_SEGMENT_SIZE.getIntValue());
+    }
+
+    /**
+     * Encrypts a file segment by segment. The target is written to a temporary file next to it and moved
+     * into place once complete, so a failed run never leaves a partial target behind.
+     *
+     * @param key         the secret key
+     * @param source      the plaintext file
+     * @param target      the encrypted file to create or replace
+     * @param segmentSize plaintext bytes per segment
+     */
+    public static void encryptFile(SecretKey key, Path source, Path target, int segmentSize) throws CryptoException {
+        validateInput(key, "Secret Key");
+        validateInput(source, "Source");
+        validateInput(target, "Target");
+        validateSegmentSize(segmentSize);
+
+        Path temporary = temporaryFileFor(target);
+        StreamHeader header = StreamHeader.create(segmentSize);
+        SecretKeySpec fileKey = CryptoService.deriveKeyWithHkdf(key, header.salt(), HKDF_STREAM_INFO);
+
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            long segments = Math.max(1, (input.size() + segmentSize - 1) / segmentSize);
+            if (segments > MAX_SEGMENTS) {
+                throw new IllegalArgumentException("File is too large for segment size " + segmentSize);
+            }
+
+            writeFully(output, ByteBuffer.wrap(header.encoded()));
+            ByteBuffer plainText = ByteBuffer.allocate(segmentSize);
+            ByteBuffer cipherText = ByteBuffer.allocate(segmentSize + TAG_SIZE);
+
+            try {
+                for (long index = 0; index < segments; index++) {
+                    boolean lastSegment = index == segments - 1;
+                    plainText.clear();
+                    readFully(input, plainText);
+                    if (!lastSegment && plainText.hasRemaining()) {
+                        throw new IOException("Source file changed while it was being encrypted: " + source);
+                    }
+                    plainText.flip();
+
+                    Cipher cipher = AesGcmCipherProvider.forEncryption(fileKey, header.nonce(index, lastSegment));
+                    cipher.updateAAD(header.encoded());
+                    cipherText.clear();
+                    cipher.doFinal(plainText, cipherText);
+                    cipherText.flip();
+                    writeFully(output, cipherText);
+                }
+            } finally {
+                Arrays.fill(plainText.array(), (byte) 0);
+            }
+            output.force(true);
+            logger.info("Encrypted '{}' into {} segment(s)", source, segments);
+        } catch (Exception error) {
+            AesGcmCipherProvider.discard();
+            deleteQuietly(temporary);
+            ErrorHandler.logError(error, "encryptFile", "Failed to encrypt file: " + source);
+            throw new CryptoException("File encryption failed", error);
+        }
+
+        moveIntoPlace(temporary, target);
+    }
+
+    /**
+     * Decrypts a file into a plaintext file. Prefer {@link #openDecryptingStream(SecretKey, Path)} when the
+     * plaintext only needs to be read.
+     */
+    public static void decryptFile(SecretKey key, Path source, Path target) throws CryptoException {
+        validateInput(target, "Target");
+        Path temporary = temporaryFileFor(target);
+
+        try (InputStream plainText = openDecryptingStream(key, source)) {
+            Files.copy(plainText, temporary, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception error) {
+            deleteQuietly(temporary);
+            ErrorHandler.logError(error, "decryptFile", "Failed to decrypt file: " + source);
+            throw new CryptoException("File decryption failed", error);
+        }
+
+        moveIntoPlace(temporary, target);
+    }
+
+    /**
+     * Opens an encrypted file for reading as plaintext. Segments are decrypted and authenticated one at a
+     * time as the stream is read; a segment that fails authentication surfaces as an {@link IOException}
+     * from {@code read}, before any of its bytes are returned.
+     *
+     * @param key    the secret key
+     * @param source the encrypted file
+     * @return a stream of the plaintext, which must be closed by the caller
+     */
+    public static InputStream openDecryptingStream(SecretKey key, Path source) throws CryptoException {
+        validateInput(key, "Secret Key");
+        validateInput(source, "Source");
+
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(source, StandardOpenOption.READ);
+            return new DecryptingInputStream(key, channel);
+        } catch (Exception error) {
+            closeQuietly(channel);
+            ErrorHandler.logError(error, "openDecryptingStream", "Failed to open encrypted file: " + source);
+            throw new CryptoException("Failed to open encrypted file", error);
+        }
+    }
+
+    /**
+     * Checks whether a file starts with the streaming format header.
+     */
+    public static boolean isEncryptedFile(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer prefix = ByteBuffer.allocate(2);
+            channel.read(prefix, 0);
+            return prefix.position() == 2
+                    && prefix.get(0) == (byte) CryptoConstants.STREAM_MAGIC.getIntValue()
+                    && prefix.get(1) == (byte) CryptoConstants.STREAM_VERSION.getIntValue();
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "isEncryptedFile", "Failed to inspect file: " + path);
+            return false;
+        }
+    }
+
+    private static final class DecryptingInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final StreamHeader header;
+        private final SecretKeySpec fileKey;
+        private final long segments;
+        private final int lastSegmentLength;
+        private final ByteBuffer cipherText;
+        private final ByteBuffer plainText;
+
+        private long nextSegment;
+        private long position;
+        private boolean closed;
+
+        DecryptingInputStream(SecretKey key, FileChannel channel) throws IOException {
+            this.channel = channel;
+
+            ByteBuffer encodedHeader = ByteBuffer.allocate(StreamHeader.size());
+            readFully(channel, encodedHeader, 0);
+            if (encodedHeader.hasRemaining()) {
+                throw new IOException("Encrypted file is shorter than its header");
+            }
+            this.header = StreamHeader.parse(encodedHeader.array());
+            this.position = StreamHeader.size();
+
+            int cipherSegmentSize = header.segmentSize() + TAG_SIZE;
+            long bodySize = channel.size() - position;
+            this.segments = Math.max(1, (bodySize + cipherSegmentSize - 1) / cipherSegmentSize);
+            long lastLength = bodySize - (segments - 1) * cipherSegmentSize;
+            if (lastLength < TAG_SIZE || segments > MAX_SEGMENTS) {
+                throw new IOException("Encrypted file is truncated or malformed");
+            }
+            this.lastSegmentLength = (int) lastLength;
+
+            this.fileKey = CryptoService.deriveKeyWithHkdf(key, header.salt(), HKDF_STREAM_INFO);
+            this.cipherText = ByteBuffer.allocate(cipherSegmentSize);
+            this.plainText = ByteBuffer.allocate(header.segmentSize());
+            this.plainText.limit(0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (length == 0) {
+                return 0;
+            }
+            while (!plainText.hasRemaining()) {
+                if (nextSegment == segments) {
+                    return -1;
+                }
+                decryptNextSegment();
+            }
+
+            int count = Math.min(length, plainText.remaining());
+            plainText.get(buffer, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return closed ? 0 : plainText.remaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Arrays.fill(plainText.array(), (byte) 0);
+            plainText.limit(0);
+            channel.close();
+        }
+
+        private void decryptNextSegment() throws IOException {
+            boolean lastSegment = nextSegment == segments - 1;
+            cipherText.clear();
+            cipherText.limit(lastSegment ? lastSegmentLength : cipherText.capacity());
+            readFully(channel, cipherText, position);
+            if (cipherText.hasRemaining()) {
+                throw new IOException("Encrypted file is truncated at segment " + nextSegment);
+            }
+            cipherText.flip();
+
+            try {
+                Cipher cipher = AesGcmCipherProvider.forDecryption(fileKey, header.nonce(nextSegment, lastSegment));
+                cipher.updateAAD(header.encoded());
+                plainText.clear();
+                cipher.doFinal(cipherText, plainText);
+                plainText.flip();
+            } catch (GeneralSecurityException error) {
+                AesGcmCipherProvider.discard();
+                plainText.limit(0);
+                throw new IOException("Segment " + nextSegment + " failed authentication", error);
+            }
+
+            position += cipherText.limit();
+            nextSegment++;
+        }
+    }
+
+    private static void validateSegmentSize(int segmentSize) {
+        if (segmentSize < 1 || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size must be between 1 and " + MAX_SEGMENT_SIZE + " bytes");
+        }
+    }
+
+    private static void validateInput(Object input, String inputType) {
+        if (input == null) {
+            throw new IllegalArgumentException(inputType + " cannot be null");
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+            // keep reading until the buffer is full or the file ends
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        int read;
+        while (buffer.hasRemaining() && (read = channel.read(buffer, current)) != -1) {
+            current += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static Path temporaryFileFor(Path target) {
+        return target.resolveSibling(target.getFileName() + ".tmp");
+    }
+
+    private static void moveIntoPlace(Path temporary, Path target) throws CryptoException {
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException error) {
+            deleteQuietly(temporary);
+            ErrorHandler.logError(error, "moveIntoPlace", "Failed to move file into place: " + target);
+            throw new CryptoException("Failed to write " + target, error);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException error) {
+            logger.warn("Failed to delete temporary file '{}'", path);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException error) {
+            logger.warn("Failed to close file channel");
+        }
+    }
+}
@@ -10,10 +10,29 @@ public enum CryptoConstants {
     ARGON2_ITERATIONS(3),
     ARGON2_MEMORY(65536),  // 65536 -> 64 MB and 32768 -> 32 MB
     ARGON2_PARALLELISM(4),
+    ARGON2_MAX_MEMORY(262144),  // 256 MB ceiling for calibration and for parameters read from ciphertext headers
+    ARGON2_MAX_ITERATIONS(10),  // same ceiling for iterations
+    ARGON2_MAX_PARALLELISM(16),
+    ARGON2_MEMORY_BUDGET_PERCENT(25),  // share of max heap available to concurrent derivations
+    ARGON2_MIN_ITERATIONS(2),  // calibration floor
+    ARGON2_MIN_MEMORY(19456),  // calibration floor, 19 MB
+    ARGON2_CALIBRATION_TARGET_MILLIS(500),
     AES_SECRET_KEY_SIZE(32),
     IV_KEY_SIZE(16),
     SALT_KEY_SIZE(32),
-    HMAC_KEY_SIZE(32);
+    HMAC_KEY_SIZE(32),
+    HKDF_INFO("HybridFramework-AES-GCM-v1"),
+    ENVELOPE_MAGIC(0xA7),
+    ENVELOPE_VERSION(2),  // version 2 adds the key id
+    ENVELOPE_VERSION_WITHOUT_KEY_ID(1),
+    KEY_ID_SIZE(8),
+    STREAM_MAGIC(0xA9),
+    STREAM_VERSION(1),
+    STREAM_SEGMENT_SIZE(65536),  // plaintext bytes per authenticated segment
+    STREAM_NONCE_PREFIX_SIZE(7),
+    HKDF_STREAM_INFO("HybridFramework-AES-GCM-STREAM-v1"),
+    DERIVED_KEY_CACHE_MAX_ENTRIES(64),
+    DERIVED_KEY_CACHE_TTL_SECONDS(1800);  // 30 minutes
 
     private final Object value;
 
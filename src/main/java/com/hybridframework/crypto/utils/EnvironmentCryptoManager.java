@@ -3,7 +3,12 @@ package com.hybridframework.crypto.utils;
 import com.hybridframework.config.environments.EnvironmentConfigManager;
 import com.hybridframework.config.environments.EnvironmentFileAlias;
 import com.hybridframework.config.environments.EnvironmentFilePaths;
+import com.hybridframework.config.environments.EnvironmentFileStore;
+import com.hybridframework.crypto.services.Argon2Settings;
 import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.KeyRing;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.utils.Base64Utils;
 import com.hybridframework.utils.FileUtils;
 import com.hybridframework.utils.logging.ErrorHandler;
 import com.hybridframework.utils.logging.LoggerUtils;
@@ -12,22 +17,43 @@ import org.bouncycastle.crypto.CryptoException;
 
 import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class EnvironmentCryptoManager {
 
     private static final Logger logger = LoggerUtils.getLogger(EnvironmentCryptoManager.class);
+    private static final String ARGON2_SETTINGS_SUFFIX = "_ARGON2_SETTINGS";
+    private static final String PREVIOUS_KEY_SUFFIX = "_PREVIOUS";
+
+    /**
+     * Key variables whose keys have already been registered in the {@link KeyRing}.
+     */
+    private static final Set<String> registeredKeyVariables = ConcurrentHashMap.newKeySet();
 
     private EnvironmentCryptoManager() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
 
+    /**
+     * Encrypts several variables in parallel and writes them back in a single update of the file.
+     */
     public static void encryptEnvironmentVariables(
             String filePath,
             String aliasName,
@@ -35,9 +61,24 @@ public class EnvironmentCryptoManager {
             String... envVariables
     ) throws CryptoException {
         try {
-            for (String envVariable : envVariables) {
-                encryptEnvironmentVariables(filePath, aliasName, environmentSecretKeyType, envVariable);
+            SecretKey secretKey = getSecretKey(EnvironmentFileAlias.BASE.getEnvironmentAlias(), environmentSecretKeyType);
+            Optional<Argon2Settings> argon2Settings = getArgon2Settings(environmentSecretKeyType);
+
+            Map<String, String> encryptedValues = runInParallel(envVariables, envVariable ->
+                    encryptValue(secretKey, argon2Settings, envVariable, getEnvironmentVariable(aliasName, envVariable)));
+
+            updateEnvironmentVariables(filePath, encryptedValues);
+            logger.info("Variables {} encrypted successfully.", encryptedValues.keySet());
+        } catch (ExecutionException error) {
+            ErrorHandler.logError(error.getCause(), "encryptEnvironmentVariables", "Failed to encrypt multiple variables");
+            if (error.getCause() instanceof CryptoException cryptoException) {
+                throw cryptoException;
             }
+            throw new RuntimeException(error.getCause());
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            ErrorHandler.logError(error, "encryptEnvironmentVariables", "Interrupted while encrypting variables");
+            throw new RuntimeException(error);
         } catch (Exception error) {
             ErrorHandler.logError(error, "encryptEnvironmentVariables", "Failed to encrypt multiple variables");
             throw error;
@@ -50,15 +91,7 @@ public class EnvironmentCryptoManager {
             String environmentSecretKeyType,
             String envVariable
     ) throws CryptoException {
-        try {
-            String encryptedValue = encryptValue(environmentSecretKeyType, getEnvironmentVariable(aliasName, envVariable));
-            updateEnvironmentVariable(filePath, envVariable, encryptedValue);
-            logger.info("Variable '{}' encrypted successfully.", envVariable);
-
-        } catch (Exception error) {
-            ErrorHandler.logError(error, "encryptEnvironmentVariables", "Failed to encrypt variable: " + envVariable);
-            throw error;
-        }
+        encryptEnvironmentVariables(filePath, aliasName, environmentSecretKeyType, new String[]{envVariable});
     }
 
     private static String getEnvironmentVariable(String aliasName, String envVariable) {
@@ -74,15 +107,22 @@ public class EnvironmentCryptoManager {
         }
     }
 
-    private static String encryptValue(String environmentSecretKeyType, String envValue) throws CryptoException {
+    private static String encryptValue(
+            SecretKey secretKey,
+            Optional<Argon2Settings> argon2Settings,
+            String envVariable,
+            String envValue
+    ) throws CryptoException {
         try {
-            String encryptedValue = CryptoService.encrypt(getSecretKey(EnvironmentFileAlias.BASE.getEnvironmentAlias(), environmentSecretKeyType), envValue);
+            String encryptedValue = argon2Settings.isPresent()
+                    ? CryptoService.encrypt(secretKey, envValue, argon2Settings.get())
+                    : CryptoService.encrypt(secretKey, envValue);
             if (encryptedValue == null) {
-                throw new IllegalArgumentException("Failed to encrypt value for variable: " + envValue);
+                throw new IllegalArgumentException("Failed to encrypt value for variable: " + envVariable);
             }
             return encryptedValue;
         } catch (Exception error) {
-            ErrorHandler.logError(error, "encryptValue", "Failed to encrypt value for variable: " + envValue);
+            ErrorHandler.logError(error, "encryptValue", "Failed to encrypt value for variable: " + envVariable);
             throw error;
         }
     }
@@ -102,6 +142,41 @@ public class EnvironmentCryptoManager {
         }
     }
 
+    /**
+     * Saves calibrated Argon2 settings next to a secret key. Values encrypted with that key afterwards use
+     * Argon2id with these settings instead of the default HKDF derivation.
+     *
+     * @param baseEnvironmentFilePath the base environment file
+     * @param secretKeyVariable       the secret key variable the settings belong to
+     * @param argon2Settings          the settings, usually from {@code SecureKeyGenerator.calibrateArgon2Settings()}
+     */
+    public static void saveArgon2SettingsInBaseEnvironment(
+            String baseEnvironmentFilePath,
+            String secretKeyVariable,
+            Argon2Settings argon2Settings
+    ) throws IOException {
+        try {
+            ensureBaseEnvironmentFileExists();
+            updateEnvironmentVariable(baseEnvironmentFilePath, secretKeyVariable + ARGON2_SETTINGS_SUFFIX,
+                    argon2Settings.encode());
+            logger.info("Argon2 settings {} saved for secret key '{}'", argon2Settings.encode(), secretKeyVariable);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "saveArgon2SettingsInBaseEnvironment", "Failed to save Argon2 settings in base environment");
+            throw error;
+        }
+    }
+
+    private static Optional<Argon2Settings> getArgon2Settings(String environmentSecretKeyType) {
+        try {
+            return EnvironmentConfigManager.getConfiguration(EnvironmentFileAlias.BASE.getEnvironmentAlias())
+                    .getEnvironmentKey(environmentSecretKeyType + ARGON2_SETTINGS_SUFFIX, String.class)
+                    .map(Argon2Settings::parse);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "getArgon2Settings", "Failed to read Argon2 settings for " + environmentSecretKeyType);
+            throw error;
+        }
+    }
+
     private static void ensureBaseEnvironmentFileExists() throws IOException {
         try {
             FileUtils.createDirIfNotExists(EnvironmentFilePaths.getDirectoryPath());
@@ -116,89 +191,305 @@ public class EnvironmentCryptoManager {
     }
 
     private static void updateEnvironmentVariable(String filePath, String envVariable, String value) {
-        try {
-            Path path = Paths.get(filePath);
-            List<String> updatedLines = updateEnvironmentLines(Files.readAllLines(path), envVariable, value);
+        updateEnvironmentVariables(filePath, Map.of(envVariable, value));
+    }
 
-            Files.write(path, updatedLines);
-            logger.info("Environment variable '{}' updated in {}", envVariable, filePath);
+    /**
+     * Applies all updates in one locked commit of the file; see {@link EnvironmentFileStore}.
+     */
+    private static void updateEnvironmentVariables(String filePath, Map<String, String> values) {
+        try {
+            EnvironmentFileStore.forFile(filePath).update(values);
+            logger.info("Environment variables {} updated in {}", values.keySet(), filePath);
         } catch (IOException error) {
-            ErrorHandler.logError(error, "updateEnvironmentVariable", "Failed to update environment variable: " + envVariable);
+            ErrorHandler.logError(error, "updateEnvironmentVariables", "Failed to update environment variables: " + values.keySet());
             throw new RuntimeException(error);
         }
     }
 
-    private static List<String> updateEnvironmentLines(
-            List<String> existingLines,
-            String envVariable,
-            String value
+    public static List<String> decryptEnvironmentVariables(
+            String aliasName,
+            String environmentSecretKeyType,
+            String... requiredKeys
     ) {
+        if (requiredKeys == null || requiredKeys.length == 0) {
+            return Collections.emptyList();
+        }
+
         try {
-            boolean[] isUpdated = {false};
-
-            List<String> updatedLines = existingLines.stream()
-                    .map(line -> {
-                        if (line.startsWith(envVariable + "=")) {
-                            isUpdated[0] = true;
-                            return envVariable + "=" + value;
-                        }
-                        return line;
-                    })
+            SecretKey secretKey = getSecretKey(EnvironmentFileAlias.BASE.getEnvironmentAlias(), environmentSecretKeyType);
+            Optional<SecretKey> previousKey = getPreviousSecretKey(EnvironmentFileAlias.BASE.getEnvironmentAlias(), environmentSecretKeyType);
+            return Arrays.stream(requiredKeys)
+                    .map(key -> decryptSingleKey(aliasName, secretKey, previousKey, key))
                     .collect(Collectors.toList());
-
-            if (!isUpdated[0]) {
-                updatedLines.add(envVariable + "=" + value);
-            }
-
-            return updatedLines;
         } catch (Exception error) {
-            ErrorHandler.logError(error, "updateEnvironmentLines", "Failed to update environment lines");
             throw new RuntimeException(error);
         }
     }
 
-    public static List<String> decryptEnvironmentVariables(
+    /**
+     * Decrypts several variables concurrently, resolving the secret key once for the whole batch.
+     * Work runs on a fixed pool sized to the smaller of the batch and the available processors; Argon2
+     * derivations are additionally gated by {@link com.hybridframework.crypto.services.Argon2MemoryBudget}.
+     *
+     * @param aliasName                the environment alias holding the encrypted values
+     * @param environmentSecretKeyType the secret key variable in the base environment
+     * @param requiredKeys             the variables to decrypt, each named once
+     * @return decrypted values keyed by variable name, in the requested order
+     * @throws IllegalArgumentException if a variable is named more than once, since the result could not
+     *                                  hold one value per requested position
+     */
+    public static Map<String, String> decryptEnvironmentVariablesInParallel(
             String aliasName,
             String environmentSecretKeyType,
             String... requiredKeys
     ) {
         if (requiredKeys == null || requiredKeys.length == 0) {
-            return Collections.emptyList();
+            return Collections.emptyMap();
         }
 
+        SecretKey secretKey = getSecretKey(EnvironmentFileAlias.BASE.getEnvironmentAlias(), environmentSecretKeyType);
+        Optional<SecretKey> previousKey = getPreviousSecretKey(EnvironmentFileAlias.BASE.getEnvironmentAlias(), environmentSecretKeyType);
         try {
-            return Arrays.stream(requiredKeys)
-                    .map(key -> decryptSingleKey(aliasName, getSecretKey(EnvironmentFileAlias.BASE.getEnvironmentAlias(), environmentSecretKeyType), key))
-                    .collect(Collectors.toList());
-        } catch (Exception error) {
+            return runInParallel(requiredKeys, key -> decryptSingleKey(aliasName, secretKey, previousKey, key));
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            ErrorHandler.logError(error, "decryptEnvironmentVariablesInParallel", "Interrupted while decrypting variables");
+            throw new RuntimeException(error);
+        } catch (ExecutionException error) {
+            ErrorHandler.logError(error.getCause(), "decryptEnvironmentVariablesInParallel", "Failed to decrypt variables");
+            throw new RuntimeException(error.getCause());
+        }
+    }
+
+    /**
+     * Rotates a secret key: generates a new key, decrypts every affected variable with the old key and
+     * re-encrypts it with the new one in parallel, then writes the environment file once and reloads the
+     * configurations loaded from either file.
+     * <p>
+     * The new key is saved first, with the old key kept as {@code <KEY>_PREVIOUS}, and both are registered in
+     * the {@link KeyRing}; saving the values first could leave them under a key that was never written down.
+     * If the run stops before the environment file is written, values tagged with the old key id are resolved
+     * through the key ring, and untagged values are decrypted with {@code <KEY>_PREVIOUS} once the current key
+     * fails. The next rotation re-encrypts every value still under {@code <KEY>_PREVIOUS} as well as under the
+     * current key, so nothing is left behind when {@code <KEY>_PREVIOUS} is replaced.
+     *
+     * @param baseEnvironmentFilePath the base environment file holding the secret key
+     * @param environmentFilePath     the environment file holding the encrypted values
+     * @param secretKeyVariable       the secret key variable to rotate
+     * @param envVariables            the variables to re-encrypt; when empty, every value tagged with the old
+     *                                or previous key id is re-encrypted, and so is every untagged (legacy or
+     *                                version 1) ciphertext that decrypts with either key, since no key ring
+     *                                lookup is possible for those and they would be lost once it is replaced
+     * @return the id of the new key
+     */
+    public static String rotateSecretKey(
+            String baseEnvironmentFilePath,
+            String environmentFilePath,
+            String secretKeyVariable,
+            String... envVariables
+    ) throws CryptoException {
+        try {
+            SecretKey oldKey = getSecretKey(EnvironmentFileAlias.BASE.getEnvironmentAlias(), secretKeyVariable);
+            String oldKeyId = KeyRing.register(oldKey);
+            Optional<SecretKey> previousKey = getPreviousSecretKey(EnvironmentFileAlias.BASE.getEnvironmentAlias(), secretKeyVariable);
+            Set<String> rotatedKeyIds = new HashSet<>(Set.of(oldKeyId));
+            previousKey.map(KeyRing::register).ifPresent(rotatedKeyIds::add);
+            Optional<Argon2Settings> argon2Settings = getArgon2Settings(secretKeyVariable);
+
+            EnvironmentFileStore environmentFile = EnvironmentFileStore.forFile(environmentFilePath);
+            environmentFile.refresh();
+            Map<String, String> currentValues = environmentFile.getValues();
+            Set<String> untagged = new HashSet<>();
+            String[] targets = envVariables.length > 0
+                    ? envVariables
+                    : selectRotationTargets(currentValues, rotatedKeyIds, untagged);
+
+            SecretKey newKey = SecureKeyGenerator.generateSecretKey();
+            String newKeyId = KeyRing.register(newKey);
+
+            Map<String, String> reEncrypted = runInParallel(targets, envVariable -> {
+                String encryptedValue = currentValues.get(envVariable);
+                if (encryptedValue == null) {
+                    throw new IllegalArgumentException("Environment variable '" + envVariable + "' not found in " + environmentFilePath);
+                }
+                String plainText;
+                try {
+                    plainText = decryptWithFallback(oldKey, previousKey, encryptedValue);
+                } catch (CryptoException error) {
+                    if (!untagged.contains(envVariable)) {
+                        throw error;
+                    }
+                    // Untagged values carry no key id, so one that does not decrypt was never under these keys
+                    logger.warn("Skipping '{}': it does not decrypt with key {} or the previous key", envVariable, oldKeyId);
+                    return null;
+                }
+                return encryptValue(newKey, argon2Settings, envVariable, plainText);
+            });
+            reEncrypted.values().removeIf(Objects::isNull);
+
+            Map<String, String> keyUpdates = new LinkedHashMap<>();
+            keyUpdates.put(secretKeyVariable, Base64Utils.encodeSecretKey(newKey));
+            keyUpdates.put(secretKeyVariable + PREVIOUS_KEY_SUFFIX, Base64Utils.encodeSecretKey(oldKey));
+            updateEnvironmentVariables(baseEnvironmentFilePath, keyUpdates);
+            if (!reEncrypted.isEmpty()) {
+                updateEnvironmentVariables(environmentFilePath, reEncrypted);
+            }
+
+            Set<Path> writtenFiles = new HashSet<>(List.of(EnvironmentFileStore.forFile(baseEnvironmentFilePath).getPath(), environmentFile.getPath()));
+            EnvironmentConfigManager.getLoadedConfigurationAliases().stream()
+                    .filter(alias -> writtenFiles.contains(EnvironmentConfigManager.getConfiguration(alias).getEnvironmentFilePath()))
+                    .toList()
+                    .forEach(EnvironmentConfigManager::reloadConfiguration);
+            logger.info("Rotated secret key '{}' from {} to {}, re-encrypting {} variable(s)",
+                    secretKeyVariable, oldKeyId, newKeyId, reEncrypted.size());
+            return newKeyId;
+        } catch (ExecutionException error) {
+            ErrorHandler.logError(error.getCause(), "rotateSecretKey", "Failed to re-encrypt variables");
+            if (error.getCause() instanceof CryptoException cryptoException) {
+                throw cryptoException;
+            }
+            throw new RuntimeException(error.getCause());
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            ErrorHandler.logError(error, "rotateSecretKey", "Interrupted while rotating secret key");
+            throw new RuntimeException(error);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "rotateSecretKey", "Failed to read environment file: " + environmentFilePath);
             throw new RuntimeException(error);
         }
     }
 
+    /**
+     * Returns every ciphertext tagged with one of the given key ids, and every untagged one, which is also added
+     * to {@code untagged} since only a trial decryption can tell whether it was written with one of those keys.
+     */
+    private static String[] selectRotationTargets(Map<String, String> values, Set<String> keyIds, Set<String> untagged) {
+        List<String> targets = new ArrayList<>();
+        values.forEach((envVariable, value) -> {
+            if (!CryptoService.isCiphertext(value)) {
+                return;
+            }
+            Optional<String> keyId = KeyRing.keyIdOfCiphertext(value);
+            if (keyId.isEmpty()) {
+                untagged.add(envVariable);
+                targets.add(envVariable);
+            } else if (keyIds.contains(keyId.get())) {
+                targets.add(envVariable);
+            }
+        });
+        return targets.toArray(String[]::new);
+    }
+
+    @FunctionalInterface
+    private interface VariableTask {
+        String apply(String envVariable) throws Exception;
+    }
+
+    /**
+     * Runs a task per variable on a fixed pool sized to the smaller of the batch and the available
+     * processors, returning results in the given order. Duplicate names are rejected rather than collapsed.
+     */
+    private static Map<String, String> runInParallel(String[] envVariables, VariableTask task)
+            throws InterruptedException, ExecutionException {
+        if (envVariables.length == 0) {
+            return Collections.emptyMap();
+        }
+        rejectDuplicates(envVariables);
+
+        int poolSize = Math.min(envVariables.length, Runtime.getRuntime().availableProcessors());
+        try (ExecutorService executor = Executors.newFixedThreadPool(poolSize)) {
+            Map<String, Future<String>> pending = new LinkedHashMap<>();
+            for (String envVariable : envVariables) {
+                pending.put(envVariable, executor.submit(() -> task.apply(envVariable)));
+            }
+
+            Map<String, String> results = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<String>> entry : pending.entrySet()) {
+                results.put(entry.getKey(), entry.getValue().get());
+            }
+            return results;
+        }
+    }
+
+    private static void rejectDuplicates(String[] envVariables) {
+        Set<String> seen = new HashSet<>();
+        Set<String> duplicates = Arrays.stream(envVariables)
+                .filter(envVariable -> !seen.add(envVariable))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!duplicates.isEmpty()) {
+            throw new IllegalArgumentException("Environment variables named more than once: " + duplicates);
+        }
+    }
+
     public static String decryptEnvironmentVariable(
             String aliasName,
             String environmentSecretKeyType,
             String requiredKey
     ) {
         try {
-            return decryptSingleKey(aliasName, getSecretKey(EnvironmentFileAlias.BASE.getEnvironmentAlias(), environmentSecretKeyType), requiredKey);
+            String baseAlias = EnvironmentFileAlias.BASE.getEnvironmentAlias();
+            return decryptSingleKey(aliasName, getSecretKey(baseAlias, environmentSecretKeyType),
+                    getPreviousSecretKey(baseAlias, environmentSecretKeyType), requiredKey);
         } catch (Exception error) {
             throw new RuntimeException(error);
         }
     }
 
+    /**
+     * Returns the secret key and makes sure it, and the key it replaced during the last rotation, are in the
+     * {@link KeyRing}.
+     */
     public static SecretKey getSecretKey(String aliasName, String environmentSecretKeyType) {
         try {
-            return EnvironmentConfigManager.getSecretKeyFromCache(aliasName, environmentSecretKeyType);
+            SecretKey secretKey = EnvironmentConfigManager.getSecretKeyFromCache(aliasName, environmentSecretKeyType);
+            if (registeredKeyVariables.add(aliasName + "/" + environmentSecretKeyType)) {
+                KeyRing.register(secretKey);
+                getPreviousSecretKey(aliasName, environmentSecretKeyType).ifPresent(KeyRing::register);
+            }
+            return secretKey;
         } catch (Exception error) {
             throw new RuntimeException(error);
         }
     }
 
-    private static String decryptSingleKey(String aliasName, SecretKey secretKey, String key) {
+    /**
+     * Returns the key a secret key replaced during its last rotation, saved as {@code <KEY>_PREVIOUS}.
+     */
+    private static Optional<SecretKey> getPreviousSecretKey(String aliasName, String environmentSecretKeyType) {
+        try {
+            return EnvironmentConfigManager.getConfiguration(aliasName)
+                    .getEnvironmentKey(environmentSecretKeyType + PREVIOUS_KEY_SUFFIX, String.class)
+                    .map(Base64Utils::decodeSecretKey);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "getPreviousSecretKey", "Failed to read previous key of " + environmentSecretKeyType);
+            throw error;
+        }
+    }
+
+    /**
+     * Decrypts with the current key and, for an untagged value it does not open, with the previous key. Untagged
+     * values carry no key id for the {@link KeyRing} to resolve, and are still under the previous key when a
+     * rotation stopped between saving the new key and writing the re-encrypted values.
+     */
+    private static String decryptWithFallback(SecretKey secretKey, Optional<SecretKey> previousKey, String encryptedValue)
+            throws CryptoException {
         try {
-            String encryptedValue = EnvironmentConfigManager.getEnvironmentKeyFromCache(aliasName, key);
             return CryptoService.decrypt(secretKey, encryptedValue);
+        } catch (CryptoException error) {
+            if (previousKey.isEmpty() || KeyRing.keyIdOfCiphertext(encryptedValue).isPresent()) {
+                throw error;
+            }
+            String plainText = CryptoService.decrypt(previousKey.get(), encryptedValue);
+            logger.warn("Value decrypted with the previous key; rotate the key again to re-encrypt it");
+            return plainText;
+        }
+    }
+
+    private static String decryptSingleKey(String aliasName, SecretKey secretKey, Optional<SecretKey> previousKey, String key) {
+        try {
+            String encryptedValue = EnvironmentConfigManager.getEnvironmentKeyFromCache(aliasName, key);
+            return decryptWithFallback(secretKey, previousKey, encryptedValue);
         } catch (CryptoException error) {
             ErrorHandler.logError(error, "decryptKeys", "Failed to decrypt key: " + key);
             throw new RuntimeException(error);
@@ -0,0 +1,54 @@
+package com.hybridframework.crypto.utils;
+
+/**
+ * Key derivation functions supported by the versioned ciphertext envelope.
+ * <p>
+ * The header id is written into every envelope so ciphertexts stay decryptable when the default changes.
+ */
+public enum KeyDerivationFunction {
+
+    /**
+     * Memory-hard derivation, intended for low-entropy secrets such as passwords.
+     */
+    ARGON2ID((byte) 0x01),
+
+    /**
+     * Fast extract-and-expand derivation, suitable for full-entropy keys such as generated AES keys.
+     */
+    HKDF_SHA256((byte) 0x02);
+
+    private final byte headerId;
+
+    KeyDerivationFunction(byte headerId) {
+        this.headerId = headerId;
+    }
+
+    public byte getHeaderId() {
+        return headerId;
+    }
+
+    /**
+     * Resolves the derivation function stored in an envelope header.
+     *
+     * @param headerId the id read from the header
+     * @return the matching derivation function
+     * @throws IllegalArgumentException if the id is unknown
+     */
+    public static KeyDerivationFunction fromHeaderId(byte headerId) {
+        for (KeyDerivationFunction function : values()) {
+            if (function.headerId == headerId) {
+                return function;
+            }
+        }
+        throw new IllegalArgumentException("Unknown key derivation function id: " + headerId);
+    }
+
+    public static boolean isKnownHeaderId(byte headerId) {
+        for (KeyDerivationFunction function : values()) {
+            if (function.headerId == headerId) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
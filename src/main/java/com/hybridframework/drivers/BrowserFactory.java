@@ -15,10 +15,13 @@ public class BrowserFactory {
 
     public synchronized void initializeBrowser(String browserName, String... arguments) {
         try {
-            WebDriver driver = createDriver(browserName, arguments);
             DriverFactory driverFactory = DriverFactory.getInstance();
 
-            if (driverFactory != null) {
+            if (driverFactory != null && driverFactory.isSessionPoolEnabled()) {
+                driverFactory.checkoutDriver(WebDriverSessionPool.sessionKey(browserName, arguments),
+                        () -> createDriver(browserName, arguments));
+            } else if (driverFactory != null) {
+                WebDriver driver = createDriver(browserName, arguments);
                 driverFactory.setDriver(driver);
             } else {
                 logger.warn("DriverFactory instance is null. WebDriver will not be stored.");
@@ -34,6 +37,24 @@ public class BrowserFactory {
         }
     }
 
+    /**
+     * Starts browsers in the background so the first tests find them ready, when the session pool is enabled.
+     * Tests initializing the same browser with the same arguments take them over.
+     *
+     * @param browserName the browser
+     * @param count       sessions to start
+     * @param arguments   the launch arguments the tests will use
+     */
+    public void prewarmBrowsers(String browserName, int count, String... arguments) {
+        DriverFactory driverFactory = DriverFactory.getInstance();
+        if (!driverFactory.isSessionPoolEnabled()) {
+            logger.info("Session pool disabled, not pre-warming {} browsers", browserName);
+            return;
+        }
+        driverFactory.prewarmSessions(WebDriverSessionPool.sessionKey(browserName, arguments), count,
+                () -> createDriver(browserName, arguments));
+    }
+
     private WebDriver createDriver(String browserName, String... arguments) {
         try {
             return switch (browserName.toLowerCase()) {
@@ -1,11 +1,16 @@
 package com.hybridframework.drivers;
 
+import com.hybridframework.config.properties.ConfigKey;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.config.properties.PropertiesFileAlias;
 import com.hybridframework.utils.dynamicWaits.ImplicitWaitUtils;
 import com.hybridframework.utils.logging.ErrorHandler;
 import com.hybridframework.utils.logging.LoggerUtils;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 
+import java.util.function.Supplier;
+
 public class DriverFactory {
 
     private static final Logger logger = LoggerUtils.getLogger(DriverFactory.class);
@@ -13,6 +18,11 @@ public class DriverFactory {
 
     private static final ThreadLocal<WebDriver> threadLocalDriver = new ThreadLocal<>();
 
+    /**
+     * Sessions reused across tests when {@code ENABLE_DRIVER_POOL} is set, created on first checkout.
+     */
+    private volatile WebDriverSessionPool sessionPool;
+
     private DriverFactory() {}
 
     public static DriverFactory getInstance() {
@@ -47,6 +57,9 @@ public class DriverFactory {
         try {
             WebDriver driver = threadLocalDriver.get();
             if (driver != null) {
+                if (sessionPool != null) {
+                    sessionPool.discard(driver);
+                }
                 driver.quit();  // Terminate the driver instance
                 threadLocalDriver.remove();  // Clear the ThreadLocal
                 logger.info("Driver quit and removed successfully for thread: {}", Thread.currentThread().threadId());
@@ -59,6 +72,89 @@ public class DriverFactory {
 
 
 
+    public boolean isSessionPoolEnabled() {
+        String globalAlias = PropertiesFileAlias.GLOBAL.getConfigurationAlias();
+        return PropertiesConfigManager.isConfigurationLoaded(globalAlias)
+                && PropertiesConfigManager.getConfiguration(globalAlias).get(ConfigKey.ENABLE_DRIVER_POOL);
+    }
+
+    /**
+     * Sets a pooled session as the current thread's driver, reusing an idle one when possible.
+     *
+     * @param sessionKey the browser and capabilities, see {@link WebDriverSessionPool#sessionKey(String, String...)}
+     * @param launcher   starts a new session when no idle one matches
+     */
+    public void checkoutDriver(String sessionKey, Supplier<WebDriver> launcher) {
+        try {
+            setDriver(getSessionPool().checkout(sessionKey, launcher));
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "checkoutDriver", "Failed to check out driver");
+            throw error;
+        }
+    }
+
+    /**
+     * Starts pooled sessions in the background, for tests to check out once they start.
+     *
+     * @param sessionKey the browser and capabilities, see {@link WebDriverSessionPool#sessionKey(String, String...)}
+     * @param count      sessions to start, capped at {@code DRIVER_POOL_SIZE} across all keys
+     * @param launcher   starts one session
+     */
+    public void prewarmSessions(String sessionKey, int count, Supplier<WebDriver> launcher) {
+        try {
+            getSessionPool().prewarm(sessionKey, count, launcher);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "prewarmSessions", "Failed to pre-warm sessions");
+            throw error;
+        }
+    }
+
+    /**
+     * Ends the current thread's use of its driver: a pooled session is reset and returned to the pool, any
+     * other driver is quit.
+     */
+    public void releaseDriver() {
+        try {
+            WebDriver driver = threadLocalDriver.get();
+            if (driver != null) {
+                threadLocalDriver.remove();
+                if (sessionPool == null || !sessionPool.checkin(driver)) {
+                    driver.quit();
+                }
+                logger.info("Driver released for thread: {}", Thread.currentThread().threadId());
+            }
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "releaseDriver", "Failed to release driver");
+            throw error;
+        }
+    }
+
+    /**
+     * Quits every idle pooled session.
+     */
+    public void shutdownSessionPool() {
+        if (sessionPool != null) {
+            sessionPool.shutdown();
+        }
+    }
+
+    private WebDriverSessionPool getSessionPool() {
+        WebDriverSessionPool pool = sessionPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = sessionPool;
+                if (pool == null) {
+                    PropertiesConfigManager config = PropertiesConfigManager.getConfiguration(
+                            PropertiesFileAlias.GLOBAL.getConfigurationAlias());
+                    pool = new WebDriverSessionPool(config.getInt(ConfigKey.DRIVER_POOL_SIZE),
+                            config.getInt(ConfigKey.DRIVER_MAX_SESSION_USES));
+                    sessionPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
     public void navigateToUrl(String url) {
         try{
             getDriver().get(url);
@@ -29,10 +29,13 @@ public class SeleniumGridFactory {
 
     public void initializeRemoteBrowser(String browserName, String... arguments) {
         try {
-            WebDriver driver = createRemoteDriver(browserName, arguments);
             DriverFactory driverFactory = DriverFactory.getInstance();
 
-            if (driverFactory != null) {
+            if (driverFactory != null && driverFactory.isSessionPoolEnabled()) {
+                driverFactory.checkoutDriver("remote:" + WebDriverSessionPool.sessionKey(browserName, arguments),
+                        () -> createRemoteDriver(browserName, arguments));
+            } else if (driverFactory != null) {
+                WebDriver driver = createRemoteDriver(browserName, arguments);
                 driverFactory.setDriver(driver);
             } else {
                 logger.warn("DriverFactory instance is null. WebDriver will not be stored.");
@@ -0,0 +1,374 @@
+package com.hybridframework.drivers;
+
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Live browser sessions kept between tests, so each test does not pay for a browser start.
+ * <p>
+ * Idle sessions are keyed by browser and launch arguments, and a checkout only reuses a session started with the same
+ * key. A reused session is health checked first; a session that fails the check is quit and another one tried, then a
+ * new one started. On checkin the session is reset: extra windows are closed, cookies and storage are cleared, the
+ * timeouts and window size it was started with are restored, and it is left on {@code about:blank}. Chromium sessions
+ * clear cookies for every origin and all storage of the page the test ended on through the DevTools protocol; other
+ * browsers can only clear the cookies and local and session storage of that page, so data another origin set earlier in
+ * the test survives. It is then kept idle, unless it has served its maximum number of tests, the reset failed, or the
+ * pool already holds its maximum number of idle sessions, in which case it is quit. Checkouts only wait for a session
+ * that {@link #prewarm(String, int, Supplier)} is already starting; otherwise, when no idle session matches, a new one
+ * is started.
+ */
+public final class WebDriverSessionPool {
+
+    private static final Logger logger = LoggerUtils.getLogger(WebDriverSessionPool.class);
+    private static final String BLANK_PAGE = "about:blank";
+
+    private final int maxIdleSessions;
+    private final int maxUsesPerSession;
+    private final Map<String, Deque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private final Map<WebDriver, PooledSession> checkedOutSessions = new ConcurrentHashMap<>();
+
+    /**
+     * Sessions being started ahead of the tests, each claimed by exactly one checkout.
+     */
+    private final Map<String, Queue<CompletableFuture<PooledSession>>> warmingSessions = new ConcurrentHashMap<>();
+    private final AtomicInteger warmingCount = new AtomicInteger();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicBoolean shutdownHookRegistered = new AtomicBoolean();
+
+    private static final class PooledSession {
+        private final String key;
+        private final WebDriver driver;
+        private final SessionDefaults defaults;
+        private int uses;
+
+        private PooledSession(String key, WebDriver driver) {
+            this.key = key;
+            this.driver = driver;
+            this.defaults = SessionDefaults.capture(driver);
+        }
+    }
+
+    /**
+     * Timeouts and window size a session was started with, restored between tests so one test's changes do not
+     * leak into the next.
+     */
+    private record SessionDefaults(Duration implicitWait, Duration pageLoadTimeout, Duration scriptTimeout,
+                                   Dimension windowSize) {
+
+        /**
+         * @return the session's settings, or null when the driver cannot report them
+         */
+        private static SessionDefaults capture(WebDriver driver) {
+            try {
+                WebDriver.Timeouts timeouts = driver.manage().timeouts();
+                return new SessionDefaults(timeouts.getImplicitWaitTimeout(), timeouts.getPageLoadTimeout(),
+                        timeouts.getScriptTimeout(), driver.manage().window().getSize());
+            } catch (Exception error) {
+                logger.debug("Could not read session timeouts and window size: {}", error.getMessage());
+                return null;
+            }
+        }
+
+        private void restore(WebDriver driver) {
+            driver.manage().timeouts()
+                    .implicitlyWait(implicitWait)
+                    .pageLoadTimeout(pageLoadTimeout)
+                    .scriptTimeout(scriptTimeout);
+            driver.manage().window().setSize(windowSize);
+        }
+    }
+
+    /**
+     * @param maxIdleSessions   most sessions kept open between tests, across all keys
+     * @param maxUsesPerSession tests a session serves before it is quit and replaced
+     */
+    public WebDriverSessionPool(int maxIdleSessions, int maxUsesPerSession) {
+        this.maxIdleSessions = Math.max(0, maxIdleSessions);
+        this.maxUsesPerSession = Math.max(1, maxUsesPerSession);
+    }
+
+    /**
+     * @param browserName the browser
+     * @param arguments   the launch arguments; sessions are only shared between identical argument lists
+     * @return the key sessions are pooled under
+     */
+    public static String sessionKey(String browserName, String... arguments) {
+        return browserName.toLowerCase() + "|" + String.join(",", arguments);
+    }
+
+    /**
+     * Returns a healthy idle session for the key, or starts one.
+     *
+     * @param key      the session key, see {@link #sessionKey(String, String...)}
+     * @param launcher starts a new session when none can be reused
+     * @return a session checked out to the caller until {@link #checkin(WebDriver)}
+     */
+    public WebDriver checkout(String key, Supplier<WebDriver> launcher) {
+        Deque<PooledSession> idle = idleSessions.get(key);
+        PooledSession session;
+        while (idle != null && (session = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            if (isHealthy(session.driver)) {
+                return markCheckedOut(session);
+            }
+            logger.warn("Pooled '{}' session failed its health check and is discarded", key);
+            quit(session);
+        }
+
+        Queue<CompletableFuture<PooledSession>> warming = warmingSessions.get(key);
+        CompletableFuture<PooledSession> warmingSession;
+        while (warming != null && (warmingSession = claimWarmingSession(warming)) != null) {
+            warmingCount.decrementAndGet();
+            try {
+                // Started before this test asked for it, so waiting is never longer than a cold start
+                return markCheckedOut(warmingSession.join());
+            } catch (Exception error) {
+                logger.warn("Pre-warmed '{}' session failed to start: {}", key, error.getMessage());
+            }
+        }
+
+        registerShutdownHook();
+        logger.info("Starting new '{}' session for the pool", key);
+        return markCheckedOut(new PooledSession(key, launcher.get()));
+    }
+
+    /**
+     * Starts sessions concurrently, each on its own virtual thread, and returns without waiting for them. Each
+     * one is handed to a later {@link #checkout(String, Supplier)} for the same key, which waits for it if it is
+     * still starting.
+     *
+     * @param key      the session key, see {@link #sessionKey(String, String...)}
+     * @param count    sessions to start; capped so that sessions still starting and idle ones, across all keys,
+     *                 never exceed the pool size, since more could not be kept between tests
+     * @param launcher starts one session
+     */
+    public void prewarm(String key, int count, Supplier<WebDriver> launcher) {
+        int sessions = reserveWarmingSessions(count);
+        if (sessions < count) {
+            logger.info("Pre-warming {} of {} requested '{}' session(s); the pool holds at most {}",
+                    sessions, count, key, maxIdleSessions);
+        }
+        if (sessions <= 0) {
+            return;
+        }
+        registerShutdownHook();
+        Executor executor = task -> Thread.ofVirtual().name("browser-prewarm-" + key).start(task);
+        Queue<CompletableFuture<PooledSession>> warming =
+                warmingSessions.computeIfAbsent(key, ignored -> new ConcurrentLinkedQueue<>());
+        for (int session = 0; session < sessions; session++) {
+            warming.add(CompletableFuture.supplyAsync(() -> new PooledSession(key, launcher.get()), executor));
+        }
+        logger.info("Pre-warming {} '{}' session(s)", sessions, key);
+    }
+
+    /**
+     * Returns a session to the pool after a test, resetting it or quitting it.
+     *
+     * @param driver a session from {@link #checkout(String, Supplier)}
+     * @return false if the session did not come from this pool, in which case it is left untouched
+     */
+    public boolean checkin(WebDriver driver) {
+        PooledSession session = checkedOutSessions.remove(driver);
+        if (session == null) {
+            return false;
+        }
+
+        if (session.uses >= maxUsesPerSession) {
+            logger.info("Recycling '{}' session after {} tests", session.key, session.uses);
+            quit(session);
+        } else if (!reset(session)) {
+            quit(session);
+        } else if (idleCount.incrementAndGet() > maxIdleSessions) {
+            idleCount.decrementAndGet();
+            quit(session);
+        } else {
+            idleSessions.computeIfAbsent(session.key, ignored -> new ConcurrentLinkedDeque<>()).offerFirst(session);
+        }
+        return true;
+    }
+
+    /**
+     * Forgets a checked-out session the caller quit itself, such as after a failed test.
+     */
+    public void discard(WebDriver driver) {
+        checkedOutSessions.remove(driver);
+    }
+
+    public boolean isPooled(WebDriver driver) {
+        return checkedOutSessions.containsKey(driver);
+    }
+
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * Quits every idle session, and every pre-warmed one no test claimed, waiting for those still starting.
+     * Sessions still checked out are quit when they are checked in.
+     */
+    public void shutdown() {
+        for (Queue<CompletableFuture<PooledSession>> warming : warmingSessions.values()) {
+            CompletableFuture<PooledSession> warmingSession;
+            while ((warmingSession = warming.poll()) != null) {
+                warmingCount.decrementAndGet();
+                try {
+                    quit(warmingSession.join());
+                } catch (Exception error) {
+                    // It never started, so there is nothing to quit
+                }
+            }
+        }
+
+        List<PooledSession> sessions = new ArrayList<>();
+        for (Deque<PooledSession> idle : idleSessions.values()) {
+            PooledSession session;
+            while ((session = idle.pollFirst()) != null) {
+                idleCount.decrementAndGet();
+                sessions.add(session);
+            }
+        }
+        sessions.forEach(this::quit);
+        if (!sessions.isEmpty()) {
+            logger.info("Closed {} pooled browser session(s)", sessions.size());
+        }
+    }
+
+    /**
+     * @return how many of {@code count} sessions may start, already added to the warming count
+     */
+    private int reserveWarmingSessions(int count) {
+        while (true) {
+            int warming = warmingCount.get();
+            int sessions = Math.min(count, maxIdleSessions - warming - idleCount.get());
+            if (sessions <= 0) {
+                return 0;
+            }
+            if (warmingCount.compareAndSet(warming, warming + sessions)) {
+                return sessions;
+            }
+        }
+    }
+
+    /**
+     * Prefers a session that has finished starting over the oldest one still starting.
+     */
+    private CompletableFuture<PooledSession> claimWarmingSession(Queue<CompletableFuture<PooledSession>> warming) {
+        for (CompletableFuture<PooledSession> warmingSession : warming) {
+            if (warmingSession.isDone() && warming.remove(warmingSession)) {
+                return warmingSession;
+            }
+        }
+        return warming.poll();
+    }
+
+    private WebDriver markCheckedOut(PooledSession session) {
+        session.uses++;
+        checkedOutSessions.put(session.driver, session);
+        return session.driver;
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            // Any round trip to the browser fails once the session or its window is gone
+            return driver.getWindowHandle() != null;
+        } catch (Exception error) {
+            return false;
+        }
+    }
+
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            List<String> windows = new ArrayList<>(driver.getWindowHandles());
+            for (String window : windows.subList(1, windows.size())) {
+                driver.switchTo().window(window).close();
+            }
+            driver.switchTo().window(windows.getFirst());
+
+            if (!clearThroughDevTools(driver)) {
+                driver.manage().deleteAllCookies();
+            }
+            // Storage is per origin, so it is cleared before leaving the page the test ended on
+            if (driver instanceof JavascriptExecutor executor) {
+                executor.executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            }
+            if (session.defaults != null) {
+                session.defaults.restore(driver);
+            }
+            driver.get(BLANK_PAGE);
+            return true;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "reset", "Failed to reset pooled '" + session.key + "' session, it will be discarded");
+            return false;
+        }
+    }
+
+    /**
+     * Clears cookies of every origin, and all storage of the current page's origin, on Chromium sessions.
+     *
+     * @return false if the driver does not speak the DevTools protocol or the commands failed
+     */
+    private boolean clearThroughDevTools(WebDriver driver) {
+        if (!(driver instanceof HasCdp cdp)) {
+            return false;
+        }
+        try {
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            String origin = originOf(driver.getCurrentUrl());
+            if (origin != null) {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+            }
+            return true;
+        } catch (Exception error) {
+            logger.debug("DevTools reset failed, falling back to WebDriver: {}", error.getMessage());
+            return false;
+        }
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme())) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        } catch (Exception error) {
+            return null;
+        }
+    }
+
+    private void quit(PooledSession session) {
+        try {
+            session.driver.quit();
+        } catch (Exception error) {
+            logger.warn("Failed to quit pooled '{}' session: {}", session.key, error.getMessage());
+        }
+    }
+
+    private void registerShutdownHook() {
+        if (shutdownHookRegistered.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "webdriver-pool-shutdown"));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.hybridframework.utils.dynamicWaits;
 
+import com.hybridframework.config.properties.ConfigKey;
 import com.hybridframework.config.properties.PropertiesConfigManager;
 import com.hybridframework.config.properties.PropertiesFileAlias;
 import com.hybridframework.drivers.DriverFactory;
@@ -17,7 +18,6 @@ public class ExplicitWaitUtils {
 
     private static final Logger logger = LoggerUtils.getLogger(ExplicitWaitUtils.class);
     private static final DriverFactory driverFactory = DriverFactory.getInstance();
-    private static final String TIMEOUT_KEY = "DEFAULT_GLOBAL_TIMEOUT";
 
     private ExplicitWaitUtils() {
         throw new AssertionError("Utility class - do not instantiate");
@@ -99,8 +99,7 @@ public class ExplicitWaitUtils {
         try {
             return PropertiesConfigManager
                     .getConfiguration(PropertiesFileAlias.GLOBAL.getConfigurationAlias())
-                    .getProperty(TIMEOUT_KEY, Integer.class)
-                    .orElse(60);
+                    .getInt(ConfigKey.DEFAULT_GLOBAL_TIMEOUT);
         } catch (Exception error) {
             ErrorHandler.logError(error, "getTimeout", "Failed to retrieve timeout value");
             throw error;
@@ -1,5 +1,6 @@
 package com.hybridframework.utils.dynamicWaits;
 
+import com.hybridframework.config.properties.ConfigKey;
 import com.hybridframework.config.properties.PropertiesConfigManager;
 import com.hybridframework.config.properties.PropertiesFileAlias;
 import com.hybridframework.drivers.DriverFactory;
@@ -21,8 +22,6 @@ public class FluentWaitUtils {
 
     private static final Logger logger = LoggerUtils.getLogger(FluentWaitUtils.class);
     private static final DriverFactory driverFactory = DriverFactory.getInstance();
-    private static final String TIMEOUT_KEY = "DEFAULT_GLOBAL_TIMEOUT";
-    private static final String POLLING_KEY = "POLLING_TIMEOUT";
 
     private FluentWaitUtils() {
         throw new AssertionError("Utility class - do not instantiate");
@@ -128,8 +127,7 @@ public class FluentWaitUtils {
         try {
             return PropertiesConfigManager
                     .getConfiguration(PropertiesFileAlias.GLOBAL.getConfigurationAlias())
-                    .getProperty(TIMEOUT_KEY, Integer.class)
-                    .orElse(60);
+                    .getInt(ConfigKey.DEFAULT_GLOBAL_TIMEOUT);
         } catch (Exception error) {
             ErrorHandler.logError(error, "getTimeout", "Failed to retrieve timeout value");
             throw error;
@@ -140,8 +138,7 @@ public class FluentWaitUtils {
         try {
             return PropertiesConfigManager
                     .getConfiguration(PropertiesFileAlias.GLOBAL.getConfigurationAlias())
-                    .getProperty(POLLING_KEY, Integer.class)
-                    .orElse(1000);
+                    .getInt(ConfigKey.POLLING_TIMEOUT);
         } catch (Exception error) {
             ErrorHandler.logError(error, "getPollingTimeout", "Failed to retrieve polling timeout value");
             throw error;
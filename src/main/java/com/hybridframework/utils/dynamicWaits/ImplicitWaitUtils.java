@@ -1,5 +1,6 @@
 package com.hybridframework.utils.dynamicWaits;
 
+import com.hybridframework.config.properties.ConfigKey;
 import com.hybridframework.config.properties.PropertiesConfigManager;
 import com.hybridframework.config.properties.PropertiesFileAlias;
 import com.hybridframework.drivers.DriverFactory;
@@ -10,8 +11,6 @@ import java.time.Duration;
 
 public class ImplicitWaitUtils {
 
-    private static final String TIMEOUT_KEY = "IMPLICIT_TIMEOUT";
-
     private ImplicitWaitUtils() {
         throw new AssertionError("Utility class - do not instantiate");
     }
@@ -40,8 +39,7 @@ public class ImplicitWaitUtils {
         try {
             return PropertiesConfigManager
                     .getConfiguration(PropertiesFileAlias.GLOBAL.getConfigurationAlias())
-                    .getProperty(TIMEOUT_KEY, Integer.class)
-                    .orElse(10);
+                    .getInt(ConfigKey.IMPLICIT_TIMEOUT);
         } catch (Exception error) {
             ErrorHandler.logError(error, "getTimeout", "Failed to retrieve timeout value");
             throw error;
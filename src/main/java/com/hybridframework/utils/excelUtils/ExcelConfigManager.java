@@ -1,5 +1,6 @@
 package com.hybridframework.utils.excelUtils;
 
+import com.hybridframework.crypto.services.EncryptedValueResolver;
 import com.hybridframework.utils.logging.ErrorHandler;
 import com.hybridframework.utils.logging.LoggerUtils;
 import org.apache.logging.log4j.Logger;
@@ -8,6 +9,7 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -27,9 +29,45 @@ public class ExcelConfigManager {
      * @throws ExcelOperationException if there are issues reading the file
      */
     public static List<Map<String, String>> loadExcelDataAsList(String filePath, String sheetName) {
+        return loadExcelDataAsList(new WorkbookManager(filePath), sheetName);
+    }
+
+    /**
+     * Reads data from an Excel workbook stream and converts it to a list of maps. Use with
+     * {@code StreamingFileCrypto.openDecryptingStream} to read an encrypted workbook without writing the
+     * plaintext to disk. The caller remains responsible for closing the stream.
+     *
+     * @param inputStream The workbook content
+     * @param sheetName   The name of the sheet to read
+     * @return List of maps where each map represents a row of data
+     * @throws ExcelOperationException if there are issues reading the workbook
+     */
+    public static List<Map<String, String>> loadExcelDataAsList(InputStream inputStream, String sheetName) {
+        return loadExcelDataAsList(new WorkbookManager(inputStream), sheetName);
+    }
+
+    /**
+     * Reads data from an Excel file, decrypting cells marked with {@code ENC:} only when they are read.
+     * Loading the sheet performs no decryption; each marked cell is decrypted on its first
+     * {@code get}, and the resolver remembers the result.
+     *
+     * @param filePath  The path to the Excel file
+     * @param sheetName The name of the sheet to read
+     * @param resolver  Decrypts marked cells, e.g. {@code EncryptedValueResolver.forEnvironment("UAT_SECRET_KEY")}
+     * @return List of read-only maps where each map represents a row of data
+     * @throws ExcelOperationException if there are issues reading the file
+     */
+    public static List<Map<String, String>> loadExcelDataAsList(String filePath, String sheetName,
+                                                                EncryptedValueResolver resolver) {
+        return loadExcelDataAsList(filePath, sheetName).stream()
+                .map(resolver::resolvingView)
+                .toList();
+    }
+
+    private static List<Map<String, String>> loadExcelDataAsList(WorkbookManager workbook, String sheetName) {
         List<Map<String, String>> dataList = new ArrayList<>();
 
-        try (WorkbookManager workbookManager = new WorkbookManager(filePath)) {
+        try (WorkbookManager workbookManager = workbook) {
             Sheet sheet = workbookManager.getSheet(sheetName);
             processSheet(sheet, dataList);
         } catch (IOException error) {
@@ -6,14 +6,14 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 
 public class WorkbookManager implements AutoCloseable {
 
     private final XSSFWorkbook workbook;
 
     public WorkbookManager(String filePath) {
-        try {
-            FileInputStream fis = new FileInputStream(filePath);
+        try (FileInputStream fis = new FileInputStream(filePath)) {
             this.workbook = new XSSFWorkbook(fis);
         } catch (IOException error) {
             ErrorHandler.logError(error, "WorkbookManager", "Failed to load workbook");
@@ -21,6 +21,21 @@ public class WorkbookManager implements AutoCloseable {
         }
     }
 
+    /**
+     * Loads a workbook from a stream, such as a decrypting stream over an encrypted file.
+     * The stream is read to the end; the caller remains responsible for closing it.
+     *
+     * @param inputStream the workbook content
+     */
+    public WorkbookManager(InputStream inputStream) {
+        try {
+            this.workbook = new XSSFWorkbook(inputStream);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "WorkbookManager", "Failed to load workbook from stream");
+            throw new ExcelOperationException("Failed to load workbook from stream", error);
+        }
+    }
+
     public Sheet getSheet(String sheetName) {
         try {
             Sheet sheet = workbook.getSheet(sheetName);
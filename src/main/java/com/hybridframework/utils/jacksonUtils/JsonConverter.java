@@ -12,6 +12,7 @@ public class JsonConverter {
 
     // Initialize ObjectMapper
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static volatile boolean initialized;
 
     private JsonConverter() {}
 
@@ -24,12 +25,22 @@ public class JsonConverter {
      *     <li>Configures the mapper to not write dates as timestamps</li>
      *     <li>Sets the serialization inclusion to {@link JsonInclude.Include#NON_NULL} to exclude null fields</li>
      * </ul>
+     * Only the first call configures the mapper; later calls return immediately.
      */
     public static void initJsonMapper() {
-        Objects.requireNonNull(objectMapper).registerModule(new JavaTimeModule());
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        if (initialized) {
+            return;
+        }
+        synchronized (JsonConverter.class) {
+            if (initialized) {
+                return;
+            }
+            Objects.requireNonNull(objectMapper).registerModule(new JavaTimeModule());
+            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+            objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+            initialized = true;
+        }
     }
 
     /**
@@ -2,18 +2,21 @@ package com.hybridframework.utils.jacksonUtils;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hybridframework.crypto.services.EncryptedValueResolver;
 import com.hybridframework.utils.logging.ErrorHandler;
 import com.hybridframework.utils.logging.LoggerUtils;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Optional;
 
 public class JsonReader {
 
     private static final Logger logger = LoggerUtils.getLogger(JsonReader.class);
     private final JsonNode jsonData;
+    private final EncryptedValueResolver resolver;
 
     /**
      * Constructs a JsonReader with the specified file path.
@@ -22,7 +25,41 @@ public class JsonReader {
      * @throws JsonDataReaderException if the JSON file cannot be loaded
      */
     public JsonReader(String filePath) {
+        this(filePath, null);
+    }
+
+    /**
+     * Constructs a JsonReader that decrypts string fields marked with {@code ENC:} when they are read.
+     * Marked fields can hold any supported type; the plaintext is converted after decryption.
+     *
+     * @param filePath the path to the JSON file
+     * @param resolver decrypts marked fields, e.g. {@code EncryptedValueResolver.forEnvironment("UAT_SECRET_KEY")}
+     * @throws JsonDataReaderException if the JSON file cannot be loaded
+     */
+    public JsonReader(String filePath, EncryptedValueResolver resolver) {
         this.jsonData = loadJson(filePath);
+        this.resolver = resolver;
+    }
+
+    /**
+     * Constructs a JsonReader from a stream, such as a decrypting stream over an encrypted fixture.
+     * The stream is read to the end and closed.
+     *
+     * @param inputStream the JSON content
+     * @throws JsonDataReaderException if the JSON cannot be parsed
+     */
+    public JsonReader(InputStream inputStream) {
+        this.jsonData = loadJson(inputStream);
+        this.resolver = null;
+    }
+
+    private static JsonNode loadJson(InputStream inputStream) {
+        try {
+            return JsonConverter.getObjectMapper().readTree(inputStream);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "loadJson", "Failed to load json stream");
+            throw new JsonDataReaderException("Failed to load JSON from stream", error);
+        }
     }
 
     private static JsonNode loadJson(String filePath) {
@@ -41,6 +78,10 @@ public class JsonReader {
                 return Optional.empty();
             }
 
+            if (resolver != null && node.isTextual() && EncryptedValueResolver.isEncrypted(node.asText())) {
+                return Optional.of(convertDecrypted(resolver.resolve(node.asText()), type));
+            }
+
             if (type == Integer.class && node.isInt()) {
                 return Optional.of(type.cast(node.asInt()));
             } else if (type == Double.class && node.isDouble()) {
@@ -58,6 +99,17 @@ public class JsonReader {
         }
     }
 
+    private static <ConversionType> ConversionType convertDecrypted(String value, Class<ConversionType> type) {
+        Object convertedValue = switch (type.getSimpleName()) {
+            case "String" -> value;
+            case "Integer" -> Integer.parseInt(value);
+            case "Double" -> Double.parseDouble(value);
+            case "Boolean" -> Boolean.parseBoolean(value);
+            default -> throw new UnsupportedOperationException("Unsupported type conversion");
+        };
+        return type.cast(convertedValue);
+    }
+
     public String getString(String category, String key) {
         return getData(category, key, String.class)
                 .orElseThrow(() -> new IllegalArgumentException("Missing String value for key: " + key));
@@ -1,6 +1,7 @@
 package com.hybridframework.api.endpoints;
 
-import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.config.ConfigOverrides;
+import com.hybridframework.config.LayeredConfigResolver;
 import com.hybridframework.config.properties.PropertiesFileAlias;
 import com.hybridframework.utils.logging.ErrorHandler;
 import com.hybridframework.utils.logging.LoggerUtils;
@@ -21,19 +22,22 @@ public class Routes {
         throw new UnsupportedOperationException("Routes is a utility class and cannot be instantiated.");
     }
 
-    private static String getBaseUrl(String environmentAlias) {
-        try {
-            return PropertiesConfigManager.getPropertyKeyFromCache(environmentAlias, BASE_URL);
+    /**
+     * Resolves the base URL through the configuration layers of the given environment, so a value set in the
+     * environment's .env file or as a system property overrides the properties file.
+     *
+     * @param environment The target environment (e.g., UAT, DEV)
+     * @return the API base URL
+     */
+    public static String getBaseUrl(PropertiesFileAlias environment) {
+        try (ConfigOverrides.Scope ignored = ConfigOverrides.override(ConfigOverrides.ENVIRONMENT, environment.name())) {
+            return LayeredConfigResolver.getInstance().get(BASE_URL);
         } catch (Exception error) {
-            ErrorHandler.logError(error, "getBaseUrl", "Failed to retrieve API Base URL for " + environmentAlias);
+            ErrorHandler.logError(error, "getBaseUrl", "Failed to retrieve API Base URL for " + environment);
             throw error;
         }
     }
 
-    public static String getBaseUrl(PropertiesFileAlias environment) {
-        return getBaseUrl(environment.getConfigurationAlias());
-    }
-
     public static String getMethodOneUrl(PropertiesFileAlias environment) {
         return buildUri(ENDPOINT, environment).toString();
     }
@@ -0,0 +1,114 @@
+package com.hybridframework.crypto.cli;
+
+import com.hybridframework.config.environments.EnvironmentFilePaths;
+import com.hybridframework.config.environments.EnvironmentFileStore;
+import com.hybridframework.config.environments.EnvironmentSecretKey;
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.utils.Base64Utils;
+import com.hybridframework.utils.LegacyCiphertexts;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Runs commands against DEVELOPMENT files in a temporary {@code -DenvDirectory}, so the project's own
+ * {@code envs/} is never touched. Lives in the CLI's package because the command runner is package-private.
+ */
+public class CryptoCliTests {
+
+    private static final String LEGACY_PASSWORD = "legacy-password";
+
+    private Path directory;
+    private SecretKey secretKey;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("crypto-cli");
+        System.setProperty("envDirectory", directory.toString());
+        secretKey = SecureKeyGenerator.generateSecretKey();
+        Files.writeString(directory.resolve(EnvironmentFilePaths.BASE.getEnvironmentFilename()),
+                EnvironmentSecretKey.DEVELOPMENT.getKeyName() + "=" + Base64Utils.encodeSecretKey(secretKey) + "\n");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        System.clearProperty("envDirectory");
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testLegacyCiphertextIsNeitherReEncryptedNorSkippedByCheck() throws Exception {
+        try {
+            String legacyValue = LegacyCiphertexts.encrypt(secretKey, LEGACY_PASSWORD);
+            EnvironmentFileStore store = writeEnvironmentFile(
+                    "LEGACY_PASSWORD=" + legacyValue + "\nPORTAL_USERNAME=admin\n");
+
+            String output = run(0, "encrypt", "--all", "--env", "DEVELOPMENT");
+            Assert.assertTrue(output.contains("Skipping LEGACY_PASSWORD: already encrypted"), output);
+            Assert.assertTrue(output.contains("Encrypted 1 variable(s)"), output);
+            Assert.assertEquals(store.get("LEGACY_PASSWORD"), legacyValue);
+            Assert.assertTrue(CryptoService.isCiphertext(store.get("PORTAL_USERNAME")));
+
+            output = run(0, "decrypt-check", "--env", "DEVELOPMENT");
+            Assert.assertTrue(output.contains("OK    LEGACY_PASSWORD"), output);
+            Assert.assertTrue(output.contains("2 of 2 variable(s) decrypted"), output);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testLegacyCiphertextIsNeitherReEncryptedNorSkippedByCheck",
+                    "CLI mishandled a legacy ciphertext");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testBase64TokenIsEncryptedWhenNamedAndReportedOtherwise() throws Exception {
+        try {
+            // Decodes to 96 bytes, so it has the shape of a ciphertext without being one
+            String token = Base64Utils.encodeArray(SecureKeyGenerator.generateSalt(96));
+            EnvironmentFileStore store = writeEnvironmentFile("API_TOKEN=" + token + "\n");
+
+            String output = run(0, "encrypt", "--all", "--env", "DEVELOPMENT");
+            Assert.assertTrue(output.contains("Skipping API_TOKEN: not decryptable with DEVELOPMENT_SECRET_KEY"), output);
+            Assert.assertEquals(store.get("API_TOKEN"), token);
+
+            output = run(0, "encrypt", "API_TOKEN", "--env", "DEVELOPMENT");
+            Assert.assertTrue(output.contains("Encrypted 1 variable(s)"), output);
+            Assert.assertEquals(CryptoService.decrypt(secretKey, store.get("API_TOKEN")), token);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testBase64TokenIsEncryptedWhenNamedAndReportedOtherwise",
+                    "CLI left a plaintext token unencrypted");
+            throw error;
+        }
+    }
+
+    private EnvironmentFileStore writeEnvironmentFile(String content) throws IOException {
+        String environmentFile = EnvironmentFilePaths.DEVELOPMENT.getEnvironmentFileFullPath();
+        Files.writeString(Path.of(environmentFile), content);
+        return EnvironmentFileStore.forFile(environmentFile);
+    }
+
+    private static String run(int expectedExitCode, String... args) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+        Assert.assertEquals(new CryptoCli(new ByteArrayInputStream(new byte[0]), out, out).run(args), expectedExitCode,
+                output.toString(StandardCharsets.UTF_8));
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lives in the provider's package because the provider is package-private. Every test runs on the TestNG
+ * thread, so consecutive operations share that thread's cipher.
+ */
+public class AesGcmCipherProviderTests {
+
+    private static final byte[] PLAIN_TEXT = "thread-local-cipher".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testReusedCipherRoundTripsWithFreshIvs() throws Exception {
+        try {
+            SecretKeySpec key = newKey();
+            byte[] firstIv = SecureKeyGenerator.generateIv();
+            Cipher encryption = AesGcmCipherProvider.forEncryption(key, firstIv);
+            byte[] firstCipherText = encryption.doFinal(PLAIN_TEXT);
+
+            Cipher decryption = AesGcmCipherProvider.forDecryption(key, firstIv);
+            Assert.assertSame(decryption, encryption, "The thread's cipher should be reused");
+            Assert.assertEquals(decryption.doFinal(firstCipherText), PLAIN_TEXT);
+
+            byte[] secondIv = SecureKeyGenerator.generateIv();
+            byte[] secondCipherText = AesGcmCipherProvider.forEncryption(key, secondIv).doFinal(PLAIN_TEXT);
+            Assert.assertNotEquals(secondCipherText, firstCipherText);
+            Assert.assertEquals(AesGcmCipherProvider.forDecryption(key, secondIv).doFinal(secondCipherText), PLAIN_TEXT);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testReusedCipherRoundTripsWithFreshIvs", "Reused cipher failed a round trip");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testRepeatedIvIsRejected() throws Exception {
+        try {
+            SecretKeySpec key = newKey();
+            byte[] iv = SecureKeyGenerator.generateIv();
+            AesGcmCipherProvider.forEncryption(key, iv).doFinal(PLAIN_TEXT);
+
+            Assert.expectThrows(IllegalStateException.class, () -> AesGcmCipherProvider.forEncryption(key, iv.clone()));
+            // A fresh IV is still accepted afterwards
+            AesGcmCipherProvider.forEncryption(key, SecureKeyGenerator.generateIv()).doFinal(PLAIN_TEXT);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testRepeatedIvIsRejected", "Repeated IV was not rejected");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testDiscardAfterFailedDecryptionStartsFromNewCipher() throws Exception {
+        try {
+            SecretKeySpec key = newKey();
+            byte[] iv = SecureKeyGenerator.generateIv();
+            byte[] cipherText = AesGcmCipherProvider.forEncryption(key, iv).doFinal(PLAIN_TEXT);
+            byte[] tampered = cipherText.clone();
+            tampered[0] ^= 0x01;
+
+            Cipher failed = AesGcmCipherProvider.forDecryption(key, iv);
+            Assert.expectThrows(AEADBadTagException.class, () -> failed.doFinal(tampered));
+            AesGcmCipherProvider.discard();
+
+            Cipher recovered = AesGcmCipherProvider.forDecryption(key, iv);
+            Assert.assertNotSame(recovered, failed, "discard() should drop the failed cipher");
+            Assert.assertEquals(recovered.doFinal(cipherText), PLAIN_TEXT);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testDiscardAfterFailedDecryptionStartsFromNewCipher",
+                    "Cipher did not recover after a failed decryption");
+            throw error;
+        }
+    }
+
+    private static SecretKeySpec newKey() {
+        return new SecretKeySpec(SecureKeyGenerator.generateSalt(CryptoConstants.AES_SECRET_KEY_SIZE.getIntValue()),
+                CryptoConstants.AES_ALGORITHM.getStringValue());
+    }
+}
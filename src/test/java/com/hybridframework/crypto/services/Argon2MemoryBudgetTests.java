@@ -0,0 +1,65 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Lives in the budget's package because {@code runWithinBudget} is package-private.
+ */
+public class Argon2MemoryBudgetTests {
+
+    private static final int KB_PER_MB = 1024;
+
+    @Test
+    public void testPermitsAreHeldPerMegabyteWhileRunning() {
+        try {
+            int total = Argon2MemoryBudget.getTotalBudgetMB();
+            Assert.assertEquals(Argon2MemoryBudget.getAvailableBudgetMB(), total);
+
+            int heldForOneKB = Argon2MemoryBudget.runWithinBudget(1, Argon2MemoryBudget::getAvailableBudgetMB);
+            Assert.assertEquals(heldForOneKB, total - 1, "Any derivation holds at least one megabyte");
+
+            int heldForPartialMB = Argon2MemoryBudget.runWithinBudget(2 * KB_PER_MB + 1, Argon2MemoryBudget::getAvailableBudgetMB);
+            Assert.assertEquals(heldForPartialMB, total - 3, "Partial megabytes round up");
+
+            int heldForWholeBudget = Argon2MemoryBudget.runWithinBudget(total * KB_PER_MB, Argon2MemoryBudget::getAvailableBudgetMB);
+            Assert.assertEquals(heldForWholeBudget, 0);
+
+            Assert.assertEquals(Argon2MemoryBudget.getAvailableBudgetMB(), total);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testPermitsAreHeldPerMegabyteWhileRunning", "Budget accounting is off");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testDerivationLargerThanBudgetIsRejected() {
+        try {
+            int total = Argon2MemoryBudget.getTotalBudgetMB();
+            Assert.expectThrows(IllegalArgumentException.class, () -> Argon2MemoryBudget.runWithinBudget(
+                    total * KB_PER_MB + 1, () -> {
+                        Assert.fail("Oversized derivation should not run");
+                        return null;
+                    }));
+            Assert.assertEquals(Argon2MemoryBudget.getAvailableBudgetMB(), total);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testDerivationLargerThanBudgetIsRejected", "Oversized derivation was accepted");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testPermitsAreReleasedWhenDerivationFails() {
+        try {
+            int total = Argon2MemoryBudget.getTotalBudgetMB();
+            Assert.expectThrows(IllegalStateException.class, () -> Argon2MemoryBudget.runWithinBudget(4 * KB_PER_MB, () -> {
+                throw new IllegalStateException("derivation failed");
+            }));
+            Assert.assertEquals(Argon2MemoryBudget.getAvailableBudgetMB(), total);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testPermitsAreReleasedWhenDerivationFails", "Failed derivation kept its permits");
+            throw error;
+        }
+    }
+}
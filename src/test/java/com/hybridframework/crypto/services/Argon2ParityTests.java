@@ -0,0 +1,116 @@
+package com.hybridframework.crypto.services;
+
+import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.utils.Base64Utils;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lives in the generator's package so {@link ParallelArgon2Generator} can be compared with BouncyCastle's
+ * generator directly, not only through a decryption.
+ */
+public class Argon2ParityTests {
+
+    private static final String PLAIN_TEXT = "argon2-parity-value";
+
+    /**
+     * Iterations, memory in KB, lanes and output length: a single lane, odd lane counts, one pass and more
+     * than three, the smallest memory allowed, memory that is not a multiple of four blocks per lane, and an
+     * output longer than one BLAKE2b digest.
+     */
+    @DataProvider(name = "argon2Settings")
+    public Object[][] argon2Settings() {
+        return new Object[][]{
+                {1, 8, 1, 32},
+                {1, 64, 1, 32},
+                {3, 24, 3, 32},
+                {1, 96, 3, 32},
+                {5, 256, 1, 32},
+                {4, 1000, 5, 32},
+                {2, 100, 3, 80},
+                {6, 512, 7, 16},
+        };
+    }
+
+    @Test(dataProvider = "argon2Settings")
+    public void testGeneratorMatchesBouncyCastleByteForByte(int iterations, int memoryKB, int lanes, int outputLength) {
+        try {
+            byte[] password = SecureKeyGenerator.generateSalt(CryptoConstants.AES_SECRET_KEY_SIZE.getIntValue());
+            byte[] salt = SecureKeyGenerator.generateSalt();
+
+            Argon2BytesGenerator generator = new Argon2BytesGenerator();
+            generator.init(new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                    .withSalt(salt)
+                    .withIterations(iterations)
+                    .withMemoryAsKB(memoryKB)
+                    .withParallelism(lanes)
+                    .build());
+            byte[] expected = new byte[outputLength];
+            generator.generateBytes(password.clone(), expected);
+
+            byte[] actual = new byte[outputLength];
+            ParallelArgon2Generator.generateBytes(password, salt, new Argon2Settings(iterations, memoryKB, lanes), actual);
+
+            Assert.assertEquals(actual, expected, "t=" + iterations + " m=" + memoryKB + " p=" + lanes);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testGeneratorMatchesBouncyCastleByteForByte",
+                    "Parallel Argon2 output differs from BouncyCastle");
+            throw error;
+        }
+    }
+
+    /**
+     * Encrypts a legacy ciphertext with a key derived by BouncyCastle's single-threaded generator and checks
+     * that the framework's parallel engine derives the same key when decrypting it.
+     */
+    @Test
+    public void testParallelDerivationMatchesBouncyCastle() throws Exception {
+        try {
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            byte[] salt = SecureKeyGenerator.generateSalt();
+            byte[] iv = SecureKeyGenerator.generateIv();
+
+            Argon2Parameters parameters = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                    .withSalt(salt)
+                    .withIterations(CryptoConstants.ARGON2_ITERATIONS.getIntValue())
+                    .withMemoryAsKB(CryptoConstants.ARGON2_MEMORY.getIntValue())
+                    .withParallelism(CryptoConstants.ARGON2_PARALLELISM.getIntValue())
+                    .build();
+            Argon2BytesGenerator generator = new Argon2BytesGenerator();
+            generator.init(parameters);
+
+            byte[] derivedKey = new byte[CryptoConstants.AES_SECRET_KEY_SIZE.getIntValue()];
+            generator.generateBytes(Base64Utils.encodeArray(secretKey.getEncoded()).getBytes(StandardCharsets.UTF_8),
+                    derivedKey);
+
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE,
+                    new SecretKeySpec(derivedKey, CryptoConstants.AES_ALGORITHM.getStringValue()),
+                    new GCMParameterSpec(CryptoConstants.GCM_TAG_LENGTH.getIntValue(), iv));
+            byte[] cipherText = cipher.doFinal(PLAIN_TEXT.getBytes(StandardCharsets.UTF_8));
+
+            byte[] legacy = ByteBuffer.allocate(salt.length + iv.length + cipherText.length)
+                    .put(salt)
+                    .put(iv)
+                    .put(cipherText)
+                    .array();
+
+            Assert.assertEquals(CryptoService.decrypt(secretKey, Base64Utils.encodeArray(legacy)), PLAIN_TEXT);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testParallelDerivationMatchesBouncyCastle",
+                    "Parallel Argon2 derivation did not match BouncyCastle");
+            throw error;
+        }
+    }
+}
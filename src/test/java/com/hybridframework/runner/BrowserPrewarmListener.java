@@ -0,0 +1,75 @@
+package com.hybridframework.runner;
+
+import com.hybridframework.config.ConfigurationBootstrap;
+import com.hybridframework.config.LayeredConfigResolver;
+import com.hybridframework.config.properties.PropertiesFileAlias;
+import com.hybridframework.drivers.BrowserFactory;
+import com.hybridframework.drivers.DriverFactory;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Starts the suite's browsers in the background as soon as the suite file is parsed, so they launch while
+ * TestNG discovers tests and configuration and secrets load, instead of one by one in each test's setup.
+ * <p>
+ * One session per test thread is started concurrently for every browser the suite's tests name in their
+ * {@code browser} parameter, or for the configured browser if none do, and handed to tests through the
+ * session pool as they start. Only takes effect when {@code ENABLE_DRIVER_POOL} is set, and never with
+ * {@code -DskipBrowserSetup=true}.
+ */
+public class BrowserPrewarmListener implements IAlterSuiteListener {
+
+    private static final Logger logger = LoggerUtils.getLogger(BrowserPrewarmListener.class);
+    private static final String BROWSER_PARAMETER = "browser";
+    private static final String BROWSER = "CHROME_BROWSER";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (Boolean.getBoolean("skipBrowserSetup")) {
+            return;
+        }
+
+        // Read now: TestNG keeps working on the suites once this returns
+        Set<String> browsers = new LinkedHashSet<>();
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : suite.getTests()) {
+                String browser = test.getParameter(BROWSER_PARAMETER);
+                if (browser != null) {
+                    browsers.add(browser);
+                }
+            }
+        }
+
+        Thread.ofVirtual().name("browser-prewarm").start(() -> prewarm(browsers));
+    }
+
+    private void prewarm(Set<String> browsers) {
+        try {
+            ConfigurationBootstrap.initialize(PropertiesFileAlias.UAT.name());
+            if (!DriverFactory.getInstance().isSessionPoolEnabled()) {
+                return;
+            }
+            if (browsers.isEmpty()) {
+                browsers.add(LayeredConfigResolver.getInstance().get(BROWSER));
+            }
+
+            int sessionsPerBrowser = Math.max(1, ThreadCountCalculator.plan().threadCount() / browsers.size());
+            logger.info("Pre-warming {} session(s) each of {}", sessionsPerBrowser, browsers);
+            BrowserFactory browserFactory = new BrowserFactory();
+            for (String browser : browsers) {
+                browserFactory.prewarmBrowsers(browser, sessionsPerBrowser);
+            }
+        } catch (Exception error) {
+            // Tests start their own browsers when pre-warming fails
+            ErrorHandler.logError(error, "prewarm", "Failed to pre-warm browsers");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.hybridframework.runner;
+
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Resizes suites declared in XML with the thread counts from {@link ThreadCountCalculator}, so the
+ * {@code thread-count} written in a runner file acts only as documentation. A suite declared without
+ * {@code parallel} stays sequential.
+ */
+public class ConfiguredParallelismListener implements IAlterSuiteListener {
+
+    private static final Logger logger = LoggerUtils.getLogger(ConfiguredParallelismListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        alter(suites, ThreadCountCalculator.plan());
+    }
+
+    void alter(List<XmlSuite> suites, ThreadCountCalculator.Plan plan) {
+        for (XmlSuite suite : suites) {
+            if (!plan.parallel()) {
+                suite.setParallel(XmlSuite.ParallelMode.NONE);
+            }
+            suite.setThreadCount(plan.threadCount());
+            suite.setDataProviderThreadCount(plan.dataProviderThreadCount());
+            logger.info("Suite '{}' runs with parallel={} and thread-count={}",
+                    suite.getName(), suite.getParallel(), suite.getThreadCount());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.hybridframework.runner;
+
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+public class ConfiguredParallelismListenerTests {
+
+    @Test
+    public void testXmlThreadCountsAreReplacedByThePlan() {
+        try {
+            XmlSuite parallel = suite("Parallel", XmlSuite.ParallelMode.METHODS);
+            XmlSuite sequential = suite("Sequential", XmlSuite.ParallelMode.NONE);
+
+            new ConfiguredParallelismListener().alter(List.of(parallel, sequential),
+                    new ThreadCountCalculator.Plan(true, 3, 2, "available processors"));
+
+            Assert.assertEquals(parallel.getParallel(), XmlSuite.ParallelMode.METHODS);
+            Assert.assertEquals(parallel.getThreadCount(), 3);
+            Assert.assertEquals(parallel.getDataProviderThreadCount(), 2);
+            Assert.assertEquals(sequential.getParallel(), XmlSuite.ParallelMode.NONE, "A suite without parallel stays sequential");
+            Assert.assertEquals(sequential.getThreadCount(), 3);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testXmlThreadCountsAreReplacedByThePlan", "Suite was not resized");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testSequentialPlanTurnsParallelSuitesOff() {
+        try {
+            XmlSuite suite = suite("Parallel", XmlSuite.ParallelMode.CLASSES);
+
+            new ConfiguredParallelismListener().alter(List.of(suite),
+                    new ThreadCountCalculator.Plan(false, 1, 1, "ENABLE_PARALLEL_EXECUTION"));
+
+            Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.NONE);
+            Assert.assertEquals(suite.getThreadCount(), 1);
+            Assert.assertEquals(suite.getDataProviderThreadCount(), 1);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testSequentialPlanTurnsParallelSuitesOff", "Suite stayed parallel");
+            throw error;
+        }
+    }
+
+    private static XmlSuite suite(String name, XmlSuite.ParallelMode parallel) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName(name);
+        suite.setParallel(parallel);
+        suite.setThreadCount(10);
+        suite.setDataProviderThreadCount(10);
+        return suite;
+    }
+}
@@ -0,0 +1,173 @@
+package com.hybridframework.runner;
+
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlPackage;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds TestNG suites in code, sized by {@link ThreadCountCalculator} instead of fixed XML thread counts.
+ * <p>
+ * Each browser added with {@link #browsers(String...)} becomes its own {@code <test>} carrying a
+ * {@code browser} parameter, and the tests run side by side with the threads split between them.
+ * <pre>{@code
+ * XmlSuite suite = DynamicSuiteBuilder.suite("Sanity")
+ *         .groups("sanity")
+ *         .classes(LoginTests.class)
+ *         .browsers("chrome", "firefox")
+ *         .build();
+ * }</pre>
+ */
+public class DynamicSuiteBuilder {
+
+    private static final Logger logger = LoggerUtils.getLogger(DynamicSuiteBuilder.class);
+    private static final String BROWSER_PARAMETER = "browser";
+    private static final String DEFAULT_PACKAGE = "com.hybridframework.tests.*";
+
+    private final String name;
+    private final List<String> groups = new ArrayList<>();
+    private final List<String> excludedGroups = new ArrayList<>();
+    private final List<Class<?>> classes = new ArrayList<>();
+    private final List<String> packages = new ArrayList<>();
+    private final List<String> browsers = new ArrayList<>();
+    private final Map<String, String> parameters = new LinkedHashMap<>();
+    private final List<String> listeners = new ArrayList<>();
+    private XmlSuite.ParallelMode parallelMode = XmlSuite.ParallelMode.METHODS;
+
+    private DynamicSuiteBuilder(String name) {
+        this.name = name;
+    }
+
+    public static DynamicSuiteBuilder suite(String name) {
+        return new DynamicSuiteBuilder(name);
+    }
+
+    public DynamicSuiteBuilder groups(String... groupNames) {
+        groups.addAll(Arrays.asList(groupNames));
+        return this;
+    }
+
+    public DynamicSuiteBuilder excludeGroups(String... groupNames) {
+        excludedGroups.addAll(Arrays.asList(groupNames));
+        return this;
+    }
+
+    public DynamicSuiteBuilder classes(Class<?>... testClasses) {
+        classes.addAll(Arrays.asList(testClasses));
+        return this;
+    }
+
+    /**
+     * @param packageNames package names, with a trailing {@code .*} to include subpackages
+     */
+    public DynamicSuiteBuilder packages(String... packageNames) {
+        packages.addAll(Arrays.asList(packageNames));
+        return this;
+    }
+
+    public DynamicSuiteBuilder browsers(String... browserNames) {
+        browsers.addAll(Arrays.asList(browserNames));
+        return this;
+    }
+
+    public DynamicSuiteBuilder parameter(String key, String value) {
+        parameters.put(key, value);
+        return this;
+    }
+
+    public DynamicSuiteBuilder listener(Class<?> listenerClass) {
+        listeners.add(listenerClass.getName());
+        return this;
+    }
+
+    /**
+     * @param mode how methods within each test are parallelized when parallel execution is enabled
+     */
+    public DynamicSuiteBuilder parallel(XmlSuite.ParallelMode mode) {
+        parallelMode = mode;
+        return this;
+    }
+
+    public XmlSuite build() {
+        return build(ThreadCountCalculator.plan());
+    }
+
+    /**
+     * Builds the suite for a given plan. Each browser's {@code <test>} gets an equal share of the threads.
+     */
+    XmlSuite build(ThreadCountCalculator.Plan plan) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName(name);
+        suite.setParameters(parameters);
+        suite.setListeners(listeners);
+        suite.setDataProviderThreadCount(plan.dataProviderThreadCount());
+
+        List<String> testBrowsers = browsers.isEmpty() ? List.of("") : browsers;
+        int threadsPerTest = Math.max(1, plan.threadCount() / testBrowsers.size());
+        if (plan.parallel() && testBrowsers.size() > 1) {
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(testBrowsers.size());
+        } else {
+            suite.setParallel(plan.parallel() ? parallelMode : XmlSuite.ParallelMode.NONE);
+            suite.setThreadCount(plan.threadCount());
+        }
+
+        for (String browser : testBrowsers) {
+            XmlTest test = new XmlTest(suite);
+            test.setName(browser.isEmpty() ? name : name + " - " + browser);
+            if (!browser.isEmpty()) {
+                test.addParameter(BROWSER_PARAMETER, browser);
+            }
+            test.setParallel(plan.parallel() ? parallelMode : XmlSuite.ParallelMode.NONE);
+            test.setThreadCount(threadsPerTest);
+            groups.forEach(test::addIncludedGroup);
+            excludedGroups.forEach(test::addExcludedGroup);
+
+            List<XmlClass> xmlClasses = new ArrayList<>();
+            for (Class<?> testClass : classes) {
+                xmlClasses.add(new XmlClass(testClass));
+            }
+            test.setXmlClasses(xmlClasses);
+
+            List<XmlPackage> xmlPackages = new ArrayList<>();
+            for (String packageName : classes.isEmpty() && packages.isEmpty() ? List.of(DEFAULT_PACKAGE) : packages) {
+                xmlPackages.add(new XmlPackage(packageName));
+            }
+            test.setXmlPackages(xmlPackages);
+        }
+
+        logger.debug("Built suite:\n{}", suite.toXml());
+        return suite;
+    }
+
+    /**
+     * Runs a suite from the command line: {@code -Dgroups=sanity -Dbrowsers=chrome,firefox}. Without groups every
+     * test under {@code com.hybridframework.tests} runs.
+     */
+    public static void main(String[] args) {
+        DynamicSuiteBuilder builder = suite(System.getProperty("suiteName", "Dynamic Suite"));
+        String groupNames = System.getProperty("groups", "");
+        if (!groupNames.isBlank()) {
+            builder.groups(groupNames.split(","));
+        }
+        String browserNames = System.getProperty("browsers", "");
+        if (!browserNames.isBlank()) {
+            builder.browsers(browserNames.split(","));
+        }
+
+        TestNG testng = new TestNG();
+        testng.addListener(new BrowserPrewarmListener());
+        testng.setXmlSuites(List.of(builder.build()));
+        testng.run();
+        System.exit(testng.getStatus());
+    }
+}
@@ -0,0 +1,79 @@
+package com.hybridframework.runner;
+
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+
+public class DynamicSuiteBuilderTests {
+
+    private static final ThreadCountCalculator.Plan PARALLEL = new ThreadCountCalculator.Plan(true, 7, 3, "THREAD_COUNT");
+    private static final ThreadCountCalculator.Plan SEQUENTIAL =
+            new ThreadCountCalculator.Plan(false, 1, 1, "ENABLE_PARALLEL_EXECUTION");
+
+    @Test
+    public void testEachBrowserGetsItsOwnTestWithAShareOfThreads() {
+        try {
+            XmlSuite suite = DynamicSuiteBuilder.suite("Sanity")
+                    .groups("sanity")
+                    .browsers("chrome", "firefox", "edge")
+                    .build(PARALLEL);
+
+            Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.TESTS);
+            Assert.assertEquals(suite.getThreadCount(), 3);
+            Assert.assertEquals(suite.getDataProviderThreadCount(), 3);
+
+            List<XmlTest> tests = suite.getTests();
+            Assert.assertEquals(tests.stream().map(XmlTest::getName).toList(),
+                    List.of("Sanity - chrome", "Sanity - firefox", "Sanity - edge"));
+            for (XmlTest test : tests) {
+                Assert.assertEquals(test.getName(), "Sanity - " + test.getParameter("browser"));
+                Assert.assertEquals(test.getParallel(), XmlSuite.ParallelMode.METHODS);
+                Assert.assertEquals(test.getThreadCount(), 2, "7 threads split over 3 browsers");
+                Assert.assertEquals(test.getIncludedGroups(), List.of("sanity"));
+            }
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testEachBrowserGetsItsOwnTestWithAShareOfThreads", "Browsers were not split into tests");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testSingleTestUsesAllThreadsAndDefaultPackage() {
+        try {
+            XmlSuite suite = DynamicSuiteBuilder.suite("Regression").build(PARALLEL);
+
+            Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.METHODS);
+            Assert.assertEquals(suite.getThreadCount(), 7);
+            XmlTest test = suite.getTests().getFirst();
+            Assert.assertEquals(suite.getTests().size(), 1);
+            Assert.assertEquals(test.getName(), "Regression");
+            Assert.assertNull(test.getParameter("browser"));
+            Assert.assertEquals(test.getThreadCount(), 7);
+            Assert.assertEquals(test.getXmlPackages().getFirst().getName(), "com.hybridframework.tests.*");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testSingleTestUsesAllThreadsAndDefaultPackage", "Single test was sized wrongly");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testSequentialPlanDisablesParallelismEverywhere() {
+        try {
+            XmlSuite suite = DynamicSuiteBuilder.suite("Sanity").browsers("chrome", "firefox").build(SEQUENTIAL);
+
+            Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.NONE);
+            Assert.assertEquals(suite.getThreadCount(), 1);
+            for (XmlTest test : suite.getTests()) {
+                Assert.assertEquals(test.getParallel(), XmlSuite.ParallelMode.NONE);
+                Assert.assertEquals(test.getThreadCount(), 1);
+            }
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testSequentialPlanDisablesParallelismEverywhere", "Sequential plan ran in parallel");
+            throw error;
+        }
+    }
+}
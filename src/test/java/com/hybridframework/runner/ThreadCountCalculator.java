@@ -0,0 +1,257 @@
+package com.hybridframework.runner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hybridframework.config.ConfigurationBootstrap;
+import com.hybridframework.config.properties.ConfigKey;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.config.properties.PropertiesFileAlias;
+import com.hybridframework.utils.jacksonUtils.JsonConverter;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Sizes suite concurrency for the machine the run is on.
+ * <p>
+ * The configured {@code THREAD_COUNT} is an upper bound. Local runs are further capped at one browser per
+ * processor and by how many browsers fit in available memory ({@code MEMORY_PER_BROWSER_MB} each), taken as
+ * the smaller of {@code MemAvailable} in {@code /proc/meminfo} and the headroom under the container's cgroup
+ * limit. The memory cap is skipped with {@code -DskipBrowserSetup=true}, since no browser starts. Runs with
+ * {@code -DrunOnGrid=true} are instead capped by the free slots reported by the Selenium Grid, since the
+ * browsers do not run here. {@code ENABLE_PARALLEL_EXECUTION=false} runs everything on one thread.
+ */
+public class ThreadCountCalculator {
+
+    private static final Logger logger = LoggerUtils.getLogger(ThreadCountCalculator.class);
+    private static final String SELENIUM_GRID_URL = "SELENIUM_GRID_URL";
+    private static final Duration GRID_STATUS_TIMEOUT = Duration.ofSeconds(3);
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+    private static final Path PROC_MEMINFO = Path.of("/proc/meminfo");
+    private static final Path CGROUP_V2_MAX = Path.of("/sys/fs/cgroup/memory.max");
+    private static final Path CGROUP_V2_CURRENT = Path.of("/sys/fs/cgroup/memory.current");
+    private static final Path CGROUP_V1_LIMIT = Path.of("/sys/fs/cgroup/memory/memory.limit_in_bytes");
+    private static final Path CGROUP_V1_USAGE = Path.of("/sys/fs/cgroup/memory/memory.usage_in_bytes");
+    private static final long CGROUP_V1_UNLIMITED = Long.MAX_VALUE / 2;
+
+    /**
+     * @param parallel                whether tests may run in parallel at all
+     * @param threadCount             threads for test methods
+     * @param dataProviderThreadCount threads for parallel data providers
+     * @param limitedBy               the constraint that set the thread count
+     */
+    public record Plan(boolean parallel, int threadCount, int dataProviderThreadCount, String limitedBy) {
+    }
+
+    private ThreadCountCalculator() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static Plan plan() {
+        ConfigurationBootstrap.initialize(PropertiesFileAlias.UAT.name());
+        PropertiesConfigManager config = PropertiesConfigManager.getConfiguration(PropertiesFileAlias.GLOBAL.getConfigurationAlias());
+
+        if (!config.get(ConfigKey.ENABLE_PARALLEL_EXECUTION)) {
+            return log(plan(false, 1, 1, Limits.NONE));
+        }
+
+        Limits limits;
+        if (Boolean.getBoolean("runOnGrid")) {
+            String gridUrl = config.getProperty(SELENIUM_GRID_URL, "");
+            OptionalInt freeSlots = OptionalInt.empty();
+            if (gridUrl.isBlank()) {
+                logger.warn("-DrunOnGrid=true but {} is not configured; using THREAD_COUNT", SELENIUM_GRID_URL);
+            } else {
+                freeSlots = getFreeGridSlots(gridUrl);
+            }
+            limits = Limits.onGrid(freeSlots);
+        } else {
+            limits = Limits.local(Runtime.getRuntime().availableProcessors(), Boolean.getBoolean("skipBrowserSetup")
+                    ? OptionalInt.empty()
+                    : getBrowsersFittingInMemory(config.getInt(ConfigKey.MEMORY_PER_BROWSER_MB)));
+        }
+        return log(plan(true, config.getInt(ConfigKey.THREAD_COUNT), config.getInt(ConfigKey.DATA_PROVIDER_THREAD_COUNT), limits));
+    }
+
+    /**
+     * What the machine allows, besides the configured counts. Grid runs are capped by free slots only; local runs
+     * by processors and by how many browsers fit in memory. An empty value means the limit is unknown.
+     */
+    record Limits(boolean onGrid, OptionalInt freeGridSlots, int processors, OptionalInt browsersInMemory) {
+
+        static final Limits NONE = new Limits(false, OptionalInt.empty(), Integer.MAX_VALUE, OptionalInt.empty());
+
+        static Limits onGrid(OptionalInt freeGridSlots) {
+            return new Limits(true, freeGridSlots, Integer.MAX_VALUE, OptionalInt.empty());
+        }
+
+        static Limits local(int processors, OptionalInt browsersInMemory) {
+            return new Limits(false, OptionalInt.empty(), processors, browsersInMemory);
+        }
+    }
+
+    /**
+     * Applies the limits to the configured counts; see the class comment.
+     */
+    static Plan plan(boolean parallel, int configuredThreadCount, int configuredDataProviderThreadCount, Limits limits) {
+        if (!parallel) {
+            return new Plan(false, 1, 1, "ENABLE_PARALLEL_EXECUTION");
+        }
+
+        int threadCount = Math.max(1, configuredThreadCount);
+        String limitedBy = "THREAD_COUNT";
+
+        if (limits.onGrid()) {
+            if (limits.freeGridSlots().isPresent() && limits.freeGridSlots().getAsInt() < threadCount) {
+                threadCount = Math.max(1, limits.freeGridSlots().getAsInt());
+                limitedBy = "free Selenium Grid slots";
+            }
+        } else {
+            if (limits.processors() < threadCount) {
+                threadCount = limits.processors();
+                limitedBy = "available processors";
+            }
+            if (limits.browsersInMemory().isPresent() && limits.browsersInMemory().getAsInt() < threadCount) {
+                logger.warn("Available memory fits {} browser(s) at the configured MEMORY_PER_BROWSER_MB, below the {} "
+                        + "thread(s) otherwise allowed", limits.browsersInMemory().getAsInt(), threadCount);
+                threadCount = Math.max(1, limits.browsersInMemory().getAsInt());
+                limitedBy = "available memory";
+            }
+        }
+
+        int dataProviderThreadCount = Math.max(1, Math.min(configuredDataProviderThreadCount, threadCount));
+        return new Plan(true, threadCount, dataProviderThreadCount, limitedBy);
+    }
+
+    private static OptionalInt getBrowsersFittingInMemory(int memoryPerBrowserMb) {
+        OptionalLong availableBytes = getAvailableMemoryBytes();
+        if (availableBytes.isEmpty() || memoryPerBrowserMb <= 0) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of((int) (availableBytes.getAsLong() / (memoryPerBrowserMb * BYTES_PER_MB)));
+    }
+
+    /**
+     * {@code MemFree} leaves out page cache the kernel gives back on demand, so it understates what browsers
+     * can use; {@code MemAvailable} counts it. Inside a container the cgroup limit can be far below either.
+     * Falls back to the JVM's free memory figure where neither file exists.
+     */
+    private static OptionalLong getAvailableMemoryBytes() {
+        OptionalLong hostAvailable = readMemAvailable();
+        OptionalLong cgroupHeadroom = readCgroupHeadroom();
+        if (hostAvailable.isPresent() && cgroupHeadroom.isPresent()) {
+            return OptionalLong.of(Math.min(hostAvailable.getAsLong(), cgroupHeadroom.getAsLong()));
+        }
+        if (hostAvailable.isPresent()) {
+            return hostAvailable;
+        }
+        if (cgroupHeadroom.isPresent()) {
+            return cgroupHeadroom;
+        }
+        OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+        if (operatingSystem instanceof com.sun.management.OperatingSystemMXBean bean) {
+            return OptionalLong.of(bean.getFreeMemorySize());
+        }
+        return OptionalLong.empty();
+    }
+
+    private static OptionalLong readMemAvailable() {
+        try {
+            for (String line : Files.readAllLines(PROC_MEMINFO)) {
+                if (line.startsWith("MemAvailable:")) {
+                    // e.g. "MemAvailable:   12345678 kB"
+                    return OptionalLong.of(Long.parseLong(line.replaceAll("\\D", "")) * 1024L);
+                }
+            }
+        } catch (Exception error) {
+            logger.debug("Could not read {}: {}", PROC_MEMINFO, error.getMessage());
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Limit minus current usage, from cgroup v2 or else v1. Empty when there is no limit.
+     */
+    private static OptionalLong readCgroupHeadroom() {
+        try {
+            if (Files.isReadable(CGROUP_V2_MAX)) {
+                String limit = Files.readString(CGROUP_V2_MAX).trim();
+                if (limit.equals("max")) {
+                    return OptionalLong.empty();
+                }
+                return headroom(Long.parseLong(limit), Long.parseLong(Files.readString(CGROUP_V2_CURRENT).trim()));
+            }
+            if (Files.isReadable(CGROUP_V1_LIMIT)) {
+                long limit = Long.parseLong(Files.readString(CGROUP_V1_LIMIT).trim());
+                // v1 reports "no limit" as a page-aligned value near Long.MAX_VALUE
+                if (limit >= CGROUP_V1_UNLIMITED) {
+                    return OptionalLong.empty();
+                }
+                return headroom(limit, Long.parseLong(Files.readString(CGROUP_V1_USAGE).trim()));
+            }
+        } catch (Exception error) {
+            logger.debug("Could not read the cgroup memory limit: {}", error.getMessage());
+        }
+        return OptionalLong.empty();
+    }
+
+    private static OptionalLong headroom(long limit, long usage) {
+        return OptionalLong.of(Math.max(0, limit - usage));
+    }
+
+    /**
+     * Counts slots without a session in the Grid's {@code /status} report.
+     */
+    private static OptionalInt getFreeGridSlots(String gridUrl) {
+        try {
+            URI grid = URI.create(gridUrl.trim());
+            URI status = new URI(grid.getScheme(), null, grid.getHost(), grid.getPort(), "/status", null, null);
+
+            HttpClient client = HttpClient.newBuilder().connectTimeout(GRID_STATUS_TIMEOUT).build();
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(status).timeout(GRID_STATUS_TIMEOUT).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            return OptionalInt.of(countFreeSlots(response.body()));
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            return OptionalInt.empty();
+        } catch (Exception error) {
+            logger.warn("Could not read Selenium Grid status from '{}': {}", gridUrl, error.getMessage());
+            return OptionalInt.empty();
+        }
+    }
+
+    /**
+     * @param statusJson the body of the Grid's {@code /status} response
+     * @return slots on every node that hold no session
+     */
+    static int countFreeSlots(String statusJson) throws IOException {
+        int freeSlots = 0;
+        for (JsonNode node : JsonConverter.getObjectMapper().readTree(statusJson).path("value").path("nodes")) {
+            for (JsonNode slot : node.path("slots")) {
+                if (slot.path("session").isNull() || slot.path("session").isMissingNode()) {
+                    freeSlots++;
+                }
+            }
+        }
+        return freeSlots;
+    }
+
+    private static Plan log(Plan plan) {
+        logger.info("Running with {} test thread(s) and {} data provider thread(s), limited by {}",
+                plan.threadCount(), plan.dataProviderThreadCount(), plan.limitedBy());
+        return plan;
+    }
+}
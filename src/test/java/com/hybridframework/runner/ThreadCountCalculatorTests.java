@@ -0,0 +1,98 @@
+package com.hybridframework.runner;
+
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.OptionalInt;
+
+/**
+ * Checks the sizing rules against fixed limits, so results do not depend on the machine running them.
+ */
+public class ThreadCountCalculatorTests {
+
+    private static final String GRID_STATUS = """
+            {"value": {"ready": true, "nodes": [
+              {"slots": [{"session": null}, {"session": {"sessionId": "a1"}}, {}]},
+              {"slots": [{"session": {"sessionId": "b1"}}, {"session": null}]},
+              {"slots": []}
+            ]}}""";
+
+    @Test
+    public void testDisabledParallelExecutionRunsOnOneThread() {
+        try {
+            ThreadCountCalculator.Plan plan = ThreadCountCalculator.plan(false, 8, 4,
+                    ThreadCountCalculator.Limits.local(16, OptionalInt.of(16)));
+            Assert.assertEquals(plan, new ThreadCountCalculator.Plan(false, 1, 1, "ENABLE_PARALLEL_EXECUTION"));
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testDisabledParallelExecutionRunsOnOneThread", "Sequential plan was wrong");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testLocalRunsAreCappedByProcessorsThenMemory() {
+        try {
+            ThreadCountCalculator.Plan unlimited = ThreadCountCalculator.plan(true, 8, 4,
+                    ThreadCountCalculator.Limits.local(16, OptionalInt.of(20)));
+            Assert.assertEquals(unlimited.threadCount(), 8);
+            Assert.assertEquals(unlimited.limitedBy(), "THREAD_COUNT");
+
+            ThreadCountCalculator.Plan processors = ThreadCountCalculator.plan(true, 8, 4,
+                    ThreadCountCalculator.Limits.local(2, OptionalInt.empty()));
+            Assert.assertEquals(processors.threadCount(), 2);
+            Assert.assertEquals(processors.limitedBy(), "available processors");
+
+            ThreadCountCalculator.Plan memory = ThreadCountCalculator.plan(true, 8, 4,
+                    ThreadCountCalculator.Limits.local(4, OptionalInt.of(3)));
+            Assert.assertEquals(memory.threadCount(), 3);
+            Assert.assertEquals(memory.limitedBy(), "available memory");
+
+            ThreadCountCalculator.Plan noMemory = ThreadCountCalculator.plan(true, 8, 4,
+                    ThreadCountCalculator.Limits.local(4, OptionalInt.of(0)));
+            Assert.assertEquals(noMemory.threadCount(), 1, "At least one thread always runs");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testLocalRunsAreCappedByProcessorsThenMemory", "Local caps were not applied");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testGridRunsAreCappedByFreeSlotsOnly() throws IOException {
+        try {
+            int freeSlots = ThreadCountCalculator.countFreeSlots(GRID_STATUS);
+            Assert.assertEquals(freeSlots, 3);
+
+            ThreadCountCalculator.Plan grid = ThreadCountCalculator.plan(true, 8, 4,
+                    ThreadCountCalculator.Limits.onGrid(OptionalInt.of(freeSlots)));
+            Assert.assertEquals(grid.threadCount(), 3);
+            Assert.assertEquals(grid.limitedBy(), "free Selenium Grid slots");
+
+            ThreadCountCalculator.Plan unreachable = ThreadCountCalculator.plan(true, 8, 4,
+                    ThreadCountCalculator.Limits.onGrid(OptionalInt.empty()));
+            Assert.assertEquals(unreachable.threadCount(), 8);
+            Assert.assertEquals(unreachable.limitedBy(), "THREAD_COUNT");
+
+            Assert.assertEquals(ThreadCountCalculator.countFreeSlots("{\"value\": {\"ready\": false}}"), 0);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testGridRunsAreCappedByFreeSlotsOnly", "Grid slots were not applied");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testDataProviderThreadsStayWithinTestThreads() {
+        try {
+            ThreadCountCalculator.Limits limits = ThreadCountCalculator.Limits.local(16, OptionalInt.empty());
+            Assert.assertEquals(ThreadCountCalculator.plan(true, 4, 10, limits).dataProviderThreadCount(), 4);
+            Assert.assertEquals(ThreadCountCalculator.plan(true, 8, 3, limits).dataProviderThreadCount(), 3);
+            Assert.assertEquals(ThreadCountCalculator.plan(true, 8, 0, limits).dataProviderThreadCount(), 1);
+            Assert.assertEquals(ThreadCountCalculator.plan(true, 8, 6,
+                    ThreadCountCalculator.Limits.local(2, OptionalInt.empty())).dataProviderThreadCount(), 2);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testDataProviderThreadsStayWithinTestThreads", "Data provider threads were not clamped");
+            throw error;
+        }
+    }
+}
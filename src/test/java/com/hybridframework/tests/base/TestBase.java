@@ -1,9 +1,12 @@
 package com.hybridframework.tests.base;
 
+import com.hybridframework.config.ConfigAccessStats;
+import com.hybridframework.config.ConfigOverrides;
+import com.hybridframework.config.LayeredConfigResolver;
 import com.hybridframework.config.environments.EnvironmentFileAlias;
 import com.hybridframework.config.environments.EnvironmentSecretKey;
-import com.hybridframework.config.properties.PropertiesConfigManager;
-import com.hybridframework.config.properties.PropertiesFileAlias;
+import com.hybridframework.crypto.services.CryptoExecutor;
+import com.hybridframework.crypto.services.SecretVault;
 import com.hybridframework.crypto.utils.EnvironmentCryptoManager;
 import com.hybridframework.drivers.BrowserFactory;
 import com.hybridframework.drivers.DriverFactory;
@@ -15,10 +18,15 @@ import com.hybridframework.utils.logging.LoggerUtils;
 import org.apache.logging.log4j.Logger;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static com.hybridframework.tests.base.ConfigurationManager.initializeConfigurations;
 import static com.hybridframework.tests.base.ConfigurationManager.initializeTestConfig;
@@ -31,15 +39,43 @@ public class TestBase extends BasePage{
     private static final String DEMO_TEST_ID_ONE = "TEST_ONE";
     private static final String BROWSER = "CHROME_BROWSER";
     private static final String URL = "PORTAL_BASE_URL";
+    protected static final String PORTAL_USERNAME = "PORTAL_USERNAME";
+    protected static final String PORTAL_PASSWORD = "PORTAL_PASSWORD";
 
     // Pages
     protected LoginPage loginPage;
 
+    // Portal credentials, decrypted while the browser starts; per thread, since parallel methods share this instance
+    private final ThreadLocal<CompletableFuture<SecretVault>> secretVaultPrefetch = new ThreadLocal<>();
+
+    @BeforeSuite(alwaysRun = true)
+    public void loadConfigurations() {
+        // Once per JVM; every test method then finds the configuration ready
+        initializeConfigurations();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void logConfigAccessReport() {
+        // Hottest and never-read keys, to decide what to cache and what to prune
+        ConfigAccessStats.logReport();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void closePooledBrowsers() {
+        driverFactory.shutdownSessionPool();
+    }
+
+    /**
+     * @param browser optional {@code browser} suite parameter; each {@code <test>} of a suite can name its own
+     *                browser, applied to this thread only so browsers can run side by side in one JVM
+     */
     @BeforeMethod(alwaysRun = true)
-    public void setup() {
+    @Parameters({"browser"})
+    public void setup(@Optional String browser) {
         try {
-            // Load essential configurations first
-            initializeConfigurations();
+            if (browser != null) {
+                ConfigOverrides.override(BROWSER, browser);
+            }
             initializeTestConfig(DEMO_TEST_ID_ONE);
 
             // Only initialize browser-related components if not skipped
@@ -66,7 +102,10 @@ public class TestBase extends BasePage{
             ErrorHandler.logError(error, "tearDown", "Failed to  tear down");
             throw error;
         } finally {
-            driverFactory.quitDriver();
+            ConfigOverrides.clear();
+            secretVaultPrefetch.remove();
+            // Returns the browser to the pool when ENABLE_DRIVER_POOL is set, otherwise quits it
+            driverFactory.releaseDriver();
         }
     }
 
@@ -75,10 +114,14 @@ public class TestBase extends BasePage{
             browserFactory = new BrowserFactory();
 
             // Retrieve browser name for this thread
-            String browser = PropertiesConfigManager.getPropertyKeyFromCache(
-                    PropertiesFileAlias.GLOBAL.getConfigurationAlias(),
-                    BROWSER
-            );
+            String browser = LayeredConfigResolver.getInstance().get(BROWSER);
+
+            // Decrypt the credentials while the browser launches
+            secretVaultPrefetch.set(SecretVault.prefetch(
+                    EnvironmentFileAlias.UAT.getEnvironmentAlias(),
+                    EnvironmentSecretKey.UAT.getKeyName(),
+                    PORTAL_USERNAME, PORTAL_PASSWORD
+            ));
 
             // Initialize the browser for the current test thread
             browserFactory.initializeBrowser(browser);
@@ -93,10 +136,7 @@ public class TestBase extends BasePage{
             loginPage = new LoginPage(driverFactory.getDriver());
 
             // Navigate to URL
-            String url = PropertiesConfigManager.getPropertyKeyFromCache(
-                    PropertiesFileAlias.UAT.getConfigurationAlias(),
-                    URL
-            );
+            String url = LayeredConfigResolver.getInstance().get(URL);
             driverFactory.navigateToUrl(url);
             loginPage.isCompanyLogoPresent();
         } catch (Exception error) {
@@ -111,11 +151,33 @@ public class TestBase extends BasePage{
             return EnvironmentCryptoManager.decryptEnvironmentVariables(
                     EnvironmentFileAlias.UAT.getEnvironmentAlias(),
                     EnvironmentSecretKey.UAT.getKeyName(),
-                    "PORTAL_USERNAME", "PORTAL_PASSWORD"
+                    PORTAL_USERNAME, PORTAL_PASSWORD
             );
         } catch (Exception error) {
             ErrorHandler.logError(error, "decryptCredentials", "Failed to decrypt credentials");
             throw error;
         }
     }
+
+    /**
+     * Returns the suite-wide vault holding the decrypted portal credentials.
+     * The credentials are decrypted on first use only; later calls are a map lookup. When the browser was
+     * set up, this joins the decryption started alongside it.
+     */
+    public SecretVault getSecretVault() {
+        try {
+            CompletableFuture<SecretVault> prefetch = secretVaultPrefetch.get();
+            if (prefetch != null) {
+                return CryptoExecutor.join(prefetch);
+            }
+            return SecretVault.initialize(
+                    EnvironmentFileAlias.UAT.getEnvironmentAlias(),
+                    EnvironmentSecretKey.UAT.getKeyName(),
+                    PORTAL_USERNAME, PORTAL_PASSWORD
+            );
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "getSecretVault", "Failed to initialize secret vault");
+            throw error;
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.hybridframework.tests.configUnitTests.crypto;
+
+import com.hybridframework.crypto.services.Argon2Settings;
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.bouncycastle.crypto.CryptoException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Allocation and GC comparisons with and without the arena live in the JMH {@code Argon2ArenaBenchmark}.
+ */
+public class Argon2BlockArenaTests {
+
+    private static final String PLAIN_TEXT = "arena-value";
+
+    /**
+     * The matrix size is used by no other test, so encryption allocates fresh memory and the decryptions run
+     * on the wiped matrix it released. A reused matrix that derived different bytes would fail the GCM tag.
+     */
+    @Test
+    public void testDerivationOnReusedMemoryMatchesFreshMemory() throws CryptoException {
+        try {
+            Argon2Settings settings = new Argon2Settings(1, 1056, 4);
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            String encrypted = CryptoService.encrypt(secretKey, PLAIN_TEXT, settings);
+
+            Assert.assertEquals(CryptoService.decrypt(secretKey, encrypted), PLAIN_TEXT);
+            Assert.assertEquals(CryptoService.decrypt(secretKey, encrypted), PLAIN_TEXT);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testDerivationOnReusedMemoryMatchesFreshMemory",
+                    "Argon2 derivation on pooled memory did not match");
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.hybridframework.tests.configUnitTests.crypto;
+
+import com.hybridframework.crypto.services.Argon2Settings;
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.KeyRing;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.crypto.utils.CryptoConstants;
+import com.hybridframework.crypto.utils.KeyDerivationFunction;
+import com.hybridframework.utils.Base64Utils;
+import com.hybridframework.utils.LegacyCiphertexts;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.bouncycastle.crypto.CryptoException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+public class CiphertextEnvelopeTests {
+
+    private static final String PLAIN_TEXT = "envelope-value";
+
+    @AfterMethod(alwaysRun = true)
+    public void clearKeyRing() {
+        KeyRing.clear();
+    }
+
+    @Test
+    public void testHkdfEnvelopeRoundTrip() throws CryptoException {
+        try {
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            String encrypted = CryptoService.encrypt(secretKey, PLAIN_TEXT);
+
+            byte[] combined = Base64Utils.decodeToArray(encrypted);
+            Assert.assertEquals(combined[2], KeyDerivationFunction.HKDF_SHA256.getHeaderId());
+            Assert.assertEquals(CryptoService.decrypt(secretKey, encrypted), PLAIN_TEXT);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testHkdfEnvelopeRoundTrip", "Failed HKDF envelope round trip");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testArgon2EnvelopeRoundTrip() throws CryptoException {
+        try {
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            String encrypted = CryptoService.encrypt(secretKey, PLAIN_TEXT, KeyDerivationFunction.ARGON2ID);
+
+            byte[] combined = Base64Utils.decodeToArray(encrypted);
+            Assert.assertEquals(combined[2], KeyDerivationFunction.ARGON2ID.getHeaderId());
+            Assert.assertEquals(CryptoService.decrypt(secretKey, encrypted), PLAIN_TEXT);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testArgon2EnvelopeRoundTrip", "Failed Argon2 envelope round trip");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testCalibratedSettingsAreStoredInHeader() throws CryptoException {
+        try {
+            Argon2Settings calibrated = SecureKeyGenerator.calibrateArgon2Settings(Duration.ofMillis(50));
+            Assert.assertEquals(Argon2Settings.parse(calibrated.encode()), calibrated);
+            Assert.assertTrue(calibrated.memoryKB() >= CryptoConstants.ARGON2_MIN_MEMORY.getIntValue());
+            Assert.assertTrue(calibrated.iterations() >= CryptoConstants.ARGON2_MIN_ITERATIONS.getIntValue());
+
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            String encrypted = CryptoService.encrypt(secretKey, PLAIN_TEXT, calibrated);
+
+            ByteBuffer header = ByteBuffer.wrap(Base64Utils.decodeToArray(encrypted));
+            Assert.assertEquals(header.get(2), KeyDerivationFunction.ARGON2ID.getHeaderId());
+            Assert.assertEquals(header.getInt(3), calibrated.memoryKB());
+            Assert.assertEquals(Byte.toUnsignedInt(header.get(7)), calibrated.iterations());
+            Assert.assertEquals(CryptoService.decrypt(secretKey, encrypted), PLAIN_TEXT);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testCalibratedSettingsAreStoredInHeader", "Failed calibrated envelope round trip");
+            throw error;
+        }
+    }
+
+    @Test(expectedExceptions = CryptoException.class)
+    public void testTamperedHeaderIsRejected() throws CryptoException {
+        SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+        byte[] combined = Base64Utils.decodeToArray(
+                CryptoService.encrypt(secretKey, PLAIN_TEXT, KeyDerivationFunction.ARGON2ID));
+
+        // Lower the stored iteration count; the header is authenticated, so decryption must fail
+        combined[7] = (byte) (combined[7] - 1);
+        CryptoService.decrypt(secretKey, Base64Utils.encodeArray(combined));
+    }
+
+    @Test(expectedExceptions = CryptoException.class)
+    public void testHeaderCostAboveCeilingIsRejected() throws CryptoException {
+        SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+        byte[] combined = Base64Utils.decodeToArray(
+                CryptoService.encrypt(secretKey, PLAIN_TEXT, KeyDerivationFunction.ARGON2ID));
+
+        // Ask for 1 GB; the header must be refused rather than derived with
+        ByteBuffer.wrap(combined).putInt(3, CryptoConstants.ARGON2_MAX_MEMORY.getIntValue() * 4);
+        CryptoService.decrypt(secretKey, Base64Utils.encodeArray(combined));
+    }
+
+    @Test
+    public void testKeyIdSelectsRegisteredKey() throws CryptoException {
+        try {
+            SecretKey previousKey = SecureKeyGenerator.generateSecretKey();
+            SecretKey currentKey = SecureKeyGenerator.generateSecretKey();
+            String encrypted = CryptoService.encrypt(previousKey, PLAIN_TEXT);
+
+            String keyId = KeyRing.register(previousKey);
+            Assert.assertEquals(KeyRing.keyIdOfCiphertext(encrypted).orElseThrow(), keyId);
+            Assert.assertEquals(CryptoService.decrypt(currentKey, encrypted), PLAIN_TEXT);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testKeyIdSelectsRegisteredKey", "Failed to decrypt with key ring");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testLegacyValueWithHeaderLikeSaltStillDecrypts() throws Exception {
+        try {
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            // Salts that read as a version 1 and a version 2 HKDF header, so the envelope parses and then fails
+            for (byte version : new byte[]{0x01, 0x02}) {
+                byte[] salt = SecureKeyGenerator.generateSalt();
+                salt[0] = (byte) CryptoConstants.ENVELOPE_MAGIC.getIntValue();
+                salt[1] = version;
+                salt[2] = KeyDerivationFunction.HKDF_SHA256.getHeaderId();
+                String legacyValue = LegacyCiphertexts.encrypt(secretKey, PLAIN_TEXT, salt);
+
+                Assert.assertEquals(CryptoService.decrypt(secretKey, legacyValue), PLAIN_TEXT, "Version byte " + version);
+            }
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testLegacyValueWithHeaderLikeSaltStillDecrypts",
+                    "Legacy value with a header-like salt was not decrypted");
+            throw error;
+        }
+    }
+
+    @Test(expectedExceptions = CryptoException.class)
+    public void testUnknownKeyIdIsRejected() throws CryptoException {
+        String encrypted = CryptoService.encrypt(SecureKeyGenerator.generateSecretKey(), PLAIN_TEXT);
+        CryptoService.decrypt(SecureKeyGenerator.generateSecretKey(), encrypted);
+    }
+}
@@ -0,0 +1,64 @@
+package com.hybridframework.tests.configUnitTests.crypto;
+
+import com.hybridframework.crypto.services.CryptoExecutor;
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.crypto.utils.KeyDerivationFunction;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.bouncycastle.crypto.CryptoException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class CryptoExecutorTests {
+
+    private static final String PLAIN_TEXT = "async-value";
+
+    @Test
+    public void testDecryptAsyncRunsOnCryptoPool() throws Exception {
+        try {
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            String encrypted = CryptoService.encrypt(secretKey, PLAIN_TEXT, KeyDerivationFunction.ARGON2ID);
+
+            Assert.assertEquals(CryptoExecutor.join(CryptoService.decryptAsync(secretKey, encrypted)), PLAIN_TEXT);
+            Thread worker = CryptoExecutor.join(CryptoExecutor.submit(Thread::currentThread));
+            Assert.assertFalse(worker.isVirtual(), "Crypto tasks should run on long-lived pool threads");
+            Assert.assertTrue(worker.getName().startsWith("crypto-"), "Unexpected thread " + worker.getName());
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testDecryptAsyncRunsOnCryptoPool", "Failed async decryption");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testDecryptAsyncFailsWithCryptoException() {
+        CompletableFuture<String> future = CryptoService.decryptAsync(SecureKeyGenerator.generateSecretKey(), "bm90LWEtY2lwaGVydGV4dA==");
+
+        ExecutionException error = Assert.expectThrows(ExecutionException.class, future::get);
+        Assert.assertTrue(error.getCause() instanceof CryptoException, "Unexpected failure: " + error.getCause());
+    }
+
+    @Test
+    public void testTimeoutInterruptsTask() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Void> future = CryptoExecutor.submit(() -> {
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException error) {
+                interrupted.countDown();
+            }
+            return null;
+        }, Duration.ofMillis(100));
+
+        ExecutionException error = Assert.expectThrows(ExecutionException.class, future::get);
+        Assert.assertTrue(error.getCause() instanceof TimeoutException);
+        Assert.assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Timed out task should be interrupted");
+    }
+}
@@ -0,0 +1,57 @@
+package com.hybridframework.tests.configUnitTests.crypto;
+
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.bouncycastle.crypto.CryptoException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+
+public class CryptoServiceTests {
+
+    @Test
+    public void testByteOverloadsRoundTripBinaryData() throws CryptoException {
+        try {
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            // Every byte value, including sequences that are not valid UTF-8
+            byte[] data = new byte[256];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (byte) i;
+            }
+
+            byte[] first = CryptoService.encrypt(secretKey, data);
+            byte[] second = CryptoService.encrypt(secretKey, data);
+            Assert.assertNotEquals(second, first, "Each encryption should use a fresh salt and IV");
+            Assert.assertEquals(CryptoService.decrypt(secretKey, first), data);
+            Assert.assertEquals(CryptoService.decrypt(secretKey, second), data);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testByteOverloadsRoundTripBinaryData", "Byte overloads failed a round trip");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testFailedDecryptionDoesNotBreakTheNextOne() throws CryptoException {
+        try {
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            byte[] data = {1, 2, 3, 4, 5};
+            byte[] encrypted = CryptoService.encrypt(secretKey, data);
+
+            Assert.expectThrows(CryptoException.class,
+                    () -> CryptoService.decrypt(SecureKeyGenerator.generateSecretKey(), encrypted));
+            byte[] tampered = encrypted.clone();
+            tampered[tampered.length - 1] ^= 0x01;
+            Assert.expectThrows(CryptoException.class, () -> CryptoService.decrypt(secretKey, tampered));
+
+            // The same thread decrypts and encrypts normally afterwards
+            Assert.assertEquals(CryptoService.decrypt(secretKey, encrypted), data);
+            Assert.assertEquals(CryptoService.decrypt(secretKey, CryptoService.encrypt(secretKey, data)), data);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testFailedDecryptionDoesNotBreakTheNextOne",
+                    "Decryption failed after an earlier failure");
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.hybridframework.tests.configUnitTests.crypto;
+
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.DerivedKeyCache;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.crypto.utils.KeyDerivationFunction;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.crypto.CryptoException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+
+public class DerivedKeyCacheTests {
+
+    private static final Logger logger = LoggerUtils.getLogger(DerivedKeyCacheTests.class);
+    private static final String PLAIN_TEXT = "cached-derivation-value";
+
+    @BeforeMethod
+    public void enableCache() {
+        DerivedKeyCache.enable(2, Duration.ofMinutes(5));
+        DerivedKeyCache.resetStatistics();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void disableCache() {
+        DerivedKeyCache.disable();
+        DerivedKeyCache.resetStatistics();
+    }
+
+    @Test
+    public void testRepeatedDecryptionIsServedFromCache() throws CryptoException {
+        try {
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            String encrypted = CryptoService.encrypt(secretKey, PLAIN_TEXT, KeyDerivationFunction.ARGON2ID);
+
+            Assert.assertEquals(CryptoService.decrypt(secretKey, encrypted), PLAIN_TEXT);
+            Assert.assertEquals(CryptoService.decrypt(secretKey, encrypted), PLAIN_TEXT);
+
+            DerivedKeyCache.CacheStatistics statistics = DerivedKeyCache.getStatistics();
+            logger.info("Derived key cache statistics: {}", statistics);
+            Assert.assertTrue(statistics.hits() >= 1, "Second decryption should hit the cache");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testRepeatedDecryptionIsServedFromCache", "Failed to verify cache hits");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testCacheIsBoundedBySize() throws CryptoException {
+        try {
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            for (int i = 0; i < 4; i++) {
+                String encrypted = CryptoService.encrypt(secretKey, PLAIN_TEXT + i, KeyDerivationFunction.ARGON2ID);
+                CryptoService.decrypt(secretKey, encrypted);
+            }
+
+            DerivedKeyCache.CacheStatistics statistics = DerivedKeyCache.getStatistics();
+            logger.info("Derived key cache statistics: {}", statistics);
+            Assert.assertTrue(statistics.size() <= 2, "Cache should never exceed its configured size");
+            Assert.assertTrue(statistics.evictions() > 0, "Older entries should have been evicted");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testCacheIsBoundedBySize", "Failed to verify cache bounds");
+            throw error;
+        }
+    }
+}
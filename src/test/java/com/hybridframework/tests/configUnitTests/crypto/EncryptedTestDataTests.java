@@ -0,0 +1,110 @@
+package com.hybridframework.tests.configUnitTests.crypto;
+
+import com.hybridframework.crypto.services.EncryptedValueResolver;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.utils.excelUtils.ExcelConfigManager;
+import com.hybridframework.utils.jacksonUtils.JsonReader;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class EncryptedTestDataTests {
+
+    private static final String SHEET_NAME = "Credentials";
+    private static final int ROWS = 1000;
+
+    private SecretKey secretKey;
+    private Path workingDirectory;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        secretKey = SecureKeyGenerator.generateSecretKey();
+        workingDirectory = Files.createTempDirectory("encrypted-test-data");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workingDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testExcelCellsAreDecryptedOnlyWhenRead() throws Exception {
+        try {
+            Path workbookPath = workingDirectory.resolve("Credentials.xlsx");
+            try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(workbookPath)) {
+                Sheet sheet = workbook.createSheet(SHEET_NAME);
+                Row header = sheet.createRow(0);
+                header.createCell(0).setCellValue("Username");
+                header.createCell(1).setCellValue("Password");
+                for (int i = 1; i <= ROWS; i++) {
+                    Row row = sheet.createRow(i);
+                    row.createCell(0).setCellValue("user" + i);
+                    row.createCell(1).setCellValue(EncryptedValueResolver.encryptValue(secretKey, "password" + i));
+                }
+                workbook.write(out);
+            }
+
+            EncryptedValueResolver resolver = EncryptedValueResolver.forSecretKey(secretKey);
+            List<Map<String, String>> rows =
+                    ExcelConfigManager.loadExcelDataAsList(workbookPath.toString(), SHEET_NAME, resolver);
+            Assert.assertEquals(rows.size(), ROWS);
+            Assert.assertEquals(resolver.getDecryptedCount(), 0, "Loading must not decrypt any cell");
+
+            Map<String, String> row = rows.get(499);
+            Assert.assertEquals(row.get("Username"), "user500");
+            Assert.assertEquals(row.get("Password"), "password500");
+            Assert.assertEquals(row.get("Password"), "password500");
+            Assert.assertEquals(resolver.getDecryptedCount(), 1, "Only the read cell should be decrypted, once");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testExcelCellsAreDecryptedOnlyWhenRead", "Failed lazy Excel decryption");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testJsonFieldsAreDecryptedAndConverted() throws Exception {
+        try {
+            Path jsonPath = workingDirectory.resolve("Credentials.json");
+            Files.writeString(jsonPath, String.format("""
+                    {
+                      "Credentials": {
+                        "Username": "Admin",
+                        "Password": "%s",
+                        "Pin": "%s"
+                      }
+                    }
+                    """,
+                    EncryptedValueResolver.encryptValue(secretKey, "Password@123"),
+                    EncryptedValueResolver.encryptValue(secretKey, "4321")));
+
+            EncryptedValueResolver resolver = EncryptedValueResolver.forSecretKey(secretKey);
+            JsonReader reader = new JsonReader(jsonPath.toString(), resolver);
+            Assert.assertEquals(reader.getString("Credentials", "Username"), "Admin");
+            Assert.assertEquals(reader.getString("Credentials", "Password"), "Password@123");
+            Assert.assertEquals(reader.getInt("Credentials", "Pin"), 4321);
+            Assert.assertEquals(resolver.getDecryptedCount(), 2);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testJsonFieldsAreDecryptedAndConverted", "Failed JSON decryption");
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.hybridframework.tests.configUnitTests.crypto;
+
+import com.hybridframework.config.environments.EnvironmentConfigManager;
+import com.hybridframework.config.environments.EnvironmentFileAlias;
+import com.hybridframework.config.environments.EnvironmentFilePaths;
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.crypto.utils.EnvironmentCryptoManager;
+import com.hybridframework.crypto.utils.KeyDerivationFunction;
+import com.hybridframework.utils.Base64Utils;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Decrypts batches from a temporary {@code -DenvDirectory}, mixing HKDF and Argon2id values so both
+ * derivations run concurrently.
+ */
+public class ParallelDecryptionTests {
+
+    private static final String SECRET_KEY_NAME = "PARALLEL_TEST_SECRET_KEY";
+    private static final String ENV_FILE_NAME = ".env.parallel-test";
+    private static final String ALIAS = "ParallelTestEnvFile";
+    private static final int VARIABLES = 12;
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("parallel-decryption");
+        System.setProperty("envDirectory", directory.toString());
+        SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+        Files.writeString(directory.resolve(EnvironmentFilePaths.BASE.getEnvironmentFilename()),
+                SECRET_KEY_NAME + "=" + Base64Utils.encodeSecretKey(secretKey) + System.lineSeparator());
+
+        StringBuilder environmentFile = new StringBuilder();
+        for (int i = 0; i < VARIABLES; i++) {
+            KeyDerivationFunction keyDerivation = i % 3 == 0 ? KeyDerivationFunction.ARGON2ID : KeyDerivationFunction.HKDF_SHA256;
+            environmentFile.append("SECRET_").append(i).append('=')
+                    .append(CryptoService.encrypt(secretKey, "value-" + i, keyDerivation))
+                    .append(System.lineSeparator());
+        }
+        Files.writeString(directory.resolve(ENV_FILE_NAME), environmentFile);
+        EnvironmentConfigManager.loadConfiguration(EnvironmentFileAlias.BASE.getEnvironmentAlias(),
+                EnvironmentFilePaths.BASE.getEnvironmentFilename());
+        EnvironmentConfigManager.loadConfiguration(ALIAS, ENV_FILE_NAME);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        System.clearProperty("envDirectory");
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchMapsEachNameToItsValueInRequestedOrder() {
+        try {
+            // Reverse order, so a result keyed by position or by file order would not match
+            List<String> names = new ArrayList<>();
+            for (int i = VARIABLES - 1; i >= 0; i--) {
+                names.add("SECRET_" + i);
+            }
+
+            Map<String, String> decrypted = EnvironmentCryptoManager.decryptEnvironmentVariablesInParallel(
+                    ALIAS, SECRET_KEY_NAME, names.toArray(String[]::new));
+
+            Assert.assertEquals(new ArrayList<>(decrypted.keySet()), names);
+            decrypted.forEach((name, value) ->
+                    Assert.assertEquals(value, "value-" + name.substring("SECRET_".length()), name));
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testBatchMapsEachNameToItsValueInRequestedOrder", "Batch results were mismatched");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testDuplicateNamesAreRejected() {
+        try {
+            IllegalArgumentException error = Assert.expectThrows(IllegalArgumentException.class, () ->
+                    EnvironmentCryptoManager.decryptEnvironmentVariablesInParallel(
+                            ALIAS, SECRET_KEY_NAME, "SECRET_1", "SECRET_2", "SECRET_1"));
+            Assert.assertTrue(error.getMessage().contains("SECRET_1"), error.getMessage());
+            Assert.assertTrue(EnvironmentCryptoManager.decryptEnvironmentVariablesInParallel(ALIAS, SECRET_KEY_NAME).isEmpty());
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testDuplicateNamesAreRejected", "Duplicate names were accepted");
+            throw error;
+        }
+    }
+}
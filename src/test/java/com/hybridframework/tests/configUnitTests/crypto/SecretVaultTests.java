@@ -0,0 +1,169 @@
+package com.hybridframework.tests.configUnitTests.crypto;
+
+import com.hybridframework.config.environments.EnvironmentConfigManager;
+import com.hybridframework.config.environments.EnvironmentFileAlias;
+import com.hybridframework.config.environments.EnvironmentFilePaths;
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.SecretVault;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.utils.Base64Utils;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Runs the vault against encrypted values in a temporary {@code -DenvDirectory}. The vault is JVM-wide, so
+ * every test closes it afterwards and the next one starts with a fresh instance.
+ */
+public class SecretVaultTests {
+
+    private static final String SECRET_KEY_NAME = "VAULT_TEST_SECRET_KEY";
+    private static final String ENV_FILE_NAME = ".env.vault-test";
+    private static final String ALIAS = "VaultTestEnvFile";
+
+    private Path directory;
+    private SecretKey secretKey;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("secret-vault");
+        System.setProperty("envDirectory", directory.toString());
+        secretKey = SecureKeyGenerator.generateSecretKey();
+        Files.writeString(directory.resolve(EnvironmentFilePaths.BASE.getEnvironmentFilename()),
+                SECRET_KEY_NAME + "=" + Base64Utils.encodeSecretKey(secretKey) + System.lineSeparator());
+        Files.writeString(directory.resolve(ENV_FILE_NAME),
+                "PORTAL_USERNAME=" + CryptoService.encrypt(secretKey, "admin") + System.lineSeparator()
+                        + "PORTAL_PASSWORD=" + CryptoService.encrypt(secretKey, "s3cret") + System.lineSeparator());
+        EnvironmentConfigManager.loadConfiguration(EnvironmentFileAlias.BASE.getEnvironmentAlias(),
+                EnvironmentFilePaths.BASE.getEnvironmentFilename());
+        EnvironmentConfigManager.loadConfiguration(ALIAS, ENV_FILE_NAME);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        if (SecretVault.isInitialized()) {
+            SecretVault.getInstance().close();
+        }
+        System.clearProperty("envDirectory");
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testCloseZeroesSecretsAndRejectsLookups() {
+        try {
+            SecretVault vault = SecretVault.initialize(ALIAS, SECRET_KEY_NAME, "PORTAL_PASSWORD");
+            CharSequence view = vault.getSecret("PORTAL_PASSWORD");
+            Assert.assertEquals(view.toString(), "s3cret");
+
+            vault.close();
+
+            Assert.assertEquals(view.length(), "s3cret".length());
+            for (int i = 0; i < view.length(); i++) {
+                Assert.assertEquals(view.charAt(i), '\0', "Character " + i + " was not zeroed");
+            }
+            Assert.assertFalse(SecretVault.isInitialized());
+            Assert.assertFalse(vault.containsSecret("PORTAL_PASSWORD"));
+            Assert.expectThrows(IllegalStateException.class, () -> vault.getSecret("PORTAL_PASSWORD"));
+            Assert.expectThrows(IllegalStateException.class, SecretVault::getInstance);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testCloseZeroesSecretsAndRejectsLookups", "Closed vault kept its secrets");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testVaultStaysBoundToItsAliasAndKey() {
+        try {
+            SecretVault.initialize(ALIAS, SECRET_KEY_NAME, "PORTAL_USERNAME");
+
+            Assert.expectThrows(IllegalStateException.class,
+                    () -> SecretVault.initialize("OtherEnvFile", SECRET_KEY_NAME, "PORTAL_USERNAME"));
+            Assert.expectThrows(IllegalStateException.class,
+                    () -> SecretVault.initialize(ALIAS, "OTHER_SECRET_KEY", "PORTAL_USERNAME"));
+            Assert.assertEquals(SecretVault.getInstance().getSecret("PORTAL_USERNAME").toString(), "admin");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testVaultStaysBoundToItsAliasAndKey", "Vault accepted a different binding");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testHeldSecretsAreNotDecryptedAgain() throws Exception {
+        try {
+            SecretVault vault = SecretVault.initialize(ALIAS, SECRET_KEY_NAME, "PORTAL_USERNAME", "PORTAL_PASSWORD");
+
+            // Values that no longer decrypt make any repeated decryption fail
+            corruptEnvironmentFile();
+
+            Assert.assertSame(SecretVault.initialize(ALIAS, SECRET_KEY_NAME, "PORTAL_PASSWORD", "PORTAL_USERNAME"), vault);
+            Assert.assertEquals(vault.getSecret("PORTAL_PASSWORD").toString(), "s3cret");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testHeldSecretsAreNotDecryptedAgain", "Vault decrypted held secrets again");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testLaterCallsDecryptOnlyMissingSecrets() throws Exception {
+        try {
+            SecretVault vault = SecretVault.initialize(ALIAS, SECRET_KEY_NAME, "PORTAL_USERNAME");
+            char[] username = vault.getSecretChars("PORTAL_USERNAME");
+            Assert.assertEquals(new String(username), "admin");
+            Assert.assertEquals(vault.getSecretNames(), Set.of("PORTAL_USERNAME"));
+
+            Files.writeString(directory.resolve(ENV_FILE_NAME),
+                    "PORTAL_USERNAME=not-a-ciphertext" + System.lineSeparator()
+                            + "PORTAL_PASSWORD=" + CryptoService.encrypt(secretKey, "s3cret") + System.lineSeparator());
+            EnvironmentConfigManager.reloadConfiguration(ALIAS);
+
+            Assert.assertSame(SecretVault.initialize(ALIAS, SECRET_KEY_NAME, "PORTAL_USERNAME", "PORTAL_PASSWORD"), vault);
+            Assert.assertEquals(vault.getSecretNames(), Set.of("PORTAL_USERNAME", "PORTAL_PASSWORD"));
+            Assert.assertEquals(vault.getSecret("PORTAL_USERNAME").toString(), "admin");
+            Assert.assertEquals(vault.getSecret("PORTAL_PASSWORD").toString(), "s3cret");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testLaterCallsDecryptOnlyMissingSecrets", "Vault reloaded secrets it held");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testPrefetchCompletesWithLoadedVault() throws Exception {
+        try {
+            CompletableFuture<SecretVault> prefetch = SecretVault.prefetch(ALIAS, SECRET_KEY_NAME, "PORTAL_PASSWORD");
+            SecretVault vault = prefetch.join();
+            Assert.assertTrue(vault.containsSecret("PORTAL_PASSWORD"));
+            Assert.assertSame(SecretVault.getInstance(), vault);
+
+            corruptEnvironmentFile();
+
+            CompletableFuture<SecretVault> repeated = SecretVault.prefetch(ALIAS, SECRET_KEY_NAME, "PORTAL_PASSWORD");
+            Assert.assertTrue(repeated.isDone(), "A prefetch of held secrets should complete at once");
+            Assert.assertSame(repeated.join(), vault);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testPrefetchCompletesWithLoadedVault", "Prefetch did not load the vault");
+            throw error;
+        }
+    }
+
+    private void corruptEnvironmentFile() throws IOException {
+        Files.writeString(directory.resolve(ENV_FILE_NAME),
+                "PORTAL_USERNAME=not-a-ciphertext" + System.lineSeparator()
+                        + "PORTAL_PASSWORD=not-a-ciphertext" + System.lineSeparator());
+        EnvironmentConfigManager.reloadConfiguration(ALIAS);
+    }
+}
@@ -0,0 +1,113 @@
+package com.hybridframework.tests.configUnitTests.crypto;
+
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.crypto.services.StreamingFileCrypto;
+import com.hybridframework.utils.excelUtils.ExcelConfigManager;
+import com.hybridframework.utils.jacksonUtils.JsonReader;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+public class StreamingFileCryptoTests {
+
+    private static final String TEST_DATA_DIRECTORY = "src/test/resources/testData";
+    private static final int SEGMENT_SIZE = 1024;
+
+    private SecretKey secretKey;
+    private Path workingDirectory;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        secretKey = SecureKeyGenerator.generateSecretKey();
+        workingDirectory = Files.createTempDirectory("streaming-crypto");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workingDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testMultiSegmentRoundTrip() throws Exception {
+        try {
+            byte[] content = new byte[SEGMENT_SIZE * 5 + 17];
+            new Random(42).nextBytes(content);
+            Path plain = Files.write(workingDirectory.resolve("content.bin"), content);
+            Path encrypted = workingDirectory.resolve("content.bin.enc");
+
+            StreamingFileCrypto.encryptFile(secretKey, plain, encrypted, SEGMENT_SIZE);
+            Assert.assertTrue(StreamingFileCrypto.isEncryptedFile(encrypted));
+
+            try (InputStream decrypted = StreamingFileCrypto.openDecryptingStream(secretKey, encrypted)) {
+                Assert.assertEquals(decrypted.readAllBytes(), content);
+            }
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testMultiSegmentRoundTrip", "Failed streaming round trip");
+            throw error;
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testDroppedFinalSegmentIsRejected() throws Exception {
+        byte[] content = new byte[SEGMENT_SIZE * 3];
+        new Random(7).nextBytes(content);
+        Path plain = Files.write(workingDirectory.resolve("truncated.bin"), content);
+        Path encrypted = workingDirectory.resolve("truncated.bin.enc");
+        StreamingFileCrypto.encryptFile(secretKey, plain, encrypted, SEGMENT_SIZE);
+
+        // Cut the file at the last segment boundary; the new last segment was not sealed as final
+        byte[] encryptedBytes = Files.readAllBytes(encrypted);
+        Files.write(encrypted, Arrays.copyOf(encryptedBytes, encryptedBytes.length - (SEGMENT_SIZE + 16)));
+
+        try (InputStream decrypted = StreamingFileCrypto.openDecryptingStream(secretKey, encrypted)) {
+            decrypted.readAllBytes();
+        }
+    }
+
+    @Test
+    public void testEncryptedFixturesReadThroughDecryptingStream() throws Exception {
+        try {
+            Path workbook = Paths.get(TEST_DATA_DIRECTORY, "UserData.xlsx");
+            Path encryptedWorkbook = workingDirectory.resolve("UserData.xlsx.enc");
+            StreamingFileCrypto.encryptFile(secretKey, workbook, encryptedWorkbook);
+
+            List<Map<String, String>> expectedRows = ExcelConfigManager.loadExcelDataAsList(workbook.toString(), "User");
+            try (InputStream decrypted = StreamingFileCrypto.openDecryptingStream(secretKey, encryptedWorkbook)) {
+                Assert.assertEquals(ExcelConfigManager.loadExcelDataAsList(decrypted, "User"), expectedRows);
+            }
+
+            Path json = Paths.get(TEST_DATA_DIRECTORY, "User.json");
+            Path encryptedJson = workingDirectory.resolve("User.json.enc");
+            StreamingFileCrypto.encryptFile(secretKey, json, encryptedJson);
+
+            try (InputStream decrypted = StreamingFileCrypto.openDecryptingStream(secretKey, encryptedJson)) {
+                JsonReader reader = new JsonReader(decrypted);
+                Assert.assertEquals(reader.getString("User", "FirstName"),
+                        new JsonReader(json.toString()).getString("User", "FirstName"));
+            }
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testEncryptedFixturesReadThroughDecryptingStream",
+                    "Failed to read encrypted fixtures");
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.hybridframework.tests.configUnitTests.drivers;
+
+import com.hybridframework.drivers.WebDriverSessionPool;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class WebDriverSessionPoolTests {
+
+    private static final String CHROME = WebDriverSessionPool.sessionKey("chrome", "--headless");
+
+    private final AtomicInteger launched = new AtomicInteger();
+    private final AtomicInteger quit = new AtomicInteger();
+
+    @BeforeMethod
+    public void resetCounters() {
+        launched.set(0);
+        quit.set(0);
+    }
+
+    @Test
+    public void testCheckedInSessionIsReusedForSameKeyOnly() {
+        WebDriverSessionPool pool = new WebDriverSessionPool(2, 10);
+        WebDriver first = pool.checkout(CHROME, launcher(new AtomicBoolean(true)));
+        pool.checkin(first);
+
+        Assert.assertSame(pool.checkout(CHROME, launcher(new AtomicBoolean(true))), first);
+        Assert.assertNotSame(pool.checkout(WebDriverSessionPool.sessionKey("firefox"), launcher(new AtomicBoolean(true))), first);
+        Assert.assertEquals(launched.get(), 2);
+    }
+
+    @Test
+    public void testSessionIsRecycledAfterMaxUses() {
+        WebDriverSessionPool pool = new WebDriverSessionPool(2, 2);
+        Supplier<WebDriver> launcher = launcher(new AtomicBoolean(true));
+        for (int test = 0; test < 3; test++) {
+            pool.checkin(pool.checkout(CHROME, launcher));
+        }
+        Assert.assertEquals(launched.get(), 2);
+        Assert.assertEquals(quit.get(), 1);
+    }
+
+    @Test
+    public void testUnhealthySessionIsReplaced() {
+        WebDriverSessionPool pool = new WebDriverSessionPool(2, 10);
+        AtomicBoolean healthy = new AtomicBoolean(true);
+        WebDriver first = pool.checkout(CHROME, launcher(healthy));
+        pool.checkin(first);
+        healthy.set(false);
+
+        Assert.assertNotSame(pool.checkout(CHROME, launcher(new AtomicBoolean(true))), first);
+        Assert.assertEquals(quit.get(), 1);
+    }
+
+    @Test
+    public void testIdleSessionsAreCappedAtPoolSize() {
+        WebDriverSessionPool pool = new WebDriverSessionPool(1, 10);
+        WebDriver first = pool.checkout(CHROME, launcher(new AtomicBoolean(true)));
+        WebDriver second = pool.checkout(CHROME, launcher(new AtomicBoolean(true)));
+        pool.checkin(first);
+        pool.checkin(second);
+
+        Assert.assertEquals(pool.getIdleCount(), 1);
+        Assert.assertEquals(quit.get(), 1);
+        pool.shutdown();
+        Assert.assertEquals(quit.get(), 2);
+    }
+
+    @Test
+    public void testPrewarmedSessionsAreHandedToCheckouts() {
+        WebDriverSessionPool pool = new WebDriverSessionPool(2, 10);
+        pool.prewarm(CHROME, 3, launcher(new AtomicBoolean(true)));
+        WebDriver first = pool.checkout(CHROME, launcher(new AtomicBoolean(true)));
+        WebDriver second = pool.checkout(CHROME, launcher(new AtomicBoolean(true)));
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(launched.get(), 2);
+        pool.checkout(CHROME, launcher(new AtomicBoolean(true)));
+        Assert.assertEquals(launched.get(), 3);
+    }
+
+    @Test
+    public void testPrewarmIsCappedAtPoolSizeAcrossKeys() {
+        WebDriverSessionPool pool = new WebDriverSessionPool(2, 10);
+        String firefox = WebDriverSessionPool.sessionKey("firefox");
+        pool.prewarm(CHROME, 2, launcher(new AtomicBoolean(true)));
+        pool.prewarm(firefox, 2, launcher(new AtomicBoolean(true)));
+        pool.shutdown();
+
+        Assert.assertEquals(launched.get(), 2);
+        Assert.assertEquals(quit.get(), 2);
+        pool.prewarm(firefox, 2, launcher(new AtomicBoolean(true)));
+        pool.shutdown();
+        Assert.assertEquals(launched.get(), 4, "Sessions claimed or quit no longer count against the cap");
+    }
+
+    @Test
+    public void testCheckinRestoresTimeoutsAndWindowSize() {
+        WebDriverSessionPool pool = new WebDriverSessionPool(2, 10);
+        WebDriver first = pool.checkout(CHROME, launcher(new AtomicBoolean(true)));
+        first.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(5)).implicitlyWait(Duration.ofSeconds(20));
+        first.manage().window().setSize(new Dimension(320, 480));
+        pool.checkin(first);
+
+        WebDriver second = pool.checkout(CHROME, launcher(new AtomicBoolean(true)));
+        Assert.assertSame(second, first);
+        Assert.assertEquals(second.manage().timeouts().getPageLoadTimeout(), Duration.ofSeconds(300));
+        Assert.assertEquals(second.manage().timeouts().getImplicitWaitTimeout(), Duration.ZERO);
+        Assert.assertEquals(second.manage().window().getSize(), new Dimension(1280, 800));
+    }
+
+    /**
+     * Starts fake sessions whose window handle lookup fails while {@code healthy} is false.
+     */
+    private Supplier<WebDriver> launcher(AtomicBoolean healthy) {
+        return () -> {
+            launched.incrementAndGet();
+            Map<String, Object> settings = new ConcurrentHashMap<>(Map.of(
+                    "ImplicitWaitTimeout", Duration.ZERO,
+                    "PageLoadTimeout", Duration.ofSeconds(300),
+                    "ScriptTimeout", Duration.ofSeconds(30),
+                    "Size", new Dimension(1280, 800)));
+            return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getWindowHandle" -> {
+                            if (!healthy.get()) {
+                                throw new IllegalStateException("Session is gone");
+                            }
+                            yield "window";
+                        }
+                        case "getWindowHandles" -> Set.of("window");
+                        case "switchTo" -> Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                                new Class<?>[]{method.getReturnType()}, (nested, nestedMethod, nestedArgs) ->
+                                        nestedMethod.getReturnType() == WebDriver.class ? proxy : null);
+                        case "manage" -> Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                                new Class<?>[]{WebDriver.Options.class}, (options, optionsMethod, optionsArgs) ->
+                                        switch (optionsMethod.getName()) {
+                                            case "timeouts" -> settings(WebDriver.Timeouts.class, settings);
+                                            case "window" -> settings(WebDriver.Window.class, settings);
+                                            default -> null;
+                                        });
+                        case "quit" -> {
+                            quit.incrementAndGet();
+                            yield null;
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "toString" -> "FakeWebDriver";
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    });
+        };
+    }
+
+    /**
+     * Fakes timeouts or the window: setters store into {@code settings} and getters read it back.
+     */
+    private static Object settings(Class<?> type, Map<String, Object> settings) {
+        return Proxy.newProxyInstance(WebDriver.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = switch (method.getName()) {
+                case "implicitlyWait" -> "ImplicitWaitTimeout";
+                case "pageLoadTimeout" -> "PageLoadTimeout";
+                case "scriptTimeout" -> "ScriptTimeout";
+                case "setSize" -> "Size";
+                default -> method.getName().startsWith("get") ? method.getName().substring(3) : null;
+            };
+            if (name == null) {
+                return null;
+            }
+            if (method.getName().startsWith("get")) {
+                return settings.get(name);
+            }
+            settings.put(name, args[0]);
+            return method.getReturnType() == type ? proxy : null;
+        });
+    }
+}
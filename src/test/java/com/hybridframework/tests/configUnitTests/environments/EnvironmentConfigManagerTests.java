@@ -0,0 +1,68 @@
+package com.hybridframework.tests.configUnitTests.environments;
+
+import com.hybridframework.config.environments.EnvironmentConfigManager;
+import com.hybridframework.config.environments.EnvironmentFilePaths;
+import com.hybridframework.config.environments.EnvironmentFileStore;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.utils.Base64Utils;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class EnvironmentConfigManagerTests {
+
+    private static final String ENV_FILE_NAME = ".env.key-cache-test";
+    private static final String SECRET_KEY_NAME = "KEY_CACHE_TEST_SECRET_KEY";
+
+    private Path envFile;
+    private boolean createdDirectory;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        Path directory = Paths.get(EnvironmentFilePaths.getDirectoryPath());
+        createdDirectory = Files.notExists(directory);
+        Files.createDirectories(directory);
+        envFile = directory.resolve(ENV_FILE_NAME);
+        Files.writeString(envFile, SECRET_KEY_NAME + "=" + Base64Utils.encodeSecretKey(SecureKeyGenerator.generateSecretKey())
+                + System.lineSeparator());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(envFile);
+        Files.deleteIfExists(envFile.resolveSibling(ENV_FILE_NAME + ".lock"));
+        if (createdDirectory) {
+            Files.deleteIfExists(envFile.getParent());
+        }
+    }
+
+    @Test
+    public void testCachedSecretKeyFollowsInProcessUpdatesFromAnyAlias() throws IOException {
+        try {
+            EnvironmentConfigManager.loadConfiguration("KeyCacheTestFile", ENV_FILE_NAME);
+            EnvironmentConfigManager.loadConfiguration("KeyCacheTestAlias", ENV_FILE_NAME);
+            SecretKey original = EnvironmentConfigManager.getSecretKeyFromCache("KeyCacheTestFile", SECRET_KEY_NAME);
+            Assert.assertSame(EnvironmentConfigManager.getSecretKeyFromCache("KeyCacheTestFile", SECRET_KEY_NAME), original);
+
+            // Written in process, so the file store swaps its snapshot and a reload finds nothing stale on disk
+            SecretKey replacement = SecureKeyGenerator.generateSecretKey();
+            EnvironmentFileStore.forFile(envFile.toString()).update(SECRET_KEY_NAME, Base64Utils.encodeSecretKey(replacement));
+            EnvironmentConfigManager.reloadConfiguration("KeyCacheTestAlias");
+
+            Assert.assertEquals(EnvironmentConfigManager.getSecretKeyFromCache("KeyCacheTestFile", SECRET_KEY_NAME), replacement);
+            Assert.assertEquals(EnvironmentConfigManager.getSecretKeyFromCache("KeyCacheTestAlias", SECRET_KEY_NAME), replacement);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testCachedSecretKeyFollowsInProcessUpdatesFromAnyAlias",
+                    "Cached secret key was not refreshed");
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.hybridframework.tests.configUnitTests.environments;
+
+import com.hybridframework.config.environments.EnvironmentFileStore;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+public class EnvironmentFileStoreTests {
+
+    private static final int WRITERS = 8;
+    private static final int UPDATES_PER_WRITER = 25;
+
+    private Path workingDirectory;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        workingDirectory = Files.createTempDirectory("env-store");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workingDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testUpdatesReplaceLinesInPlace() throws IOException {
+        try {
+            Path envFile = Files.write(workingDirectory.resolve(".env.inplace"), List.of(
+                    "# credentials",
+                    "PORTAL_USERNAME=\"admin\"",
+                    "PORTAL_PASSWORD=secret # not encrypted yet",
+                    "",
+                    "PORTAL_BASE_URL='https://example.test'"));
+
+            EnvironmentFileStore store = EnvironmentFileStore.forFile(envFile.toString());
+            Assert.assertEquals(store.get("PORTAL_USERNAME"), "admin");
+            Assert.assertEquals(store.get("PORTAL_PASSWORD"), "secret");
+            Assert.assertEquals(store.get("PORTAL_BASE_URL"), "https://example.test");
+
+            Map<String, String> updates = new LinkedHashMap<>();
+            updates.put("PORTAL_PASSWORD", "encrypted-value");
+            updates.put("NEW_VARIABLE", "appended");
+            store.update(updates);
+
+            Assert.assertEquals(Files.readAllLines(envFile), List.of(
+                    "# credentials",
+                    "PORTAL_USERNAME=\"admin\"",
+                    "PORTAL_PASSWORD=encrypted-value",
+                    "",
+                    "PORTAL_BASE_URL='https://example.test'",
+                    "NEW_VARIABLE=appended"));
+            Assert.assertEquals(store.get("PORTAL_PASSWORD"), "encrypted-value");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testUpdatesReplaceLinesInPlace", "Failed in-place update");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testExportedAndMultiLineEntriesAreReadAndReplaced() throws IOException {
+        try {
+            Path envFile = Files.write(workingDirectory.resolve(".env.dotenv"), List.of(
+                    "export PORTAL_USERNAME=admin",
+                    "CERTIFICATE=\"-----BEGIN-----",
+                    "abc",
+                    "-----END-----\" # pasted",
+                    "PORTAL_PASSWORD=secret",
+                    "not an entry"));
+
+            EnvironmentFileStore store = EnvironmentFileStore.forFile(envFile.toString());
+            Assert.assertEquals(store.get("PORTAL_USERNAME"), "admin");
+            Assert.assertEquals(store.get("CERTIFICATE"), "-----BEGIN-----\nabc\n-----END-----");
+            Assert.assertEquals(store.get("PORTAL_PASSWORD"), "secret");
+            Assert.assertEquals(store.getValues().size(), 3);
+
+            Map<String, String> updates = new LinkedHashMap<>();
+            updates.put("PORTAL_USERNAME", "encrypted-username");
+            updates.put("CERTIFICATE", "encrypted-certificate");
+            store.update(updates);
+
+            Assert.assertEquals(Files.readAllLines(envFile), List.of(
+                    "export PORTAL_USERNAME=encrypted-username",
+                    "CERTIFICATE=encrypted-certificate",
+                    "PORTAL_PASSWORD=secret",
+                    "not an entry"));
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testExportedAndMultiLineEntriesAreReadAndReplaced", "Failed dotenv syntax");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testValuesThatNeedQuotingReadBackAsWritten() throws IOException {
+        try {
+            Path envFile = Files.write(workingDirectory.resolve(".env.quoting"), List.of("PLAIN=old"));
+            EnvironmentFileStore store = EnvironmentFileStore.forFile(envFile.toString());
+
+            Map<String, String> updates = new LinkedHashMap<>();
+            updates.put("PLAIN", "p@ss'word\"");
+            updates.put("HASH", "p@ss#word");
+            updates.put("PADDED", "  spaced  ");
+            updates.put("QUOTED", "\"both\" 'quotes' and \\ backslash");
+            updates.put("SINGLE", "'single'");
+            updates.put("EMPTY", "");
+            store.update(updates);
+
+            Assert.assertEquals(Files.readAllLines(envFile), List.of(
+                    "PLAIN=p@ss'word\"",
+                    "HASH=\"p@ss#word\"",
+                    "PADDED=\"  spaced  \"",
+                    "QUOTED=\"\\\"both\\\" 'quotes' and \\\\ backslash\"",
+                    "SINGLE=\"'single'\"",
+                    "EMPTY="));
+            Assert.assertEquals(store.getValues(), updates);
+
+            // A fresh parse of the file, not the snapshot taken on commit
+            Files.copy(envFile, workingDirectory.resolve(".env.quoting-copy"));
+            Assert.assertEquals(EnvironmentFileStore.forFile(workingDirectory.resolve(".env.quoting-copy").toString())
+                    .getValues(), updates);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testValuesThatNeedQuotingReadBackAsWritten", "Failed to quote values");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testConcurrentWritersDoNotLoseUpdates() throws Exception {
+        try {
+            Path envFile = Files.write(workingDirectory.resolve(".env.concurrent"), List.of("BASE=1"));
+            EnvironmentFileStore store = EnvironmentFileStore.forFile(envFile.toString());
+
+            try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+                List<Future<?>> writers = new ArrayList<>();
+                for (int writer = 0; writer < WRITERS; writer++) {
+                    int writerId = writer;
+                    writers.add(executor.submit(() -> {
+                        for (int update = 0; update < UPDATES_PER_WRITER; update++) {
+                            store.update("WRITER_" + writerId + "_" + update, String.valueOf(update));
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+            }
+
+            Assert.assertEquals(Files.readAllLines(envFile).size(), 1 + WRITERS * UPDATES_PER_WRITER);
+            Assert.assertEquals(store.getValues().size(), 1 + WRITERS * UPDATES_PER_WRITER);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testConcurrentWritersDoNotLoseUpdates", "Failed concurrent updates");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testExternalEditIsPickedUpBeforeCommit() throws IOException {
+        try {
+            Path envFile = Files.write(workingDirectory.resolve(".env.external"), List.of("FIRST=1"));
+            EnvironmentFileStore store = EnvironmentFileStore.forFile(envFile.toString());
+
+            // Another process appends a variable after the store was opened
+            Files.write(envFile, List.of("FIRST=1", "SECOND=2"));
+            store.update("THIRD", "3");
+
+            Assert.assertEquals(Files.readAllLines(envFile), List.of("FIRST=1", "SECOND=2", "THIRD=3"));
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testExternalEditIsPickedUpBeforeCommit", "Failed to merge external edit");
+            throw error;
+        }
+    }
+}
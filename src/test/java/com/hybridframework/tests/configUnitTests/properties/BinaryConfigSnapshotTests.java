@@ -0,0 +1,144 @@
+package com.hybridframework.tests.configUnitTests.properties;
+
+import com.hybridframework.config.BinaryConfigSnapshot;
+import com.hybridframework.config.environments.EnvironmentFilePaths;
+import com.hybridframework.config.environments.EnvironmentSecretKey;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.utils.Base64Utils;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+public class BinaryConfigSnapshotTests {
+
+    private static final String ENVIRONMENT = "UAT";
+
+    private Path directory;
+    private Path propertiesFile;
+    private Path uatPropertiesFile;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("config-snapshot");
+        System.setProperty("configSnapshotDir", directory.toString());
+        propertiesFile = Files.writeString(directory.resolve("config.properties"), "THREAD_COUNT=4\n");
+        uatPropertiesFile = Files.writeString(directory.resolve("config-uat.properties"), "BROWSER=chrome\n");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        System.clearProperty("configSnapshotDir");
+        System.clearProperty("envDirectory");
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testSnapshotRoundTripsValuesOfUnchangedFiles() throws IOException {
+        List<BinaryConfigSnapshot.Source> sources = sources();
+        Map<String, Map<String, String>> values = Map.of(
+                "GlobalConfig", Map.of("THREAD_COUNT", "4"),
+                "UatConfig", Map.of("BROWSER", "chrome"));
+        BinaryConfigSnapshot.write(ENVIRONMENT, sources, values);
+
+        Optional<Map<String, Map<String, String>>> cached = BinaryConfigSnapshot.read(ENVIRONMENT, sources());
+        Assert.assertEquals(cached.orElseThrow(), values);
+    }
+
+    @Test
+    public void testChangedSourceFileInvalidatesSnapshot() throws IOException {
+        BinaryConfigSnapshot.write(ENVIRONMENT, sources(), Map.of(
+                "GlobalConfig", Map.of("THREAD_COUNT", "4"),
+                "UatConfig", Map.of("BROWSER", "chrome")));
+
+        Files.setLastModifiedTime(propertiesFile, FileTime.fromMillis(Files.getLastModifiedTime(propertiesFile).toMillis() + 1000));
+        Assert.assertTrue(BinaryConfigSnapshot.read(ENVIRONMENT, sources()).isEmpty());
+    }
+
+    @Test
+    public void testCorruptedSnapshotIsIgnored() throws IOException {
+        BinaryConfigSnapshot.write(ENVIRONMENT, sources(), Map.of(
+                "GlobalConfig", Map.of("THREAD_COUNT", "4"),
+                "UatConfig", Map.of("BROWSER", "chrome")));
+
+        Path snapshot = BinaryConfigSnapshot.getSnapshotPath(ENVIRONMENT);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(snapshot, bytes);
+        Assert.assertTrue(BinaryConfigSnapshot.read(ENVIRONMENT, sources()).isEmpty());
+    }
+
+    @Test
+    public void testSnapshotNeverContainsEnvironmentFileSecrets() throws Exception {
+        try {
+            SecretKey secretKey = SecureKeyGenerator.generateSecretKey();
+            String encodedKey = Base64Utils.encodeSecretKey(secretKey);
+            System.setProperty("envDirectory", directory.toString());
+            Files.writeString(directory.resolve(EnvironmentFilePaths.BASE.getEnvironmentFilename()),
+                    EnvironmentSecretKey.UAT.getKeyName() + "=" + encodedKey + "\n");
+            Files.writeString(directory.resolve(EnvironmentFilePaths.UAT.getEnvironmentFilename()), "PORTAL_USERNAME=admin\n");
+
+            List<BinaryConfigSnapshot.Source> sources = BinaryConfigSnapshot.sources(ENVIRONMENT);
+            Map<String, Map<String, String>> values = new HashMap<>();
+            for (BinaryConfigSnapshot.Source source : sources) {
+                Assert.assertTrue(source.path().endsWith(".properties"), source.path());
+                values.put(source.alias(), parse(Path.of(source.path())));
+            }
+            BinaryConfigSnapshot.write(ENVIRONMENT, sources, values);
+
+            byte[] snapshot = Files.readAllBytes(BinaryConfigSnapshot.getSnapshotPath(ENVIRONMENT));
+            Assert.assertFalse(contains(snapshot, encodedKey.getBytes(StandardCharsets.UTF_8)), "Snapshot holds the encoded key");
+            Assert.assertFalse(contains(snapshot, secretKey.getEncoded()), "Snapshot holds the raw key");
+            Assert.assertFalse(contains(snapshot, "PORTAL_USERNAME".getBytes(StandardCharsets.UTF_8)), "Snapshot holds .env entries");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testSnapshotNeverContainsEnvironmentFileSecrets",
+                    "Configuration snapshot copied .env contents");
+            throw error;
+        }
+    }
+
+    private List<BinaryConfigSnapshot.Source> sources() throws IOException {
+        return List.of(
+                BinaryConfigSnapshot.Source.of("GlobalConfig", propertiesFile.toString()),
+                BinaryConfigSnapshot.Source.of("UatConfig", uatPropertiesFile.toString()));
+    }
+
+    private static Map<String, String> parse(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        Map<String, String> values = new HashMap<>();
+        properties.stringPropertyNames().forEach(name -> values.put(name, properties.getProperty(name)));
+        return values;
+    }
+
+    private static boolean contains(byte[] bytes, byte[] part) {
+        for (int start = 0; start <= bytes.length - part.length; start++) {
+            if (Arrays.equals(bytes, start, start + part.length, part, 0, part.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package com.hybridframework.tests.configUnitTests.properties;
+
+import com.hybridframework.config.ConfigAccessStats;
+import com.hybridframework.config.ConfigOverrides;
+import com.hybridframework.config.properties.ConfigKey;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.config.properties.PropertiesFileAlias;
+import com.hybridframework.config.properties.PropertiesFilePath;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ConfigAccessStatsTests {
+
+    private static final String GLOBAL = PropertiesFileAlias.GLOBAL.getConfigurationAlias();
+
+    private PropertiesConfigManager config;
+
+    @BeforeClass
+    public void setUp() {
+        PropertiesConfigManager.loadConfiguration(GLOBAL, PropertiesFilePath.GLOBAL.getPropertiesFilePath());
+        config = PropertiesConfigManager.getConfiguration(GLOBAL);
+    }
+
+    @Test
+    public void testConcurrentReadsAreAllCounted() throws Exception {
+        long before = countOf(ConfigKey.POLLING_TIMEOUT.getName());
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int task = 0; task < 8; task++) {
+                executor.submit(() -> {
+                    for (int read = 0; read < 10_000; read++) {
+                        config.getInt(ConfigKey.POLLING_TIMEOUT);
+                    }
+                });
+            }
+        }
+        Assert.assertEquals(countOf(ConfigKey.POLLING_TIMEOUT.getName()) - before, 80_000);
+    }
+
+    @Test
+    public void testFirstAndLastSourceAreRecorded() {
+        String key = "SCREENSHOT_DIR";
+        boolean readBefore = countOf(key) > 0;
+        config.getProperty(key);
+        try (ConfigOverrides.Scope ignored = ConfigOverrides.override(key, "override-screenshots")) {
+            config.getProperty(key);
+        }
+
+        ConfigAccessStats.KeyAccess access = ConfigAccessStats.getAccesses().stream()
+                .filter(candidate -> candidate.configAlias().equals(GLOBAL) && candidate.key().equals(key))
+                .findFirst()
+                .orElseThrow();
+        if (!readBefore) {
+            Assert.assertEquals(access.firstSource(), ConfigAccessStats.FILE);
+        }
+        Assert.assertEquals(access.lastSource(), ConfigAccessStats.THREAD_OVERRIDE);
+    }
+
+    @Test
+    public void testUnreadKeysAreReportedAndReadKeysAreNot() throws IOException {
+        Path readFile = Files.createTempFile("stats-read", ".properties");
+        Path unreadFile = Files.createTempFile("stats-unread", ".properties");
+        try {
+            Files.writeString(readFile, "STATS_SHARED_KEY=read\nSTATS_UNREAD_KEY=unread\n");
+            Files.writeString(unreadFile, "STATS_SHARED_KEY=unread\n");
+            String readAlias = "StatsConfig-" + readFile.getFileName();
+            String unreadAlias = "StatsConfig-" + unreadFile.getFileName();
+            PropertiesConfigManager.loadConfiguration(readAlias, readFile.toString());
+            PropertiesConfigManager.loadConfiguration(unreadAlias, unreadFile.toString());
+
+            config.getProperty("REPORT_DIR");
+            PropertiesConfigManager.getConfiguration(readAlias).getProperty("STATS_SHARED_KEY");
+
+            Map<String, Set<String>> unusedKeys = ConfigAccessStats.getUnusedKeys();
+            Set<String> unused = unusedKeys.getOrDefault(GLOBAL, Set.of());
+            Assert.assertFalse(unused.contains("REPORT_DIR"));
+            Assert.assertTrue(config.getSnapshot().getValues().keySet().containsAll(unused),
+                    "Only keys defined in the file can be reported as unused");
+            Assert.assertEquals(unusedKeys.get(readAlias), Set.of("STATS_UNREAD_KEY"));
+            Assert.assertEquals(unusedKeys.get(unreadAlias), Set.of("STATS_SHARED_KEY"),
+                    "A read through one configuration must not mark the same key used in another");
+        } finally {
+            Files.deleteIfExists(readFile);
+            Files.deleteIfExists(unreadFile);
+        }
+    }
+
+    private long countOf(String key) {
+        return ConfigAccessStats.getAccesses().stream()
+                .filter(access -> access.configAlias().equals(GLOBAL) && access.key().equals(key))
+                .mapToLong(ConfigAccessStats.KeyAccess::count)
+                .sum();
+    }
+}
@@ -0,0 +1,67 @@
+package com.hybridframework.tests.configUnitTests.properties;
+
+import com.hybridframework.config.ConfigFileWatcher;
+import com.hybridframework.config.properties.ConfigKey;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class ConfigFileWatcherTests {
+
+    private Path configDirectory;
+    private final BlockingQueue<ConfigFileWatcher.ConfigChange> changes = new LinkedBlockingQueue<>();
+    private final Consumer<ConfigFileWatcher.ConfigChange> listener = changes::add;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        configDirectory = Files.createTempDirectory("watched-config");
+        ConfigFileWatcher.addListener(listener);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        ConfigFileWatcher.stop();
+        ConfigFileWatcher.removeListener(listener);
+        try (Stream<Path> paths = Files.walk(configDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testEditedPropertiesFileIsReloaded() throws Exception {
+        try {
+            Path propertiesFile = configDirectory.resolve("watched.properties");
+            Files.writeString(propertiesFile, "DEFAULT_GLOBAL_TIMEOUT=45\n");
+            String configAlias = "WatchedConfig-" + configDirectory.getFileName();
+            PropertiesConfigManager.loadConfiguration(configAlias, propertiesFile.toString());
+            PropertiesConfigManager config = PropertiesConfigManager.getConfiguration(configAlias);
+
+            ConfigFileWatcher.start(configDirectory);
+            Files.writeString(propertiesFile, "DEFAULT_GLOBAL_TIMEOUT=90\n");
+
+            ConfigFileWatcher.ConfigChange change = changes.poll(10, TimeUnit.SECONDS);
+            Assert.assertNotNull(change, "No reload within 10 seconds");
+            Assert.assertEquals(change.configAlias(), configAlias);
+            Assert.assertEquals(change.version(), config.getSnapshot().getVersion());
+            Assert.assertEquals(config.getInt(ConfigKey.DEFAULT_GLOBAL_TIMEOUT), 90);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testEditedPropertiesFileIsReloaded", "Failed to hot reload properties");
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.hybridframework.tests.configUnitTests.properties;
+
+import com.hybridframework.config.ConfigOverrides;
+import com.hybridframework.config.properties.ConfigKey;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.config.properties.PropertiesFileAlias;
+import com.hybridframework.config.properties.PropertiesFilePath;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class ConfigOverridesTests {
+
+    private static final String BROWSER = "CHROME_BROWSER";
+
+    private PropertiesConfigManager config;
+
+    @BeforeClass
+    public void setUp() {
+        PropertiesConfigManager.loadConfiguration(
+                PropertiesFileAlias.GLOBAL.getConfigurationAlias(), PropertiesFilePath.GLOBAL.getPropertiesFilePath());
+        config = PropertiesConfigManager.getConfiguration(PropertiesFileAlias.GLOBAL.getConfigurationAlias());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        ConfigOverrides.clear();
+    }
+
+    @Test
+    public void testOverridesAreVisibleToTheirThreadOnly() throws Exception {
+        try (ConfigOverrides.Scope ignored = ConfigOverrides.override(Map.of(
+                BROWSER, "firefox",
+                ConfigKey.DEFAULT_GLOBAL_TIMEOUT.getName(), "5"))) {
+            Assert.assertEquals(config.getProperty(BROWSER), "firefox");
+            Assert.assertEquals(config.getInt(ConfigKey.DEFAULT_GLOBAL_TIMEOUT), 5);
+
+            String otherThreadBrowser = CompletableFuture.supplyAsync(() -> config.getProperty(BROWSER)).get();
+            Assert.assertEquals(otherThreadBrowser, "chrome", "Overrides must not leak to other threads");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testOverridesAreVisibleToTheirThreadOnly", "Failed to apply scoped override");
+            throw error;
+        }
+        Assert.assertEquals(config.getProperty(BROWSER), "chrome", "Closing the scope must remove the override");
+    }
+
+    @Test
+    public void testNestedScopesRestoreOuterOverrides() {
+        try (ConfigOverrides.Scope outer = ConfigOverrides.override(BROWSER, "edge")) {
+            try (ConfigOverrides.Scope inner = ConfigOverrides.override(BROWSER, "firefox")) {
+                Assert.assertEquals(config.getProperty(BROWSER), "firefox");
+            }
+            Assert.assertEquals(config.getProperty(BROWSER), "edge");
+        }
+        Assert.assertTrue(ConfigOverrides.current().isEmpty());
+    }
+}
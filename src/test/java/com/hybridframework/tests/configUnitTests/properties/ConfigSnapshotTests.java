@@ -0,0 +1,76 @@
+package com.hybridframework.tests.configUnitTests.properties;
+
+import com.hybridframework.config.properties.ConfigKey;
+import com.hybridframework.config.properties.ConfigSnapshot;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ConfigSnapshotTests {
+
+    private Path propertiesFile;
+    private String configAlias;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        propertiesFile = Files.createTempFile("snapshot-config", ".properties");
+        configAlias = "SnapshotConfig-" + propertiesFile.getFileName();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        System.clearProperty(ConfigKey.POLLING_TIMEOUT.getName());
+        Files.deleteIfExists(propertiesFile);
+    }
+
+    @Test
+    public void testKeysAreParsedWithDefaultsAndOverrides() throws Exception {
+        try {
+            Files.writeString(propertiesFile, """
+                    DEFAULT_GLOBAL_TIMEOUT=45
+                    IMPLICIT_TIMEOUT=not-a-number
+                    POLLING_TIMEOUT=1000
+                    """);
+            System.setProperty(ConfigKey.POLLING_TIMEOUT.getName(), "250");
+
+            PropertiesConfigManager.loadConfiguration(configAlias, propertiesFile.toString());
+            PropertiesConfigManager config = PropertiesConfigManager.getConfiguration(configAlias);
+
+            Assert.assertEquals(config.getInt(ConfigKey.DEFAULT_GLOBAL_TIMEOUT), 45);
+            Assert.assertEquals(config.getInt(ConfigKey.IMPLICIT_TIMEOUT), 10, "Invalid values fall back to the default");
+            Assert.assertEquals(config.getInt(ConfigKey.MAX_RETRY_COUNT), 2, "Missing values fall back to the default");
+            Assert.assertEquals(config.getInt(ConfigKey.POLLING_TIMEOUT), 250, "System properties override the file");
+            Assert.assertEquals(config.get(ConfigKey.SCREENSHOT_DIR), "screenshots");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testKeysAreParsedWithDefaultsAndOverrides", "Failed to parse config snapshot");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testReloadPublishesNewSnapshot() throws Exception {
+        try {
+            Files.writeString(propertiesFile, "DEFAULT_GLOBAL_TIMEOUT=45\n");
+            PropertiesConfigManager.loadConfiguration(configAlias, propertiesFile.toString());
+            ConfigSnapshot before = PropertiesConfigManager.getConfiguration(configAlias).getSnapshot();
+
+            Files.writeString(propertiesFile, "DEFAULT_GLOBAL_TIMEOUT=90\n");
+            PropertiesConfigManager.reloadConfiguration(configAlias);
+            PropertiesConfigManager config = PropertiesConfigManager.getConfiguration(configAlias);
+
+            Assert.assertEquals(config.getInt(ConfigKey.DEFAULT_GLOBAL_TIMEOUT), 90);
+            Assert.assertEquals(config.getProperty(ConfigKey.DEFAULT_GLOBAL_TIMEOUT.getName()), "90");
+            Assert.assertEquals(before.getInt(ConfigKey.DEFAULT_GLOBAL_TIMEOUT), 45, "Old snapshots must not change");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testReloadPublishesNewSnapshot", "Failed to reload config snapshot");
+            throw error;
+        }
+    }
+}
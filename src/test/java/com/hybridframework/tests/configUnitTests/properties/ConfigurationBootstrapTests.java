@@ -0,0 +1,44 @@
+package com.hybridframework.tests.configUnitTests.properties;
+
+import com.hybridframework.config.ConfigurationBootstrap;
+import com.hybridframework.config.LayeredConfigResolver;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.config.properties.PropertiesFileAlias;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConfigurationBootstrapTests {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    public void testConcurrentCallersShareOneLoad() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                callers.add(executor.submit(() -> ConfigurationBootstrap.initialize(PropertiesFileAlias.UAT.name())));
+            }
+            for (Future<?> caller : callers) {
+                caller.get();
+            }
+
+            Assert.assertTrue(ConfigurationBootstrap.isReady());
+            Assert.assertTrue(PropertiesConfigManager.isConfigurationLoaded(PropertiesFileAlias.GLOBAL.getConfigurationAlias()));
+            Assert.assertTrue(PropertiesConfigManager.isConfigurationLoaded(PropertiesFileAlias.UAT.getConfigurationAlias()));
+            Assert.assertTrue(LayeredConfigResolver.isInitialized());
+
+            // Later calls find the configuration ready and return without loading again
+            ConfigurationBootstrap.initialize(PropertiesFileAlias.UAT.name());
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testConcurrentCallersShareOneLoad", "Failed to bootstrap configuration");
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.hybridframework.tests.configUnitTests.properties;
+
+import com.hybridframework.config.LayeredConfigResolver;
+import com.hybridframework.config.properties.PropertiesConfigManager;
+import com.hybridframework.config.properties.PropertiesFileAlias;
+import com.hybridframework.config.properties.PropertiesFilePath;
+import com.hybridframework.utils.logging.ErrorHandler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class LayeredConfigResolverTests {
+
+    private static final String BROWSER = "CHROME_BROWSER";
+    private static final String URL = "PORTAL_BASE_URL";
+
+    @BeforeClass
+    public void setUp() {
+        PropertiesConfigManager.loadConfiguration(
+                PropertiesFileAlias.GLOBAL.getConfigurationAlias(), PropertiesFilePath.GLOBAL.getPropertiesFilePath());
+        PropertiesConfigManager.loadConfiguration(
+                PropertiesFileAlias.UAT.getConfigurationAlias(), PropertiesFilePath.UAT.getPropertiesFilePath());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        System.clearProperty(BROWSER);
+    }
+
+    @Test
+    public void testValuesRecordTheirLayer() {
+        try {
+            LayeredConfigResolver resolver = LayeredConfigResolver.build(PropertiesFileAlias.UAT.name());
+
+            Assert.assertEquals(resolver.get(BROWSER), "chrome");
+            Assert.assertEquals(resolver.resolve(BROWSER).orElseThrow().source(), LayeredConfigResolver.Source.GLOBAL_PROPERTIES);
+            Assert.assertEquals(resolver.resolve(URL).orElseThrow().source(), LayeredConfigResolver.Source.ENVIRONMENT_PROPERTIES);
+            Assert.assertEquals(resolver.describeSources().get(URL), LayeredConfigResolver.Source.ENVIRONMENT_PROPERTIES);
+            Assert.assertEquals(resolver.get("MISSING_KEY", "fallback"), "fallback");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testValuesRecordTheirLayer", "Failed to resolve configuration layers");
+            throw error;
+        }
+    }
+
+    @Test
+    public void testSystemPropertyOverridesFiles() {
+        try {
+            System.setProperty(BROWSER, "firefox");
+            LayeredConfigResolver resolver = LayeredConfigResolver.build(PropertiesFileAlias.UAT.name());
+
+            Assert.assertEquals(resolver.get(BROWSER), "firefox");
+            Assert.assertEquals(resolver.describeSources().get(BROWSER), LayeredConfigResolver.Source.SYSTEM_PROPERTY);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "testSystemPropertyOverridesFiles", "Failed to apply system property layer");
+            throw error;
+        }
+    }
+}
@@ -30,6 +30,15 @@ public class KeyGeneratorTest {
                     Base64Utils.encodeSecretKey(generatedSecretKey)
             );
             logger.info("Secret key generated and Saved successfully");
+
+            // Optionally tune Argon2 to this machine: -DcalibrateArgon2=true
+            if (Boolean.getBoolean("calibrateArgon2")) {
+                EnvironmentCryptoManager.saveArgon2SettingsInBaseEnvironment(
+                        EnvironmentFilePaths.BASE.getEnvironmentFileFullPath(),
+                        EnvironmentSecretKey.UAT.getKeyName(),
+                        SecureKeyGenerator.calibrateArgon2Settings()
+                );
+            }
         } catch (IOException error){
             ErrorHandler.logError(error, "generateSecretKey", "Failed to generate secret key");
             throw error;
@@ -0,0 +1,140 @@
+package com.hybridframework.tests.encryption;
+
+import com.hybridframework.config.environments.EnvironmentConfigManager;
+import com.hybridframework.config.environments.EnvironmentFileAlias;
+import com.hybridframework.config.environments.EnvironmentFilePaths;
+import com.hybridframework.config.environments.EnvironmentFileStore;
+import com.hybridframework.config.environments.EnvironmentSecretKey;
+import com.hybridframework.crypto.services.CryptoService;
+import com.hybridframework.crypto.services.KeyRing;
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.crypto.utils.EnvironmentCryptoManager;
+import com.hybridframework.tests.base.TestBase;
+import com.hybridframework.utils.Base64Utils;
+import com.hybridframework.utils.LegacyCiphertexts;
+import com.hybridframework.utils.logging.ErrorHandler;
+import com.hybridframework.utils.logging.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.crypto.CryptoException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class KeyRotationTest extends TestBase {
+
+    private static final Logger logger = LoggerUtils.getLogger(KeyRotationTest.class);
+    private static final String LEGACY_KEY_VARIABLE = "ROTATION_TEST_SECRET_KEY";
+    private static final String INTERRUPTED_KEY_VARIABLE = "INTERRUPTED_ROTATION_TEST_SECRET_KEY";
+    private static final String LEGACY_VALUE = "legacy-credential";
+
+    // Run in terminal to rotate the UAT key: mvn clean test -Denv=rotate -DskipBrowserSetup=true
+    @Test(groups = {"rotation"})
+    public void rotateSecretKey() throws CryptoException {
+        try {
+            String newKeyId = EnvironmentCryptoManager.rotateSecretKey(
+                    EnvironmentFilePaths.BASE.getEnvironmentFileFullPath(),
+                    EnvironmentFilePaths.UAT.getEnvironmentFileFullPath(),
+                    EnvironmentSecretKey.UAT.getKeyName()
+            );
+            logger.info("Secret key rotated successfully, new key id {}", newKeyId);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "rotateSecretKey", "Failed to rotate secret key");
+            throw error;
+        }
+    }
+
+    /**
+     * Rotates a throwaway key over a file holding a legacy ciphertext, which has no key id, and restores the
+     * base environment file afterwards.
+     */
+    @Test
+    public void rotateSecretKeyReEncryptsLegacyValues() throws Exception {
+        Path baseFile = Paths.get(EnvironmentFilePaths.BASE.getEnvironmentFileFullPath());
+        Path environmentFile = Paths.get(EnvironmentFilePaths.getDirectoryPath(), ".env.rotation-test");
+        byte[] originalBaseFile = Files.readAllBytes(baseFile);
+        try {
+            SecretKey oldKey = SecureKeyGenerator.generateSecretKey();
+            EnvironmentCryptoManager.saveSecretKeyInBaseEnvironment(
+                    baseFile.toString(), LEGACY_KEY_VARIABLE, Base64Utils.encodeSecretKey(oldKey));
+            Files.writeString(environmentFile, "LEGACY_PASSWORD=" + LegacyCiphertexts.encrypt(oldKey, LEGACY_VALUE)
+                    + System.lineSeparator() + "PORTAL_URL=https://example.test" + System.lineSeparator());
+
+            String newKeyId = EnvironmentCryptoManager.rotateSecretKey(
+                    baseFile.toString(), environmentFile.toString(), LEGACY_KEY_VARIABLE);
+
+            EnvironmentFileStore rotatedFile = EnvironmentFileStore.forFile(environmentFile.toString());
+            String rotatedValue = rotatedFile.get("LEGACY_PASSWORD");
+            SecretKey newKey = Base64Utils.decodeSecretKey(
+                    EnvironmentFileStore.forFile(baseFile.toString()).get(LEGACY_KEY_VARIABLE));
+            Assert.assertEquals(KeyRing.keyIdOfCiphertext(rotatedValue).orElseThrow(), newKeyId);
+            Assert.assertEquals(CryptoService.decrypt(newKey, rotatedValue), LEGACY_VALUE);
+            Assert.assertEquals(rotatedFile.get("PORTAL_URL"), "https://example.test");
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "rotateSecretKeyReEncryptsLegacyValues", "Failed to rotate legacy values");
+            throw error;
+        } finally {
+            Files.write(baseFile, originalBaseFile);
+            EnvironmentConfigManager.reloadConfiguration(EnvironmentFileAlias.BASE.getEnvironmentAlias());
+            Files.deleteIfExists(environmentFile);
+            Files.deleteIfExists(environmentFile.resolveSibling(environmentFile.getFileName() + ".lock"));
+        }
+    }
+
+    /**
+     * Fails a rotation after the new key is saved but before the environment file is written, by putting a
+     * directory where the file's lock belongs, then checks the untagged value still decrypts and that the next
+     * rotation recovers it.
+     */
+    @Test
+    public void interruptedRotationLeavesLegacyValuesDecryptable() throws Exception {
+        Path baseFile = Paths.get(EnvironmentFilePaths.BASE.getEnvironmentFileFullPath());
+        Path environmentFile = Paths.get(EnvironmentFilePaths.getDirectoryPath(), ".env.interrupted-rotation-test");
+        Path lockPath = environmentFile.resolveSibling(environmentFile.getFileName() + ".lock");
+        String alias = "InterruptedRotationTestEnvFile";
+        byte[] originalBaseFile = Files.readAllBytes(baseFile);
+        try {
+            SecretKey oldKey = SecureKeyGenerator.generateSecretKey();
+            EnvironmentCryptoManager.saveSecretKeyInBaseEnvironment(
+                    baseFile.toString(), INTERRUPTED_KEY_VARIABLE, Base64Utils.encodeSecretKey(oldKey));
+            String legacyValue = LegacyCiphertexts.encrypt(oldKey, LEGACY_VALUE);
+            Files.writeString(environmentFile, "LEGACY_PASSWORD=" + legacyValue + System.lineSeparator());
+            Files.createDirectory(lockPath);
+
+            RuntimeException failure = Assert.expectThrows(RuntimeException.class, () -> EnvironmentCryptoManager.rotateSecretKey(
+                    baseFile.toString(), environmentFile.toString(), INTERRUPTED_KEY_VARIABLE));
+            Assert.assertTrue(failure.getCause() instanceof IOException, String.valueOf(failure.getCause()));
+            EnvironmentFileStore savedKeys = EnvironmentFileStore.forFile(baseFile.toString());
+            Assert.assertNotEquals(savedKeys.get(INTERRUPTED_KEY_VARIABLE), Base64Utils.encodeSecretKey(oldKey));
+            Assert.assertEquals(savedKeys.get(INTERRUPTED_KEY_VARIABLE + "_PREVIOUS"), Base64Utils.encodeSecretKey(oldKey));
+            Assert.assertEquals(EnvironmentFileStore.forFile(environmentFile.toString()).get("LEGACY_PASSWORD"), legacyValue);
+
+            EnvironmentConfigManager.reloadConfiguration(EnvironmentFileAlias.BASE.getEnvironmentAlias());
+            EnvironmentConfigManager.loadConfiguration(alias, environmentFile.getFileName().toString());
+            Assert.assertEquals(EnvironmentCryptoManager.decryptEnvironmentVariable(
+                    alias, INTERRUPTED_KEY_VARIABLE, "LEGACY_PASSWORD"), LEGACY_VALUE);
+
+            Files.delete(lockPath);
+            String newKeyId = EnvironmentCryptoManager.rotateSecretKey(
+                    baseFile.toString(), environmentFile.toString(), INTERRUPTED_KEY_VARIABLE);
+            String rotatedValue = EnvironmentFileStore.forFile(environmentFile.toString()).get("LEGACY_PASSWORD");
+            SecretKey newKey = Base64Utils.decodeSecretKey(
+                    EnvironmentFileStore.forFile(baseFile.toString()).get(INTERRUPTED_KEY_VARIABLE));
+            Assert.assertEquals(KeyRing.keyIdOfCiphertext(rotatedValue).orElseThrow(), newKeyId);
+            Assert.assertEquals(CryptoService.decrypt(newKey, rotatedValue), LEGACY_VALUE);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "interruptedRotationLeavesLegacyValuesDecryptable",
+                    "Interrupted rotation lost a legacy value");
+            throw error;
+        } finally {
+            Files.deleteIfExists(lockPath);
+            Files.deleteIfExists(environmentFile);
+            Files.write(baseFile, originalBaseFile);
+            EnvironmentConfigManager.reloadConfiguration(EnvironmentFileAlias.BASE.getEnvironmentAlias());
+        }
+    }
+}
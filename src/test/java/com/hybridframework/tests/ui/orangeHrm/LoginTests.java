@@ -1,8 +1,6 @@
 package com.hybridframework.tests.ui.orangeHrm;
 
-import com.hybridframework.config.environments.EnvironmentFileAlias;
-import com.hybridframework.config.environments.EnvironmentSecretKey;
-import com.hybridframework.crypto.utils.EnvironmentCryptoManager;
+import com.hybridframework.crypto.services.SecretVault;
 import com.hybridframework.tests.base.TestBase;
 import com.hybridframework.utils.TestRetryAnalyzer;
 import com.hybridframework.utils.logging.ErrorHandler;
@@ -10,8 +8,6 @@ import com.hybridframework.utils.logging.LoggerUtils;
 import org.apache.logging.log4j.Logger;
 import org.testng.annotations.Test;
 
-import java.util.List;
-
 public class LoginTests extends TestBase {
 
     private static final Logger logger = LoggerUtils.getLogger(LoginTests.class);
@@ -21,7 +17,8 @@ public class LoginTests extends TestBase {
     @Test(groups = {"sanity"}, retryAnalyzer = TestRetryAnalyzer.class)
     public void loginWithValidCredentials() {
         try {
-            loginPage.loginToPortal(decryptCredentials().get(0), decryptCredentials().get(1));
+            SecretVault secretVault = getSecretVault();
+            loginPage.loginToPortal(secretVault.getSecret(PORTAL_USERNAME), secretVault.getSecret(PORTAL_PASSWORD));
             loginPage.isLoginErrorMessageNotVisible();
             loginPage.captureScreenshot("ValidLogin");
             logger.info("Login successful");
@@ -79,7 +79,7 @@ public class BasePage {
         }
     }
 
-    public void sendKeys(WebElement element, String value, String elementName) {
+    public void sendKeys(WebElement element, CharSequence value, String elementName) {
         try {
             FluentWaitUtils.waitForElementToBeVisible(element);
             element.sendKeys(value);
@@ -88,7 +88,7 @@ public class BasePage {
             String lowercaseElementName = elementName.toLowerCase();
 
             // Mask the value if it's a sensitive field
-            String logValue = lowercaseElementName.contains("username") ||
+            CharSequence logValue = lowercaseElementName.contains("username") ||
                     lowercaseElementName.contains("password")
                     ? "******" : value;
 
@@ -19,7 +19,7 @@ public class LoginPage extends TestBase {
         this.driver = driver;
     }
 
-    public void fillUsername(String username) {
+    public void fillUsername(CharSequence username) {
         try{
             sendKeys(driver.findElement(usernameInput), username, "Username");
         } catch (Exception error){
@@ -28,7 +28,7 @@ public class LoginPage extends TestBase {
         }
     }
 
-    public void fillPassword(String password) {
+    public void fillPassword(CharSequence password) {
         try{
             sendKeys(driver.findElement(passwordInput), password, "Password");
         } catch (Exception error){
@@ -82,7 +82,7 @@ public class LoginPage extends TestBase {
         }
     }
 
-    public void loginToPortal(String username, String password) {
+    public void loginToPortal(CharSequence username, CharSequence password) {
         try{
             fillUsername(username);
             fillPassword(password);
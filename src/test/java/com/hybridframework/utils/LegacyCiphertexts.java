@@ -0,0 +1,60 @@
+package com.hybridframework.utils;
+
+import com.hybridframework.crypto.services.SecureKeyGenerator;
+import com.hybridframework.crypto.utils.CryptoConstants;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds values in the {@code salt | iv | ciphertext} layout written before the ciphertext envelope existed,
+ * for tests that check such values are still recognised and decrypted.
+ */
+public class LegacyCiphertexts {
+
+    private LegacyCiphertexts() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Encrypts with a key derived by BouncyCastle's Argon2 generator and the default settings, as legacy
+     * values always were.
+     *
+     * @return the Base64 legacy ciphertext
+     */
+    public static String encrypt(SecretKey secretKey, String plainText) throws Exception {
+        return encrypt(secretKey, plainText, SecureKeyGenerator.generateSalt());
+    }
+
+    /**
+     * Same as {@link #encrypt(SecretKey, String)} with a chosen salt, for values whose salt happens to start
+     * like an envelope header.
+     */
+    public static String encrypt(SecretKey secretKey, String plainText, byte[] salt) throws Exception {
+        byte[] iv = SecureKeyGenerator.generateIv();
+
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                .withSalt(salt)
+                .withIterations(CryptoConstants.ARGON2_ITERATIONS.getIntValue())
+                .withMemoryAsKB(CryptoConstants.ARGON2_MEMORY.getIntValue())
+                .withParallelism(CryptoConstants.ARGON2_PARALLELISM.getIntValue())
+                .build());
+        byte[] derivedKey = new byte[CryptoConstants.AES_SECRET_KEY_SIZE.getIntValue()];
+        generator.generateBytes(Base64Utils.encodeArray(secretKey.getEncoded()).getBytes(StandardCharsets.UTF_8), derivedKey);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(derivedKey, CryptoConstants.AES_ALGORITHM.getStringValue()),
+                new GCMParameterSpec(CryptoConstants.GCM_TAG_LENGTH.getIntValue(), iv));
+        byte[] cipherText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+
+        return Base64Utils.encodeArray(ByteBuffer.allocate(salt.length + iv.length + cipherText.length)
+                .put(salt).put(iv).put(cipherText).array());
+    }
+}
@@ -38,7 +38,8 @@ public class TestRetryAnalyzer implements IRetryAnalyzer {
                 // Force reinitialize test context
                 Object instance = result.getInstance();
                 if (instance instanceof TestBase testBase) {
-                    testBase.setup(); // Call setup to reinitialize everything
+                    // Call setup to reinitialize everything, with the same browser parameter
+                    testBase.setup(result.getTestContext().getCurrentXmlTest().getParameter("browser"));
                 }
 
                 return true;